@@ -4,11 +4,22 @@ import com.ctre.phoenix.motorcontrol.ControlMode;
 import com.ctre.phoenix.motorcontrol.can.WPI_TalonSRX;
 import edu.wpi.first.wpilibj.Joystick;
 import edu.wpi.first.wpilibj.TimedRobot;
+import frc.robot.control.ControlLoop;
+import frc.robot.control.NotifierScheduler;
 import frc.robot.drivetrain.Drivetrain;
+import frc.robot.instrumentation.Instrumentation;
+import frc.robot.instrumentation.SectionTimer;
 
 public class Robot extends TimedRobot {
+    // Control tasks run at 200 Hz, separately from the 50 Hz main loop
+    private static final double CONTROL_PERIOD = 0.005;
+
     private Drivetrain drivetrain;
     private Joystick joy;
+    private ControlLoop controlLoop;
+
+    private Instrumentation instrumentation;
+    private SectionTimer teleopTimer;
 
     public void robotInit() {
         WPI_TalonSRX leftDrive = new WPI_TalonSRX(0);
@@ -23,6 +34,13 @@ public class Robot extends TimedRobot {
         drivetrain = new Drivetrain(leftDrive, rightDrive);
         joy = new Joystick(0);
         setPeriod(0.02);
+
+        controlLoop = new ControlLoop(new NotifierScheduler(), CONTROL_PERIOD);
+        controlLoop.start();
+
+        instrumentation = new Instrumentation();
+        instrumentation.addTimer(controlLoop.getTimer());
+        teleopTimer = instrumentation.getTimer("teleopPeriodic", 0.02);
     }
 
     public void autonomousInit() {
@@ -38,10 +56,14 @@ public class Robot extends TimedRobot {
     }
 
     public void teleopPeriodic() {
+        long start = teleopTimer.start();
         drivetrain.arcadeDrive(-joy.getY(), joy.getX());
+        teleopTimer.stop(start);
     }
 
     public void disabledInit() {
-
+        // Report timing from the last match period
+        System.out.print(instrumentation.report());
+        instrumentation.reset();
     }
 }
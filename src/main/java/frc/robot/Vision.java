@@ -1,25 +1,59 @@
 package frc.robot;
 
 import edu.wpi.first.wpilibj.SerialPort;
-import edu.wpi.first.wpilibj.Timer;
+import frc.robot.control.Clock;
+import frc.robot.control.FPGAClock;
+import frc.robot.control.SensorChannel;
+import frc.robot.instrumentation.SectionTimer;
+import frc.robot.vision.ColorDecoder;
+import frc.robot.vision.ColorParser;
+import frc.robot.vision.MeasurementQueue;
+import frc.robot.vision.SerialTransport;
+import frc.robot.vision.VisionTransport;
 
 public class Vision {
-    private SerialPort port;
-    private boolean initialized = false;
+    // Time to wait before trying to connect again after failing to connect
+    private static final double RECONNECT_DELAY = 2.0;
+
+    private VisionTransport transport;
+    private ColorDecoder decoder;
     private StatusCheck enabledStatus;
+    private Clock clock;
     private Thread thread;
+    private final SectionTimer readTimer = new SectionTimer("Vision", 0.001);
 
     public enum Color {
         RED, BLUE, NONE,
     }
 
-    private String remainingInput = "";
-    private volatile Color ballColor;
+    // Read by the main loop without locking while the reader thread publishes
+    private final SensorChannel<Color> ballColor = new SensorChannel<>(null);
+    // Every detection, stamped with the time it was received
+    private final MeasurementQueue<Color> measurements = new MeasurementQueue<>(32);
 
     public Vision(StatusCheck enabled) {
+        this(enabled, new FPGAClock());
+    }
+
+    public Vision(StatusCheck enabled, Clock clock) {
+        this(enabled, new SerialTransport(9600, SerialPort.Port.kUSB, clock), new ColorParser(64), clock);
+    }
+
+    /**
+     * Constructs a Vision.
+     * 
+     * @param enabled   Whether vision should run
+     * @param transport Connection to the coprocessor
+     * @param decoder   Decoder for the coprocessor's protocol
+     * @param clock     Clock to time reads and reconnects with
+     */
+    public Vision(StatusCheck enabled, VisionTransport transport, ColorDecoder decoder, Clock clock) {
         enabledStatus = enabled;
+        this.transport = transport;
+        this.decoder = decoder;
+        this.clock = clock;
 
-        initializePort();
+        transport.connect();
         thread = createThread();
     }
 
@@ -36,57 +70,59 @@ public class Vision {
         thread = createThread();
     }
 
-    public synchronized Color getBallColor() {
-        return ballColor;
+    public Color getBallColor() {
+        return ballColor.get();
+    }
+
+    /**
+     * Gets the history of detections, each stamped with the clock time its bytes
+     * were received, for lining detections up with other measurements.
+     * 
+     * @return The detection history
+     */
+    public MeasurementQueue<Color> getMeasurements() {
+        return measurements;
+    }
+
+    /**
+     * Gets the timer which records how long each read takes to parse and publish,
+     * and the time between reads.
+     * 
+     * @return The read timer
+     */
+    public SectionTimer getReadTimer() {
+        return readTimer;
     }
 
     private Thread createThread() {
         return new Thread(() -> {
-            while (!initialized && !Thread.interrupted() && enabledStatus.get()) {
-                Timer.delay(2.0);
-                initializePort();
-            }
-
             while (!Thread.interrupted() && enabledStatus.get()) {
+                if (!transport.isConnected()) {
+                    if (!transport.connect()) {
+                        clock.delay(RECONNECT_DELAY);
+                        continue;
+                    }
+                    // Drop anything left over from the previous connection
+                    decoder.reset();
+                }
+
                 try {
-                    parseInput(remainingInput + port.readString());
+                    // Wake up as soon as bytes arrive, but check periodically
+                    // whether vision has been disabled
+                    if (transport.await(0.1)) {
+                        double receiveTime = clock.getTime();
+                        long start = readTimer.start();
+                        Color color = decoder.read(transport);
+                        if (color != null) {
+                            measurements.add(color, receiveTime);
+                            ballColor.publish(color);
+                        }
+                        readTimer.stop(start);
+                    }
                 } catch (Exception e) {
                     System.out.println(e.toString());
                 }
-                Timer.delay(0.034);
             }
         });
     }
-
-    private void parseInput(String input) {
-        int redIndex = input.lastIndexOf("RED");
-        int blueIndex = input.lastIndexOf("BLUE");
-        int noneIndex = input.lastIndexOf("NONE");
-
-        if (redIndex > blueIndex && redIndex > noneIndex) {
-            setBallColor(Color.RED);
-            remainingInput = input.substring(redIndex + 3);
-        } else if (blueIndex > redIndex && blueIndex > noneIndex) {
-            setBallColor(Color.BLUE);
-            remainingInput = input.substring(blueIndex + 4);
-        } else if (noneIndex > redIndex && noneIndex > blueIndex) {
-            setBallColor(Color.NONE);
-            remainingInput = input.substring(noneIndex + 4);
-        } else {
-            remainingInput = input;
-        }
-    }
-
-    private synchronized void setBallColor(Color ballColor) {
-        this.ballColor = ballColor;
-    }
-
-    private void initializePort() {
-        try {
-            port = new SerialPort(9600, SerialPort.Port.kUSB);
-            initialized = true;
-        } catch (Exception e) {
-            initialized = false;
-        }
-    }
 }
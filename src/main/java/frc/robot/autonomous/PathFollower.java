@@ -0,0 +1,303 @@
+package frc.robot.autonomous;
+
+import frc.robot.control.ControlTask;
+import frc.robot.control.DoubleChannel;
+import frc.robot.drivetrain.PoseSource;
+import frc.robot.motion.SplineProfile;
+import frc.robot.utils.Utils;
+
+/**
+ * Follows a SplineProfile with a differential drivetrain, closing the loop on
+ * the robot's pose and calculating left and right wheel velocities.
+ *
+ * The reference path is rebuilt from the profile's headings when the follower
+ * is constructed, so following only uses preallocated arrays. By default the
+ * follower uses the RAMSETE controller, which tracks the reference pose at the
+ * profile's time and converges from any starting error. In pure pursuit mode
+ * it steers towards a point on the path a fixed distance ahead of the
+ * reference instead, which ignores heading error but is more forgiving of a
+ * noisy pose.
+ *
+ * Run it as a ControlTask and read the wheel velocities from any thread, or
+ * call calculate directly from a single thread.
+ */
+public class PathFollower implements ControlTask {
+    public enum Mode {
+        RAMSETE, PURE_PURSUIT
+    }
+
+    // Default RAMSETE gains, for distances in m and angles in radians
+    public static final double DEFAULT_B = 2.0;
+    public static final double DEFAULT_ZETA = 0.7;
+    public static final double DEFAULT_LOOKAHEAD = 0.5;
+
+    private final PoseSource poseSource;
+    private final double trackWidth;
+
+    // Reference path at the start of each profile chunk, plus the end
+    private final int chunkCount;
+    private final double[] times;
+    private final double[] positions;
+    private final double[] velocities;
+    private final double[] headings;
+    private final double[] xs;
+    private final double[] ys;
+
+    private volatile Mode mode = Mode.RAMSETE;
+    private volatile double b = DEFAULT_B;
+    private volatile double zeta = DEFAULT_ZETA;
+    private volatile double lookahead = DEFAULT_LOOKAHEAD;
+
+    // Start requested from another thread, applied by the next update
+    private volatile boolean startRequested = false;
+    private volatile boolean running = false;
+
+    // Only used by the updating thread
+    private double startTime;
+    private double originX, originY;
+    private final double[] pose = new double[3];
+    private final double[] reference = new double[3];
+    private final double[] output = new double[2];
+
+    // Left and right wheel velocities
+    private final DoubleChannel wheelVelocities = new DoubleChannel(2);
+
+    /**
+     * Constructs a PathFollower.
+     *
+     * @param profile    Profile to follow
+     * @param poseSource Source of the robot's pose, such as Odometry
+     * @param trackWidth Track width of the drivetrain
+     */
+    public PathFollower(SplineProfile profile, PoseSource poseSource, double trackWidth) {
+        this.poseSource = poseSource;
+        this.trackWidth = trackWidth;
+
+        chunkCount = profile.getChunkCount();
+        times = new double[chunkCount + 1];
+        positions = new double[chunkCount + 1];
+        velocities = new double[chunkCount + 1];
+        headings = new double[chunkCount + 1];
+        xs = new double[chunkCount + 1];
+        ys = new double[chunkCount + 1];
+
+        for (int i = 0; i <= chunkCount; i++) {
+            times[i] = profile.getTime(i);
+            positions[i] = profile.getPosition(i);
+            velocities[i] = profile.getVelocity(i);
+            headings[i] = profile.getHeading(i);
+            // Unwrap headings, so interpolating between them never goes the long way
+            if (i > 0) {
+                headings[i] = headings[i - 1] + wrapAngle(headings[i] - headings[i - 1]);
+            }
+        }
+
+        // Integrate the reference path, relative to its start
+        for (int i = 0; i < chunkCount; i++) {
+            double deltaHeading = headings[i + 1] - headings[i];
+            double chord = chordLength(positions[i + 1] - positions[i], deltaHeading);
+            xs[i + 1] = xs[i] + chord * Math.cos(headings[i] + 0.5 * deltaHeading);
+            ys[i + 1] = ys[i] + chord * Math.sin(headings[i] + 0.5 * deltaHeading);
+        }
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * Sets the RAMSETE gains.
+     *
+     * @param b    How aggressively to correct position error, greater than zero
+     * @param zeta Damping, between zero and one
+     */
+    public void setRamseteGains(double b, double zeta) {
+        if (b <= 0.0 || zeta < 0.0 || zeta > 1.0) {
+            throw new IllegalArgumentException("RAMSETE gains must have b > 0 and 0 <= zeta <= 1");
+        }
+        this.b = b;
+        this.zeta = zeta;
+    }
+
+    /**
+     * Sets how far ahead of the reference the pure pursuit target is.
+     *
+     * @param lookahead Lookahead distance, greater than zero
+     */
+    public void setLookahead(double lookahead) {
+        if (lookahead <= 0.0) {
+            throw new IllegalArgumentException("Lookahead distance must be greater than zero");
+        }
+        this.lookahead = lookahead;
+    }
+
+    /**
+     * Starts following the path from the beginning on the next update. The path
+     * starts at the robot's pose at that time. Safe to call from any thread.
+     */
+    public void start() {
+        startRequested = true;
+    }
+
+    /**
+     * Stops following the path, commanding zero velocity. Safe to call from any
+     * thread.
+     */
+    public void stop() {
+        startRequested = false;
+        running = false;
+    }
+
+    /**
+     * Starts following the path now, with the path starting at a specific point
+     * instead of the robot's pose. Must be called from the thread that updates the
+     * follower.
+     *
+     * @param time   Current time in seconds
+     * @param startX X of the start of the path
+     * @param startY Y of the start of the path
+     */
+    public void start(double time, double startX, double startY) {
+        startRequested = false;
+        startTime = time;
+        originX = startX;
+        originY = startY;
+        running = true;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Gets whether the profile has finished. The robot may still be correcting a
+     * small error.
+     *
+     * @param time Current time in seconds
+     * @return Whether the end of the profile has been reached
+     */
+    public boolean isFinished(double time) {
+        return !running || time - startTime >= times[chunkCount];
+    }
+
+    @Override
+    public void update(double time) {
+        calculate(time, output);
+        wheelVelocities.publish(output);
+    }
+
+    public double getLeftVelocity() {
+        return wheelVelocities.get(0);
+    }
+
+    public double getRightVelocity() {
+        return wheelVelocities.get(1);
+    }
+
+    /**
+     * Gets the latest wheel velocities calculated by update. Safe to call from any
+     * thread.
+     *
+     * @param result Array of at least two values to store the left and right
+     *               wheel velocities in
+     */
+    public void getWheelVelocities(double[] result) {
+        wheelVelocities.read(result);
+    }
+
+    /**
+     * Calculates wheel velocities from the current pose.
+     *
+     * @param time   Current time in seconds
+     * @param result Array of at least two values to store the left and right
+     *               wheel velocities in
+     */
+    public void calculate(double time, double[] result) {
+        if (startRequested) {
+            poseSource.getPose(pose);
+            start(time, pose[0], pose[1]);
+        }
+        if (!running) {
+            result[0] = 0.0;
+            result[1] = 0.0;
+            return;
+        }
+
+        poseSource.getPose(pose);
+
+        // Reference velocity, and position along the path
+        double profileTime = Math.max(0.0, Math.min(time - startTime, times[chunkCount]));
+        int chunk = Utils.binarySearch(times, profileTime);
+        double chunkTime = profileTime - times[chunk];
+        double chunkDuration = times[chunk + 1] - times[chunk];
+        double acceleration = (chunkDuration > 0.0) ? (velocities[chunk + 1] - velocities[chunk]) / chunkDuration
+                : 0.0;
+        double velocity = velocities[chunk] + acceleration * chunkTime;
+        double distance = positions[chunk] + chunkTime * (velocities[chunk] + 0.5 * acceleration * chunkTime);
+
+        double linear, angular;
+        if (mode == Mode.PURE_PURSUIT) {
+            getReference(distance + lookahead, reference);
+            double dx = reference[0] - pose[0];
+            double dy = reference[1] - pose[1];
+            // Curvature of the arc from the robot through the target
+            double lateral = -Math.sin(pose[2]) * dx + Math.cos(pose[2]) * dy;
+            double squaredDistance = dx * dx + dy * dy;
+            double curvature = (squaredDistance > 1e-9) ? 2.0 * lateral / squaredDistance : 0.0;
+
+            linear = velocity;
+            angular = velocity * curvature;
+        } else {
+            int referenceChunk = getReference(distance, reference);
+            double referenceAngular = velocity * (headings[referenceChunk + 1] - headings[referenceChunk])
+                    / (positions[referenceChunk + 1] - positions[referenceChunk]);
+
+            // Error in the robot's frame
+            double dx = reference[0] - pose[0];
+            double dy = reference[1] - pose[1];
+            double errorX = Math.cos(pose[2]) * dx + Math.sin(pose[2]) * dy;
+            double errorY = -Math.sin(pose[2]) * dx + Math.cos(pose[2]) * dy;
+            double errorHeading = wrapAngle(reference[2] - pose[2]);
+
+            double b = this.b;
+            double k = 2.0 * zeta * Math.sqrt(referenceAngular * referenceAngular + b * velocity * velocity);
+            linear = velocity * Math.cos(errorHeading) + k * errorX;
+            angular = referenceAngular + k * errorHeading + b * velocity * sinc(errorHeading) * errorY;
+        }
+
+        result[0] = linear - 0.5 * trackWidth * angular;
+        result[1] = linear + 0.5 * trackWidth * angular;
+    }
+
+    /**
+     * Finds the reference pose a distance along the path, clamped to the path.
+     *
+     * @return Index of the chunk containing the pose
+     */
+    private int getReference(double distance, double[] result) {
+        distance = Math.max(0.0, Math.min(distance, positions[chunkCount]));
+        int chunk = Utils.binarySearch(positions, distance);
+        double chunkDistance = distance - positions[chunk];
+        double deltaHeading = (headings[chunk + 1] - headings[chunk])
+                * (chunkDistance / (positions[chunk + 1] - positions[chunk]));
+
+        double chord = chordLength(chunkDistance, deltaHeading);
+        result[0] = originX + xs[chunk] + chord * Math.cos(headings[chunk] + 0.5 * deltaHeading);
+        result[1] = originY + ys[chunk] + chord * Math.sin(headings[chunk] + 0.5 * deltaHeading);
+        result[2] = headings[chunk] + deltaHeading;
+        return chunk;
+    }
+
+    // Length of the chord of an arc with constant curvature
+    private static double chordLength(double arcLength, double deltaHeading) {
+        return arcLength * sinc(0.5 * deltaHeading);
+    }
+
+    private static double sinc(double x) {
+        return (Math.abs(x) > 1e-9) ? Math.sin(x) / x : 1.0;
+    }
+
+    private static double wrapAngle(double angle) {
+        return Math.atan2(Math.sin(angle), Math.cos(angle));
+    }
+}
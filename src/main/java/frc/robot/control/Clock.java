@@ -0,0 +1,23 @@
+package frc.robot.control;
+
+/**
+ * A source of time for anything that needs to read the time or wait. On the
+ * robot this is the FPGA clock, while tests can use a SimulatedClock to run
+ * faster than real time.
+ */
+public interface Clock {
+    /**
+     * Gets the current time.
+     * 
+     * @return Current time in seconds
+     */
+    public double getTime();
+
+    /**
+     * Waits until the specified amount of time has passed. Returns early if the
+     * thread is interrupted, leaving it interrupted.
+     * 
+     * @param seconds Time to wait in seconds
+     */
+    public void delay(double seconds);
+}
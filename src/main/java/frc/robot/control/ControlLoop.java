@@ -0,0 +1,163 @@
+package frc.robot.control;
+
+import java.util.Arrays;
+
+import frc.robot.instrumentation.SectionTimer;
+
+/**
+ * Runs a set of ControlTasks at a fixed rate on their own thread, independent
+ * of the TimedRobot loop. Tasks should exchange data with the main loop through
+ * TripleBuffers so that neither side has to lock.
+ *
+ * Iterations that take longer than the period are counted as overruns by the
+ * loop's SectionTimer, which also records the distribution of iteration
+ * durations and of the time between iterations, to show jitter.
+ *
+ * Exceptions thrown by tasks are caught and counted, so one failing task
+ * doesn't stop the others. Only the first, and then at most one a second, is
+ * printed, so a task that keeps failing doesn't flood the console.
+ */
+public class ControlLoop {
+    // Minimum time in seconds between printing task exceptions
+    private static final double EXCEPTION_PRINT_INTERVAL = 1.0;
+
+    private final Scheduler scheduler;
+    private final double period;
+
+    private volatile ControlTask[] tasks = new ControlTask[0];
+    private boolean running = false;
+
+    // Only written by the loop thread, so they don't need to be atomic
+    private volatile long iterations = 0;
+    private volatile long exceptions = 0;
+    // Only used by the loop thread
+    private double lastExceptionPrintTime = Double.NEGATIVE_INFINITY;
+
+    private final SectionTimer timer;
+
+    /**
+     * Constructs a ControlLoop.
+     * 
+     * @param scheduler Scheduler to run the loop with
+     * @param period    Time in seconds between the start of each iteration
+     */
+    public ControlLoop(Scheduler scheduler, double period) {
+        this.scheduler = scheduler;
+        this.period = period;
+        this.timer = new SectionTimer("ControlLoop", period);
+    }
+
+    /**
+     * Adds a task to be run every iteration, after all previously added tasks.
+     * 
+     * @param task Task to add
+     */
+    public synchronized void addTask(ControlTask task) {
+        // Copy on write, so the loop can iterate over the tasks without locking
+        ControlTask[] newTasks = Arrays.copyOf(tasks, tasks.length + 1);
+        newTasks[tasks.length] = task;
+        tasks = newTasks;
+    }
+
+    public synchronized void start() {
+        if (!running) {
+            running = true;
+            scheduler.start(this::iterate, period);
+        }
+    }
+
+    public synchronized void stop() {
+        if (running) {
+            running = false;
+            scheduler.stop();
+        }
+    }
+
+    /**
+     * Gets the time between the start of each iteration.
+     * 
+     * @return Period in seconds
+     */
+    public double getPeriod() {
+        return period;
+    }
+
+    /**
+     * Gets the number of iterations that have been run.
+     * 
+     * @return Number of iterations
+     */
+    public long getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Gets the number of iterations that took longer than the period.
+     * 
+     * @return Number of overruns
+     */
+    public long getOverruns() {
+        return timer.getOverruns();
+    }
+
+    /**
+     * Gets how long the most recent iteration took.
+     * 
+     * @return Duration in seconds
+     */
+    public double getLastDuration() {
+        return timer.getLastDuration();
+    }
+
+    /**
+     * Gets how long the longest iteration took.
+     * 
+     * @return Duration in seconds
+     */
+    public double getMaxDuration() {
+        return timer.getMaxDuration();
+    }
+
+    /**
+     * Gets the number of exceptions thrown by tasks.
+     * 
+     * @return Number of exceptions
+     */
+    public long getExceptions() {
+        return exceptions;
+    }
+
+    /**
+     * Gets the timer which records the duration of each iteration and the time
+     * between iterations.
+     * 
+     * @return The loop's timer
+     */
+    public SectionTimer getTimer() {
+        return timer;
+    }
+
+    private void iterate() {
+        long timerStart = timer.start();
+        double startTime = scheduler.getTime();
+
+        for (ControlTask task : tasks) {
+            try {
+                task.update(startTime);
+            } catch (Exception e) {
+                handleException(e, startTime);
+            }
+        }
+
+        timer.stop(timerStart);
+        iterations++;
+    }
+
+    private void handleException(Exception e, double time) {
+        exceptions++;
+        if (time - lastExceptionPrintTime >= EXCEPTION_PRINT_INTERVAL) {
+            lastExceptionPrintTime = time;
+            System.out.println(e.toString() + " (" + exceptions + " task exceptions)");
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package frc.robot.control;
+
+/**
+ * A task run by a ControlLoop every period, such as updating a PIDF controller
+ * or following a profile.
+ */
+public interface ControlTask {
+    /**
+     * Runs one update of the task. Called from the control loop's thread, so this
+     * must not block.
+     * 
+     * @param time Time in seconds at the start of this loop iteration
+     */
+    public void update(double time);
+}
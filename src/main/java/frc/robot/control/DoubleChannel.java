@@ -0,0 +1,78 @@
+package frc.robot.control;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Publishes the latest set of values, such as a pose or a group of sensor
+ * readings, from one writer thread to any number of readers, using a seqlock.
+ * The writer marks the sequence number odd while writing, and readers retry if
+ * the sequence number was odd or changed while they read. Neither side ever
+ * locks, and a reader only retries if a write happened during its read.
+ *
+ * Unlike a TripleBuffer, reading doesn't consume the values, so any number of
+ * threads can read the same values.
+ */
+public class DoubleChannel {
+    private final AtomicLongArray values;
+    private final AtomicLong sequence = new AtomicLong(0);
+
+    /**
+     * Constructs a DoubleChannel with all values zero.
+     * 
+     * @param length Number of values
+     */
+    public DoubleChannel(int length) {
+        values = new AtomicLongArray(length);
+    }
+
+    public int length() {
+        return values.length();
+    }
+
+    /**
+     * Publishes new values. Only one thread may publish.
+     * 
+     * @param newValues Values to publish, at least length of them
+     */
+    public void publish(double[] newValues) {
+        long start = sequence.get();
+        sequence.set(start + 1);
+        for (int i = 0; i < values.length(); i++) {
+            values.set(i, Double.doubleToRawLongBits(newValues[i]));
+        }
+        sequence.set(start + 2);
+    }
+
+    /**
+     * Copies the latest published values.
+     * 
+     * @param result Array to copy the values into, at least length long
+     * @return Number of times values have been published, as of the values read
+     */
+    public long read(double[] result) {
+        while (true) {
+            long start = sequence.get();
+            if ((start & 1) == 0) {
+                for (int i = 0; i < values.length(); i++) {
+                    result[i] = Double.longBitsToDouble(values.get(i));
+                }
+                if (sequence.get() == start) {
+                    return start / 2;
+                }
+            }
+            Thread.yield();
+        }
+    }
+
+    /**
+     * Reads a single value. Values read separately may come from different
+     * publishes.
+     * 
+     * @param index Index of the value
+     * @return The latest value
+     */
+    public double get(int index) {
+        return Double.longBitsToDouble(values.get(index));
+    }
+}
@@ -0,0 +1,39 @@
+package frc.robot.control;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedules a ControlLoop using a ScheduledExecutorService, for running control
+ * loops off of the robot, such as in tests.
+ */
+public class ExecutorScheduler implements Scheduler {
+    private final Clock clock = new SystemClock();
+    private ScheduledExecutorService executor;
+
+    @Override
+    public void start(Runnable loop, double period) {
+        executor = Executors.newSingleThreadScheduledExecutor();
+        executor.scheduleAtFixedRate(loop, 0, (long) (period * 1e9), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            try {
+                // Make sure the last iteration has finished
+                executor.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            executor = null;
+        }
+    }
+
+    @Override
+    public double getTime() {
+        return clock.getTime();
+    }
+}
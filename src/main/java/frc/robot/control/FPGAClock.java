@@ -0,0 +1,18 @@
+package frc.robot.control;
+
+import edu.wpi.first.wpilibj.Timer;
+
+/**
+ * The robot's FPGA clock.
+ */
+public class FPGAClock implements Clock {
+    @Override
+    public double getTime() {
+        return Timer.getFPGATimestamp();
+    }
+
+    @Override
+    public void delay(double seconds) {
+        Timer.delay(seconds);
+    }
+}
@@ -0,0 +1,31 @@
+package frc.robot.control;
+
+import edu.wpi.first.wpilibj.Notifier;
+
+/**
+ * Schedules a ControlLoop on the robot using a WPILib Notifier, which is timed
+ * by the FPGA clock rather than the TimedRobot loop.
+ */
+public class NotifierScheduler implements Scheduler {
+    private final Clock clock = new FPGAClock();
+    private Notifier notifier;
+
+    @Override
+    public void start(Runnable loop, double period) {
+        notifier = new Notifier(loop);
+        notifier.startPeriodic(period);
+    }
+
+    @Override
+    public void stop() {
+        if (notifier != null) {
+            notifier.stop();
+            notifier = null;
+        }
+    }
+
+    @Override
+    public double getTime() {
+        return clock.getTime();
+    }
+}
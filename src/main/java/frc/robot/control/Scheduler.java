@@ -0,0 +1,26 @@
+package frc.robot.control;
+
+/**
+ * Runs a ControlLoop's iterations at a fixed rate.
+ */
+public interface Scheduler {
+    /**
+     * Starts calling the loop periodically on a separate thread.
+     * 
+     * @param loop   The loop iteration to run
+     * @param period Time in seconds between the start of each iteration
+     */
+    public void start(Runnable loop, double period);
+
+    /**
+     * Stops calling the loop.
+     */
+    public void stop();
+
+    /**
+     * Gets the current time.
+     * 
+     * @return Current time in seconds
+     */
+    public double getTime();
+}
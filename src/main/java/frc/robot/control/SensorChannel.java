@@ -0,0 +1,53 @@
+package frc.robot.control;
+
+/**
+ * Publishes the latest value from a sensor thread to any number of readers
+ * without locking. Values should be immutable, such as enums or immutable
+ * objects, so publishing is a single volatile reference write and reading never
+ * blocks.
+ *
+ * Only one thread may publish. Each publish increments a sequence number, so
+ * readers can tell whether a value is new since they last looked.
+ */
+public class SensorChannel<T> {
+    private volatile T value;
+    private volatile long sequence = 0;
+
+    /**
+     * Constructs a SensorChannel.
+     * 
+     * @param initialValue Value to return before anything is published
+     */
+    public SensorChannel(T initialValue) {
+        this.value = initialValue;
+    }
+
+    /**
+     * Publishes a new value.
+     * 
+     * @param value The new value
+     */
+    public void publish(T value) {
+        this.value = value;
+        sequence = sequence + 1;
+    }
+
+    /**
+     * Gets the most recently published value.
+     * 
+     * @return The latest value
+     */
+    public T get() {
+        return value;
+    }
+
+    /**
+     * Gets the number of values published so far. A value read after reading
+     * the sequence number is at least as new as that sequence number.
+     * 
+     * @return Sequence number of the latest value
+     */
+    public long getSequence() {
+        return sequence;
+    }
+}
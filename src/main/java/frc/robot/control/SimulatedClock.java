@@ -0,0 +1,79 @@
+package frc.robot.control;
+
+/**
+ * A clock whose time only moves when told to, so that code can be tested
+ * faster than real time and with repeatable timing.
+ * 
+ * By default, time is moved by calling advance or setTime, and delay blocks
+ * until another thread has moved time far enough. If delays advance the clock,
+ * delay instead moves time forward itself and returns immediately, which lets
+ * single threaded code such as a Vision thread run as fast as possible.
+ */
+public class SimulatedClock implements Clock {
+    private double time;
+    private boolean delaysAdvance;
+
+    /**
+     * Constructs a SimulatedClock starting at time 0, where delays wait for time
+     * to be advanced.
+     */
+    public SimulatedClock() {
+        this(0.0, false);
+    }
+
+    /**
+     * Constructs a SimulatedClock.
+     * 
+     * @param startTime     Initial time in seconds
+     * @param delaysAdvance Whether delay moves time forward itself
+     */
+    public SimulatedClock(double startTime, boolean delaysAdvance) {
+        this.time = startTime;
+        this.delaysAdvance = delaysAdvance;
+    }
+
+    @Override
+    public synchronized double getTime() {
+        return time;
+    }
+
+    /**
+     * Moves time forward, waking any delays which have finished.
+     * 
+     * @param seconds Time to move forward by, in seconds
+     */
+    public synchronized void advance(double seconds) {
+        setTime(time + seconds);
+    }
+
+    /**
+     * Sets the current time, waking any delays which have finished. Time never
+     * moves backwards, so earlier times are ignored.
+     * 
+     * @param time New time in seconds
+     */
+    public synchronized void setTime(double time) {
+        if (time > this.time) {
+            this.time = time;
+            notifyAll();
+        }
+    }
+
+    @Override
+    public synchronized void delay(double seconds) {
+        double endTime = time + seconds;
+        if (delaysAdvance) {
+            setTime(endTime);
+            return;
+        }
+
+        while (time < endTime) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package frc.robot.control;
+
+/**
+ * Runs a ControlLoop on the calling thread in simulated time, so a whole
+ * autonomous routine can be tested in a fraction of a second. Nothing runs
+ * until runFor is called, which advances the clock one period at a time and
+ * runs an iteration at each step.
+ */
+public class SimulatedScheduler implements Scheduler {
+    private final SimulatedClock clock;
+
+    private Runnable loop;
+    private double period;
+    private double startTime;
+    private long iterations;
+
+    /**
+     * Constructs a SimulatedScheduler.
+     * 
+     * @param clock Clock to advance as iterations run
+     */
+    public SimulatedScheduler(SimulatedClock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public void start(Runnable loop, double period) {
+        this.loop = loop;
+        this.period = period;
+        this.startTime = clock.getTime();
+        this.iterations = 0;
+    }
+
+    @Override
+    public void stop() {
+        loop = null;
+    }
+
+    @Override
+    public double getTime() {
+        return clock.getTime();
+    }
+
+    /**
+     * Runs every iteration scheduled within a span of simulated time, then
+     * advances the clock to the end of it.
+     * 
+     * @param duration Span of time in seconds
+     * @return Number of iterations run
+     */
+    public int runFor(double duration) {
+        double endTime = clock.getTime() + duration;
+        int count = 0;
+
+        // Multiply instead of adding periods to keep rounding errors from
+        // accumulating over long runs
+        while (loop != null && startTime + iterations * period <= endTime) {
+            clock.setTime(startTime + iterations * period);
+            loop.run();
+            iterations++;
+            count++;
+        }
+
+        clock.setTime(endTime);
+        return count;
+    }
+}
@@ -0,0 +1,26 @@
+package frc.robot.control;
+
+/**
+ * Real time from the JVM, for running off of the robot where there is no FPGA.
+ */
+public class SystemClock implements Clock {
+    @Override
+    public double getTime() {
+        return System.nanoTime() * 1e-9;
+    }
+
+    @Override
+    public void delay(double seconds) {
+        // Like the other clocks, a delay which has already passed returns
+        // immediately
+        if (seconds <= 0.0) {
+            return;
+        }
+        long nanos = (long) (seconds * 1e9);
+        try {
+            Thread.sleep(nanos / 1000000, (int) (nanos % 1000000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package frc.robot.control;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Passes the latest array of values from one writer thread to one reader thread
+ * without locking. There are three buffers: one being written, one being read,
+ * and one holding the most recently published values. Publishing and reading
+ * just swap buffers, so neither thread ever waits and the reader never sees a
+ * partially written array.
+ */
+public class TripleBuffer {
+    private static final int INDEX_MASK = 0x3;
+    private static final int FRESH = 0x4;
+
+    private final double[][] buffers;
+    // Index of the buffer between the writer and reader, plus whether it holds
+    // values the reader hasn't seen yet
+    private final AtomicInteger middle;
+
+    // Only accessed by the writer
+    private int back;
+    // Only accessed by the reader
+    private int front;
+
+    /**
+     * Constructs a TripleBuffer with all values zero.
+     * 
+     * @param length Number of values in each buffer
+     */
+    public TripleBuffer(int length) {
+        buffers = new double[3][length];
+        front = 0;
+        middle = new AtomicInteger(1);
+        back = 2;
+    }
+
+    /**
+     * Gets the buffer for the writer to fill. Values from before the last publish
+     * may still be present.
+     * 
+     * @return The write buffer
+     */
+    public double[] getWriteBuffer() {
+        return buffers[back];
+    }
+
+    /**
+     * Publishes the values in the write buffer so the reader can see them.
+     */
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * Copies values into the write buffer and publishes them.
+     * 
+     * @param values Values to publish
+     */
+    public void write(double[] values) {
+        System.arraycopy(values, 0, buffers[back], 0, buffers[back].length);
+        publish();
+    }
+
+    /**
+     * Switches the read buffer to the most recently published values, if there
+     * are any the reader hasn't seen yet.
+     * 
+     * @return Whether new values were published since the last update
+     */
+    public boolean update() {
+        if ((middle.get() & FRESH) == 0) {
+            return false;
+        }
+        front = middle.getAndSet(front) & INDEX_MASK;
+        return true;
+    }
+
+    /**
+     * Gets the buffer holding the values the reader has most recently switched
+     * to. It must not be modified.
+     * 
+     * @return The read buffer
+     */
+    public double[] getReadBuffer() {
+        return buffers[front];
+    }
+
+    /**
+     * Updates to the most recently published values and copies them.
+     * 
+     * @param values Array to copy the values into
+     * @return Whether new values were published since the last read
+     */
+    public boolean read(double[] values) {
+        boolean fresh = update();
+        System.arraycopy(buffers[front], 0, values, 0, buffers[front].length);
+        return fresh;
+    }
+}
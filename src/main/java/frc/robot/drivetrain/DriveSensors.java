@@ -0,0 +1,28 @@
+package frc.robot.drivetrain;
+
+/**
+ * The sensors odometry needs from a differential drivetrain.
+ */
+public interface DriveSensors {
+    /**
+     * Gets the distance the left wheels have traveled since startup.
+     * 
+     * @return Distance in m
+     */
+    public double getLeftDistance();
+
+    /**
+     * Gets the distance the right wheels have traveled since startup.
+     * 
+     * @return Distance in m
+     */
+    public double getRightDistance();
+
+    /**
+     * Gets the gyro heading. This doesn't need to start at zero, and must not
+     * wrap around.
+     * 
+     * @return Heading in radians, counterclockwise positive
+     */
+    public double getHeading();
+}
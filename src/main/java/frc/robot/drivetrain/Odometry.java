@@ -0,0 +1,160 @@
+package frc.robot.drivetrain;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import frc.robot.control.ControlTask;
+import frc.robot.control.DoubleChannel;
+
+/**
+ * Tracks the pose of a differential drivetrain from its encoders and gyro. Run
+ * it as a ControlTask, so the pose is updated at the control loop's rate
+ * instead of the 50 Hz main loop.
+ *
+ * The gyro gives the change in heading, and the encoders the distance traveled.
+ * Between updates the robot is assumed to drive along an arc with constant
+ * curvature, which is exact for constant wheel speeds, so fast turns don't add
+ * the error that straight line steps would.
+ *
+ * The latest pose is published through a DoubleChannel, and recent poses are
+ * kept in a PoseHistory so that delayed measurements can be compared with
+ * where the robot was when they were taken. Updates never allocate or lock.
+ */
+public class Odometry implements ControlTask, PoseSource {
+    private final DriveSensors sensors;
+    private final PoseHistory history;
+
+    // Only used by the updating thread
+    private double previousLeft, previousRight;
+    private double headingOffset;
+    private double x, y, heading;
+    private final double[] published = new double[4];
+
+    // Pose requested by reset, applied by the next update. Starts at the origin,
+    // so the first update sets the initial sensor readings.
+    private final AtomicReference<double[]> pendingReset = new AtomicReference<>(new double[3]);
+
+    // X, y, heading, time
+    private final DoubleChannel pose = new DoubleChannel(4);
+    // Lets readers on other threads copy a whole pose without allocating each time
+    private final ThreadLocal<double[]> readBuffer = ThreadLocal.withInitial(() -> new double[4]);
+
+    /**
+     * Constructs an Odometry starting at the origin, facing along the x axis.
+     * 
+     * @param sensors     Drivetrain sensors to read
+     * @param historySize Number of past poses to keep, for example 200 for one
+     *                    second at 200 Hz
+     */
+    public Odometry(DriveSensors sensors, int historySize) {
+        this.sensors = sensors;
+        this.history = new PoseHistory(historySize);
+    }
+
+    /**
+     * Reads the sensors and updates the pose.
+     * 
+     * @param time Time in seconds the sensors were read at
+     */
+    @Override
+    public void update(double time) {
+        update(sensors.getLeftDistance(), sensors.getRightDistance(), sensors.getHeading(), time);
+    }
+
+    /**
+     * Updates the pose from sensor readings. Only one thread may update.
+     * 
+     * @param leftDistance  Left encoder distance in m
+     * @param rightDistance Right encoder distance in m
+     * @param gyroHeading   Gyro heading in radians
+     * @param time          Time in seconds of the readings
+     */
+    public void update(double leftDistance, double rightDistance, double gyroHeading, double time) {
+        double[] reset = pendingReset.getAndSet(null);
+        if (reset != null) {
+            x = reset[0];
+            y = reset[1];
+            heading = reset[2];
+            headingOffset = reset[2] - gyroHeading;
+            history.clear();
+        } else {
+            double distance = 0.5 * ((leftDistance - previousLeft) + (rightDistance - previousRight));
+            double newHeading = gyroHeading + headingOffset;
+            double deltaHeading = newHeading - heading;
+
+            // The chord of an arc is shorter than the arc by sin(h/2)/(h/2), and
+            // points halfway between the start and end headings
+            double halfDelta = 0.5 * deltaHeading;
+            double chord = (Math.abs(halfDelta) > 1e-9) ? distance * Math.sin(halfDelta) / halfDelta : distance;
+            double chordHeading = heading + halfDelta;
+            x += chord * Math.cos(chordHeading);
+            y += chord * Math.sin(chordHeading);
+            heading = newHeading;
+        }
+
+        previousLeft = leftDistance;
+        previousRight = rightDistance;
+
+        history.add(time, x, y, heading);
+
+        published[0] = x;
+        published[1] = y;
+        published[2] = heading;
+        published[3] = time;
+        pose.publish(published);
+    }
+
+    /**
+     * Moves the pose, for example to the start of an autonomous path. Safe to
+     * call from any thread, and takes effect on the next update. The history is
+     * cleared, since earlier poses don't line up with the new one.
+     * 
+     * @param x       X in m
+     * @param y       Y in m
+     * @param heading Heading in radians
+     */
+    public void reset(double x, double y, double heading) {
+        pendingReset.set(new double[] { x, y, heading });
+    }
+
+    /**
+     * Gets the latest pose. Safe to call from any thread.
+     * 
+     * @param result Array of at least three values to store x, y and heading in
+     */
+    @Override
+    public void getPose(double[] result) {
+        double[] buffer = readBuffer.get();
+        pose.read(buffer);
+        result[0] = buffer[0];
+        result[1] = buffer[1];
+        result[2] = buffer[2];
+    }
+
+    /**
+     * Gets the latest pose along with the time it was measured at. Safe to call
+     * from any thread.
+     * 
+     * @param result Array of at least four values to store x, y, heading and time
+     *               in
+     * @return Number of updates so far
+     */
+    public long getTimedPose(double[] result) {
+        return pose.read(result);
+    }
+
+    /**
+     * Gets the pose at a past time, such as when a camera frame was captured.
+     * Safe to call from any thread.
+     * 
+     * @param time   Time in seconds
+     * @param result Array of at least three values to store x, y and heading in
+     * @return Whether the time was within the history
+     */
+    public boolean getPoseAt(double time, double[] result) {
+        return history.getPoseAt(time, result);
+    }
+
+    public PoseHistory getHistory() {
+        return history;
+    }
+}
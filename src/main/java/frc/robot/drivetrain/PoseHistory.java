@@ -0,0 +1,135 @@
+package frc.robot.drivetrain;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Keeps the most recent timestamped poses in a fixed size ring buffer, so a
+ * measurement taken in the past, such as a vision frame, can be lined up with
+ * where the robot was at the time.
+ *
+ * One thread adds poses while any number of threads look them up, without
+ * locking or allocating. Entries are stored as atomic values, and a reader
+ * checks after reading that the writer hasn't overwritten any of the entries it
+ * used, retrying if it has.
+ */
+public class PoseHistory {
+    // Values stored per entry: time, x, y, heading
+    private static final int FIELDS = 4;
+
+    private final int capacity;
+    private final AtomicLongArray entries;
+    // Number of poses added, written after each entry is complete
+    private final AtomicLong count = new AtomicLong(0);
+
+    /**
+     * Constructs a PoseHistory.
+     * 
+     * @param capacity Number of poses to keep
+     */
+    public PoseHistory(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("PoseHistory capacity must be at least two");
+        }
+        this.capacity = capacity;
+        this.entries = new AtomicLongArray(capacity * FIELDS);
+    }
+
+    /**
+     * Adds a pose. Only one thread may add poses, and times must increase.
+     */
+    public void add(double time, double x, double y, double heading) {
+        long sequence = count.get();
+        int offset = offset(sequence);
+        entries.set(offset, Double.doubleToRawLongBits(time));
+        entries.set(offset + 1, Double.doubleToRawLongBits(x));
+        entries.set(offset + 2, Double.doubleToRawLongBits(y));
+        entries.set(offset + 3, Double.doubleToRawLongBits(heading));
+        count.set(sequence + 1);
+    }
+
+    /**
+     * Removes all poses.
+     */
+    public void clear() {
+        count.set(0);
+    }
+
+    /**
+     * Gets the number of poses added. Only the most recent capacity of them are
+     * kept.
+     * 
+     * @return Number of poses
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Finds the pose at a specific time, interpolating between the poses on
+     * either side of it.
+     * 
+     * @param time Time in seconds
+     * @param pose Array of at least three values to store x, y and heading in
+     * @return Whether time was within the history. If not, pose is unchanged
+     */
+    public boolean getPoseAt(double time, double[] pose) {
+        while (true) {
+            long newest = count.get() - 1;
+            // Leave a margin so the writer can't reach the oldest entry mid-search
+            long oldest = Math.max(0, newest - capacity + 2);
+            if (newest < oldest + 1 || time < time(oldest) || time > time(newest)) {
+                if (count.get() - 1 == newest) {
+                    return false;
+                }
+                continue;
+            }
+
+            // Binary search for the last entry at or before time
+            long low = oldest;
+            long high = newest - 1;
+            while (low < high) {
+                long mid = (low + high + 1) >>> 1;
+                if (time(mid) <= time) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+
+            int before = offset(low);
+            int after = offset(low + 1);
+            double startTime = value(before);
+            double endTime = value(after);
+            double fraction = (endTime > startTime) ? (time - startTime) / (endTime - startTime) : 0.0;
+
+            double x = lerp(value(before + 1), value(after + 1), fraction);
+            double y = lerp(value(before + 2), value(after + 2), fraction);
+            double heading = lerp(value(before + 3), value(after + 3), fraction);
+
+            // Entries are overwritten once the writer is a full buffer ahead
+            if (count.get() - low < capacity) {
+                pose[0] = x;
+                pose[1] = y;
+                pose[2] = heading;
+                return true;
+            }
+        }
+    }
+
+    private double time(long sequence) {
+        return value(offset(sequence));
+    }
+
+    private double value(int index) {
+        return Double.longBitsToDouble(entries.get(index));
+    }
+
+    private int offset(long sequence) {
+        return (int) (sequence % capacity) * FIELDS;
+    }
+
+    private static double lerp(double start, double end, double fraction) {
+        return start + fraction * (end - start);
+    }
+}
@@ -0,0 +1,14 @@
+package frc.robot.drivetrain;
+
+/**
+ * Something that knows where the robot is, such as odometry.
+ */
+public interface PoseSource {
+    /**
+     * Gets the current pose of the robot.
+     * 
+     * @param pose Array of at least three values to store x, y and heading in,
+     *             in m and radians
+     */
+    public void getPose(double[] pose);
+}
@@ -0,0 +1,73 @@
+package frc.robot.filters;
+
+/**
+ * A second order IIR filter. Coefficients for common filters can be created
+ * with lowPass and notch, which follow the Audio EQ Cookbook.
+ */
+public class Biquad implements Filter {
+    private final double b0, b1, b2, a1, a2;
+    private double z1, z2;
+
+    /**
+     * Constructs a Biquad from normalized coefficients, so that a0 is 1.
+     */
+    public Biquad(double b0, double b1, double b2, double a1, double a2) {
+        this.b0 = b0;
+        this.b1 = b1;
+        this.b2 = b2;
+        this.a1 = a1;
+        this.a2 = a2;
+        reset();
+    }
+
+    /**
+     * Creates a second order low pass filter.
+     * 
+     * @param cutoff Cutoff frequency in Hz
+     * @param period Time between samples in seconds
+     * @param q      Quality factor, 1/sqrt(2) for a Butterworth filter
+     * @return The filter
+     */
+    public static Biquad lowPass(double cutoff, double period, double q) {
+        double omega = 2.0 * Math.PI * cutoff * period;
+        double alpha = Math.sin(omega) / (2.0 * q);
+        double cos = Math.cos(omega);
+        double a0 = 1.0 + alpha;
+
+        return new Biquad(0.5 * (1.0 - cos) / a0, (1.0 - cos) / a0, 0.5 * (1.0 - cos) / a0, -2.0 * cos / a0,
+                (1.0 - alpha) / a0);
+    }
+
+    /**
+     * Creates a notch filter, which removes a single frequency such as a
+     * mechanical resonance.
+     * 
+     * @param frequency Frequency to remove in Hz
+     * @param period    Time between samples in seconds
+     * @param q         Quality factor, higher makes the notch narrower
+     * @return The filter
+     */
+    public static Biquad notch(double frequency, double period, double q) {
+        double omega = 2.0 * Math.PI * frequency * period;
+        double alpha = Math.sin(omega) / (2.0 * q);
+        double cos = Math.cos(omega);
+        double a0 = 1.0 + alpha;
+
+        return new Biquad(1.0 / a0, -2.0 * cos / a0, 1.0 / a0, -2.0 * cos / a0, (1.0 - alpha) / a0);
+    }
+
+    @Override
+    public double calculate(double input) {
+        // Transposed direct form II
+        double output = b0 * input + z1;
+        z1 = b1 * input - a1 * output + z2;
+        z2 = b2 * input - a2 * output;
+        return output;
+    }
+
+    @Override
+    public void reset() {
+        z1 = 0.0;
+        z2 = 0.0;
+    }
+}
@@ -0,0 +1,24 @@
+package frc.robot.filters;
+
+/**
+ * Estimates the derivative of a signal from timestamped samples. Unlike a
+ * Filter, which smooths a signal sampled at a fixed rate, an estimator is given
+ * the signal itself along with the time of each sample, so it works with the
+ * uneven timing of a real control loop. Estimators keep a fixed amount of
+ * state, so calculating a new estimate never allocates.
+ */
+public interface DerivativeEstimator {
+    /**
+     * Adds a new sample and estimates the derivative.
+     * 
+     * @param value The new sample
+     * @param time  Time of the sample in seconds
+     * @return The estimated derivative
+     */
+    public double calculate(double value, double time);
+
+    /**
+     * Clears the estimator's history.
+     */
+    public void reset();
+}
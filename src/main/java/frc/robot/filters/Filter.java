@@ -0,0 +1,20 @@
+package frc.robot.filters;
+
+/**
+ * A filter for a signal sampled at a fixed rate. Filters keep a fixed amount of
+ * state, so calculating a new output never allocates.
+ */
+public interface Filter {
+    /**
+     * Adds a new sample and calculates the filtered output.
+     * 
+     * @param input The new sample
+     * @return The filtered output
+     */
+    public double calculate(double input);
+
+    /**
+     * Clears the filter's history.
+     */
+    public void reset();
+}
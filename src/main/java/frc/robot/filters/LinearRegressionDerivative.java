@@ -0,0 +1,71 @@
+package frc.robot.filters;
+
+/**
+ * Estimates the derivative of a signal as the slope of a least squares line fit
+ * to the most recent samples. This is much less sensitive to sensor
+ * quantization noise than the difference between the last two samples, at the
+ * cost of lagging by half the window.
+ *
+ * The line is fit against each sample's time, so samples don't need to be
+ * evenly spaced. Use it in place of a finite difference, such as with
+ * PIDF.setDerivativeEstimator, and not to filter a derivative that has already
+ * been calculated.
+ */
+public class LinearRegressionDerivative implements DerivativeEstimator {
+    private final RingBuffer values;
+    private final RingBuffer times;
+
+    /**
+     * Constructs a LinearRegressionDerivative.
+     * 
+     * @param length Number of samples to fit the line to, at least two
+     */
+    public LinearRegressionDerivative(int length) {
+        if (length < 2) {
+            throw new IllegalArgumentException("LinearRegressionDerivative requires at least two samples");
+        }
+        values = new RingBuffer(length);
+        times = new RingBuffer(length);
+    }
+
+    @Override
+    public double calculate(double value, double time) {
+        values.add(value);
+        times.add(time);
+
+        int size = values.size();
+        if (size < 2) {
+            return 0.0;
+        }
+
+        // Times are taken relative to the latest sample, so large timestamps don't
+        // lose precision
+        double meanTime = 0.0;
+        double meanValue = 0.0;
+        for (int i = 0; i < size; i++) {
+            meanTime += times.get(i) - time;
+            meanValue += values.get(i);
+        }
+        meanTime /= size;
+        meanValue /= size;
+
+        // Slope is sum((t - mean t) * (y - mean y)) divided by sum((t - mean t)^2)
+        double numerator = 0.0;
+        double denominator = 0.0;
+        for (int i = 0; i < size; i++) {
+            double deltaTime = times.get(i) - time - meanTime;
+            numerator += deltaTime * (values.get(i) - meanValue);
+            denominator += deltaTime * deltaTime;
+        }
+        if (denominator <= 0.0) {
+            return 0.0;
+        }
+        return numerator / denominator;
+    }
+
+    @Override
+    public void reset() {
+        values.clear();
+        times.clear();
+    }
+}
@@ -0,0 +1,57 @@
+package frc.robot.filters;
+
+/**
+ * Outputs the median of the most recent samples, which removes spikes from a
+ * signal without smoothing out steps. Until enough samples have been added, the
+ * median is of all of the samples so far.
+ */
+public class MedianFilter implements Filter {
+    private final RingBuffer samples;
+    // The same samples, kept in sorted order
+    private final double[] sorted;
+
+    /**
+     * Constructs a MedianFilter.
+     * 
+     * @param length Number of samples to take the median of
+     */
+    public MedianFilter(int length) {
+        samples = new RingBuffer(length);
+        sorted = new double[length];
+    }
+
+    @Override
+    public double calculate(double input) {
+        int size = samples.size();
+        if (samples.isFull()) {
+            // Remove the oldest sample from the sorted samples
+            double removed = samples.get(0);
+            int index = 0;
+            while (sorted[index] != removed && index < size - 1) {
+                index++;
+            }
+            System.arraycopy(sorted, index + 1, sorted, index, size - index - 1);
+            size--;
+        }
+        samples.add(input);
+
+        // Insert the new sample in order
+        int index = size;
+        while (index > 0 && sorted[index - 1] > input) {
+            sorted[index] = sorted[index - 1];
+            index--;
+        }
+        sorted[index] = input;
+        size++;
+
+        if (size % 2 == 1) {
+            return sorted[size / 2];
+        }
+        return 0.5 * (sorted[size / 2 - 1] + sorted[size / 2]);
+    }
+
+    @Override
+    public void reset() {
+        samples.clear();
+    }
+}
@@ -0,0 +1,37 @@
+package frc.robot.filters;
+
+/**
+ * Averages the most recent samples. Until enough samples have been added, the
+ * average is of all of the samples so far.
+ */
+public class MovingAverage implements Filter {
+    private final RingBuffer samples;
+    private double sum;
+
+    /**
+     * Constructs a MovingAverage.
+     * 
+     * @param length Number of samples to average
+     */
+    public MovingAverage(int length) {
+        samples = new RingBuffer(length);
+        sum = 0.0;
+    }
+
+    @Override
+    public double calculate(double input) {
+        boolean full = samples.isFull();
+        double removed = samples.add(input);
+        if (full) {
+            sum -= removed;
+        }
+        sum += input;
+        return sum / samples.size();
+    }
+
+    @Override
+    public void reset() {
+        samples.clear();
+        sum = 0.0;
+    }
+}
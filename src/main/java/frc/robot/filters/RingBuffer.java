@@ -0,0 +1,83 @@
+package frc.robot.filters;
+
+/**
+ * A fixed capacity buffer of the most recent values added to it. Once full,
+ * adding a value overwrites the oldest one.
+ */
+public class RingBuffer {
+    private final double[] values;
+    private int start;
+    private int size;
+
+    /**
+     * Constructs an empty RingBuffer.
+     * 
+     * @param capacity Maximum number of values to keep
+     */
+    public RingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("RingBuffer capacity must be at least one");
+        }
+        values = new double[capacity];
+        start = 0;
+        size = 0;
+    }
+
+    /**
+     * Adds a value, overwriting the oldest value if the buffer is full.
+     * 
+     * @param value Value to add
+     * @return The value that was overwritten, or NaN if the buffer wasn't full
+     */
+    public double add(double value) {
+        double removed = Double.NaN;
+        if (size < values.length) {
+            values[(start + size) % values.length] = value;
+            size++;
+        } else {
+            removed = values[start];
+            values[start] = value;
+            start = (start + 1) % values.length;
+        }
+        return removed;
+    }
+
+    /**
+     * Gets a value by its age.
+     * 
+     * @param index Index of the value, 0 is the oldest value
+     * @return The value
+     */
+    public double get(int index) {
+        return values[(start + index) % values.length];
+    }
+
+    /**
+     * Gets the most recently added value.
+     * 
+     * @return The newest value
+     */
+    public double getLast() {
+        return get(size - 1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return values.length;
+    }
+
+    public boolean isFull() {
+        return size == values.length;
+    }
+
+    /**
+     * Removes all values.
+     */
+    public void clear() {
+        start = 0;
+        size = 0;
+    }
+}
@@ -0,0 +1,40 @@
+package frc.robot.filters;
+
+/**
+ * A single pole low pass filter, which smooths a signal by moving the output a
+ * fixed fraction of the way towards each new sample.
+ */
+public class SinglePoleIIR implements Filter {
+    private final double alpha;
+    private double output;
+    private boolean initialized;
+
+    /**
+     * Constructs a SinglePoleIIR.
+     * 
+     * @param timeConstant Time constant of the filter in seconds, larger is
+     *                     smoother but lags more
+     * @param period       Time between samples in seconds
+     */
+    public SinglePoleIIR(double timeConstant, double period) {
+        alpha = 1.0 - Math.exp(-period / timeConstant);
+        initialized = false;
+    }
+
+    @Override
+    public double calculate(double input) {
+        // Start at the first sample instead of zero to avoid a startup transient
+        if (!initialized) {
+            output = input;
+            initialized = true;
+        } else {
+            output += alpha * (input - output);
+        }
+        return output;
+    }
+
+    @Override
+    public void reset() {
+        initialized = false;
+    }
+}
@@ -0,0 +1,65 @@
+package frc.robot.instrumentation;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A set of SectionTimers keyed by name. Look up timers once, when setting up,
+ * and keep the reference, so the timed code never does a map lookup. Reports
+ * can be generated from any thread.
+ */
+public class Instrumentation {
+    private final ConcurrentHashMap<String, SectionTimer> timers = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the timer with a name, creating it if it doesn't exist yet.
+     *
+     * @param name   Name of the section
+     * @param budget Overrun budget in seconds, used if the timer is created
+     * @return The timer
+     */
+    public SectionTimer getTimer(String name, double budget) {
+        return timers.computeIfAbsent(name, key -> new SectionTimer(key, budget));
+    }
+
+    /**
+     * Adds an existing timer, replacing any timer with the same name.
+     *
+     * @param timer Timer to add
+     */
+    public void addTimer(SectionTimer timer) {
+        timers.put(timer.getName(), timer);
+    }
+
+    /**
+     * Gets all of the timers, sorted by name.
+     *
+     * @return Map from name to timer
+     */
+    public Map<String, SectionTimer> getTimers() {
+        return new TreeMap<>(timers);
+    }
+
+    /**
+     * Clears the timing recorded by every timer.
+     */
+    public void reset() {
+        for (SectionTimer timer : timers.values()) {
+            timer.reset();
+        }
+    }
+
+    /**
+     * Creates a report with one line for each timer.
+     *
+     * @return The report
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        for (SectionTimer timer : getTimers().values()) {
+            report.append(timer.toString()).append('\n');
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,177 @@
+package frc.robot.instrumentation;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts durations in a fixed set of buckets whose widths double, so that a
+ * small number of buckets covers everything from microseconds to seconds.
+ * Bucket 0 holds durations under one microsecond, and bucket i holds durations
+ * from 2^(i-1) up to 2^i microseconds. The last bucket also holds anything
+ * longer.
+ *
+ * Recording is lock-free and never allocates, so any number of threads can
+ * record while another thread takes snapshots.
+ */
+public class LatencyHistogram {
+    public static final int BUCKETS = 24;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos Duration in nanoseconds
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        counts.incrementAndGet(bucket(nanos));
+        count.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Finds the bucket a duration belongs in.
+     *
+     * @param nanos Duration in nanoseconds
+     * @return Index of the bucket
+     */
+    public static int bucket(long nanos) {
+        long micros = nanos / 1000;
+        return Math.min(64 - Long.numberOfLeadingZeros(micros), BUCKETS - 1);
+    }
+
+    /**
+     * Gets the longest duration that belongs in a bucket.
+     *
+     * @param bucket Index of the bucket
+     * @return Upper bound of the bucket in seconds, or infinity for the last
+     *         bucket
+     */
+    public static double bucketUpperBound(int bucket) {
+        if (bucket >= BUCKETS - 1) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return (1L << bucket) * 1e-6;
+    }
+
+    /**
+     * Gets the longest duration recorded, without copying the counts.
+     *
+     * @return Longest duration in seconds
+     */
+    public double getMax() {
+        return maxNanos.get() * 1e-9;
+    }
+
+    /**
+     * Copies the current counts. Recording may continue while the copy is made,
+     * so the totals can differ slightly from the sum of the buckets.
+     *
+     * @return The snapshot
+     */
+    public Snapshot snapshot() {
+        long[] bucketCounts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            bucketCounts[i] = counts.get(i);
+        }
+        return new Snapshot(bucketCounts, count.get(), totalNanos.get(), maxNanos.get());
+    }
+
+    /**
+     * Clears all counts.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        count.set(0);
+        totalNanos.set(0);
+        maxNanos.set(0);
+    }
+
+    /**
+     * An unchanging copy of a histogram's counts.
+     */
+    public static class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long totalNanos;
+        private final long maxNanos;
+
+        private Snapshot(long[] counts, long count, long totalNanos, long maxNanos) {
+            this.counts = counts;
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getBucketCount(int bucket) {
+            return counts[bucket];
+        }
+
+        /**
+         * Gets the average duration.
+         *
+         * @return Mean in seconds, or 0 if nothing was recorded
+         */
+        public double getMean() {
+            if (count == 0) {
+                return 0.0;
+            }
+            return totalNanos * 1e-9 / count;
+        }
+
+        /**
+         * Gets the longest duration.
+         *
+         * @return Max in seconds
+         */
+        public double getMax() {
+            return maxNanos * 1e-9;
+        }
+
+        /**
+         * Estimates a percentile, as the upper bound of the bucket it falls in, so
+         * it's never an underestimate. The estimate is capped at the max.
+         *
+         * @param percentile Percentile between 0 and 100
+         * @return Estimated duration in seconds
+         */
+        public double getPercentile(double percentile) {
+            long total = 0;
+            for (long bucketCount : counts) {
+                total += bucketCount;
+            }
+            if (total == 0) {
+                return 0.0;
+            }
+
+            long target = (long) Math.ceil(total * percentile / 100.0);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= target && seen > 0) {
+                    return Math.min(bucketUpperBound(i), getMax());
+                }
+            }
+            return getMax();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("n=%d mean=%.3fms p99=%.3fms max=%.3fms", count, getMean() * 1e3,
+                    getPercentile(99.0) * 1e3, getMax() * 1e3);
+        }
+    }
+}
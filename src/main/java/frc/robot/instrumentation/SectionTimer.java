@@ -0,0 +1,143 @@
+package frc.robot.instrumentation;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Times a section of code, such as a periodic method. How long the section
+ * takes is recorded in one histogram, and the time between the starts of
+ * consecutive runs, which shows jitter in a periodic loop, in another. Runs
+ * longer than the budget are counted as overruns.
+ *
+ * Timing uses System.nanoTime and never allocates. Interval measurement
+ * assumes the section is only run by one thread at a time.
+ *
+ * <pre>
+ * long start = timer.start();
+ * // Section to time
+ * timer.stop(start);
+ * </pre>
+ */
+public class SectionTimer {
+    private final String name;
+    private final long budgetNanos;
+
+    private final LatencyHistogram durations = new LatencyHistogram();
+    private final LatencyHistogram intervals = new LatencyHistogram();
+    private final AtomicLong overruns = new AtomicLong();
+    private volatile long lastNanos;
+
+    private long previousStart;
+    // Volatile so a reset from another thread is seen by the next start
+    private volatile boolean started;
+
+    /**
+     * Constructs a SectionTimer.
+     *
+     * @param name   Name of the section
+     * @param budget Runs taking longer than this in seconds are counted as
+     *               overruns
+     */
+    public SectionTimer(String name, double budget) {
+        this.name = name;
+        this.budgetNanos = (long) (budget * 1e9);
+    }
+
+    /**
+     * Marks the start of a run of the section.
+     *
+     * @return Start time to pass to stop
+     */
+    public long start() {
+        long now = System.nanoTime();
+        if (started) {
+            intervals.record(now - previousStart);
+        }
+        previousStart = now;
+        started = true;
+        return now;
+    }
+
+    /**
+     * Marks the end of a run of the section.
+     *
+     * @param start Start time returned by start
+     */
+    public void stop(long start) {
+        record(System.nanoTime() - start);
+    }
+
+    /**
+     * Records how long a run of the section took, when it was timed elsewhere.
+     *
+     * @param nanos Duration in nanoseconds
+     */
+    public void record(long nanos) {
+        lastNanos = nanos;
+        durations.record(nanos);
+        if (nanos > budgetNanos) {
+            overruns.incrementAndGet();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getOverruns() {
+        return overruns.get();
+    }
+
+    /**
+     * Gets how long the most recent run took.
+     *
+     * @return Duration in seconds
+     */
+    public double getLastDuration() {
+        return lastNanos * 1e-9;
+    }
+
+    /**
+     * Gets how long the longest run took.
+     *
+     * @return Duration in seconds
+     */
+    public double getMaxDuration() {
+        return durations.getMax();
+    }
+
+    /**
+     * Copies how long each run has taken so far.
+     *
+     * @return Snapshot of run durations
+     */
+    public LatencyHistogram.Snapshot getDurations() {
+        return durations.snapshot();
+    }
+
+    /**
+     * Copies the time between consecutive starts so far.
+     *
+     * @return Snapshot of start intervals
+     */
+    public LatencyHistogram.Snapshot getIntervals() {
+        return intervals.snapshot();
+    }
+
+    /**
+     * Clears all recorded timing. The next start begins a new interval, so the
+     * time spent before the reset is not recorded.
+     */
+    public void reset() {
+        started = false;
+        lastNanos = 0;
+        durations.reset();
+        intervals.reset();
+        overruns.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %s overruns=%d period %s", name, durations.snapshot(), overruns.get(),
+                intervals.snapshot());
+    }
+}
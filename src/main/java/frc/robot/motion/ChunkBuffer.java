@@ -0,0 +1,265 @@
+package frc.robot.motion;
+
+import java.util.Arrays;
+
+/**
+ * Stores a sequence of profile chunks as parallel primitive arrays. Chunks are laid
+ * out end to end, so each chunk's start time and start position are the sums of
+ * the durations and distances of the chunks before it.
+ *
+ * Within a chunk velocity, curvature and heading all change linearly with time.
+ */
+class ChunkBuffer {
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private int size;
+
+    private double[] startTimes;
+    private double[] durations;
+    private double[] startPositions;
+    private double[] distances;
+    private double[] startVelocities;
+    private double[] accelerations;
+    private double[] startCurvatures;
+    private double[] curvatureRates;
+    private double[] startHeadings;
+    private double[] headingRates;
+
+    protected ChunkBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    protected ChunkBuffer(int capacity) {
+        capacity = Math.max(capacity, 1);
+
+        startTimes = new double[capacity];
+        durations = new double[capacity];
+        startPositions = new double[capacity];
+        distances = new double[capacity];
+        startVelocities = new double[capacity];
+        accelerations = new double[capacity];
+        startCurvatures = new double[capacity];
+        curvatureRates = new double[capacity];
+        startHeadings = new double[capacity];
+        headingRates = new double[capacity];
+    }
+
+    /**
+     * Adds a chunk which covers a distance while changing velocity, curvature and
+     * heading linearly.
+     *
+     * @return Index of the new chunk
+     */
+    protected int addVelocityDistance(double distance, double startVelocity, double endVelocity,
+            double startCurvature, double endCurvature, double startHeading, double endHeading) {
+        double duration = distance / (0.5 * (startVelocity + endVelocity));
+
+        return add(distance, duration, startVelocity, endVelocity, startCurvature, endCurvature, startHeading,
+                endHeading);
+    }
+
+    /**
+     * Adds a chunk which covers a distance at a constant velocity.
+     *
+     * @return Index of the new chunk
+     */
+    protected int addConstantVelocity(double velocity, double distance) {
+        double duration = distance / velocity;
+        return add(distance, duration, velocity, velocity, 0.0, 0.0, 0.0, 0.0);
+    }
+
+    /**
+     * Adds a chunk which changes velocity as fast as possible within the
+     * acceleration limits.
+     *
+     * @return Index of the new chunk
+     */
+    protected int addVelocityTransition(double startVelocity, double endVelocity, double maxAccel,
+            double maxDecel) {
+        double duration = transitionDuration(startVelocity, endVelocity, maxAccel, maxDecel);
+        double distance = 0.5 * (startVelocity + endVelocity) * duration;
+
+        return add(distance, duration, startVelocity, endVelocity, 0.0, 0.0, 0.0, 0.0);
+    }
+
+    // Time taken to change velocity as fast as possible within the acceleration
+    // limits
+    private static double transitionDuration(double startVelocity, double endVelocity, double maxAccel, double maxDecel) {
+        double deltaVelocity = Math.abs(endVelocity - startVelocity);
+
+        if (Math.abs(endVelocity) > Math.abs(startVelocity)) {
+            return deltaVelocity / maxAccel;
+        }
+        return deltaVelocity / maxDecel;
+    }
+
+    private int add(double distance, double duration, double startVelocity, double endVelocity,
+            double startCurvature, double endCurvature, double startHeading, double endHeading) {
+        if (size == durations.length) {
+            grow();
+        }
+
+        int index = size;
+        if (index > 0) {
+            startTimes[index] = startTimes[index - 1] + durations[index - 1];
+            startPositions[index] = startPositions[index - 1] + distances[index - 1];
+        } else {
+            startTimes[index] = 0.0;
+            startPositions[index] = 0.0;
+        }
+
+        durations[index] = duration;
+        distances[index] = distance;
+        startVelocities[index] = startVelocity;
+        accelerations[index] = rate(startVelocity, endVelocity, duration);
+        startCurvatures[index] = startCurvature;
+        curvatureRates[index] = rate(startCurvature, endCurvature, duration);
+        startHeadings[index] = startHeading;
+        headingRates[index] = rate(startHeading, endHeading, duration);
+
+        size++;
+        return index;
+    }
+
+    // Chunks with no duration have no rate of change
+    private static double rate(double start, double end, double duration) {
+        if (duration == 0.0) {
+            return 0.0;
+        }
+        return (end - start) / duration;
+    }
+
+    private void grow() {
+        int capacity = 2 * durations.length;
+
+        startTimes = Arrays.copyOf(startTimes, capacity);
+        durations = Arrays.copyOf(durations, capacity);
+        startPositions = Arrays.copyOf(startPositions, capacity);
+        distances = Arrays.copyOf(distances, capacity);
+        startVelocities = Arrays.copyOf(startVelocities, capacity);
+        accelerations = Arrays.copyOf(accelerations, capacity);
+        startCurvatures = Arrays.copyOf(startCurvatures, capacity);
+        curvatureRates = Arrays.copyOf(curvatureRates, capacity);
+        startHeadings = Arrays.copyOf(startHeadings, capacity);
+        headingRates = Arrays.copyOf(headingRates, capacity);
+    }
+
+    /**
+     * Removes the last chunk.
+     */
+    protected void removeLast() {
+        size--;
+    }
+
+    /**
+     * Gets the number of chunks.
+     *
+     * @return Number of chunks
+     */
+    protected int size() {
+        return size;
+    }
+
+    /**
+     * Finds the chunk that contains the specified time. Chunks with no duration
+     * are never returned unless every chunk has no duration.
+     *
+     * @param time Time since the start of the first chunk
+     * @return Index of the last chunk starting at or before time, or 0 if time is
+     *         before the first chunk
+     */
+    protected int find(double time) {
+        int lowIndex = 0;
+        int highIndex = size - 1;
+
+        while (lowIndex < highIndex) {
+            int mid = (lowIndex + highIndex + 1) / 2;
+            if (startTimes[mid] <= time) {
+                lowIndex = mid;
+            } else {
+                highIndex = mid - 1;
+            }
+        }
+        return lowIndex;
+    }
+
+    /**
+     * Gets the sum of the durations of all of the chunks.
+     *
+     * @return Total duration
+     */
+    protected double getTotalDuration() {
+        if (size == 0) {
+            return 0.0;
+        }
+        return startTimes[size - 1] + durations[size - 1];
+    }
+
+    /**
+     * Gets the sum of the distances of all of the chunks.
+     *
+     * @return Total distance
+     */
+    protected double getTotalDistance() {
+        if (size == 0) {
+            return 0.0;
+        }
+        return startPositions[size - 1] + distances[size - 1];
+    }
+
+    protected double getStartTime(int index) {
+        return startTimes[index];
+    }
+
+    protected double getStartPosition(int index) {
+        return startPositions[index];
+    }
+
+    protected double getDuration(int index) {
+        return durations[index];
+    }
+
+    protected double getDistance(int index) {
+        return distances[index];
+    }
+
+    protected double getAcceleration(int index) {
+        return accelerations[index];
+    }
+
+    protected double getEndVelocity(int index) {
+        return getVelocity(index, durations[index]);
+    }
+
+    // All of the following take time since the start of the chunk, and clamp it
+    // within the chunk
+
+    protected double getVelocity(int index, double time) {
+        time = clampTime(index, time);
+        return startVelocities[index] + accelerations[index] * time;
+    }
+
+    protected double getPosition(int index, double time) {
+        time = clampTime(index, time);
+        return 0.5 * (startVelocities[index] + getVelocity(index, time)) * time;
+    }
+
+    protected double getCurvature(int index, double time) {
+        time = clampTime(index, time);
+        return startCurvatures[index] + curvatureRates[index] * time;
+    }
+
+    protected double getHeading(int index, double time) {
+        time = clampTime(index, time);
+        return startHeadings[index] + headingRates[index] * time;
+    }
+
+    private double clampTime(int index, double time) {
+        if (time < 0.0) {
+            return 0.0;
+        } else if (time > durations[index]) {
+            return durations[index];
+        }
+        return time;
+    }
+}
@@ -0,0 +1,166 @@
+package frc.robot.motion;
+
+import frc.robot.utils.Bounds;
+import frc.robot.utils.Utils;
+
+/**
+ * A sequence of profiles followed one after another, such as the legs of a
+ * multi-leg autonomous routine. Each leg keeps its own time and position bases;
+ * the composite only stores an offset for each, so the legs themselves are
+ * shared rather than copied.
+ */
+public class CompositeProfile implements Profile {
+    private final Profile[] legs;
+    // Time into each leg that the composite starts using it
+    private final double[] legStartTimes;
+    // Composite time at the start of each leg, plus the end of the last leg
+    private final double[] boundaries;
+    // Amount added to each leg's positions so each leg starts where the previous
+    // leg ended
+    private final double[] positionOffsets;
+
+    /**
+     * Constructs a CompositeProfile that follows each of the legs in order. Each
+     * leg's positions are offset so that it starts where the previous leg ended.
+     *
+     * @param legs Profiles to follow, in order
+     */
+    public CompositeProfile(Profile... legs) {
+        this(legs.length);
+
+        for (int i = 0; i < legs.length; i++) {
+            setLeg(i, legs[i], 0.0, legs[i].getDuration(), 0.0);
+        }
+    }
+
+    private CompositeProfile(int size) {
+        if (size == 0) {
+            throw new IllegalArgumentException("CompositeProfile requires at least one leg");
+        }
+
+        legs = new Profile[size];
+        legStartTimes = new double[size];
+        boundaries = new double[size + 1];
+        positionOffsets = new double[size];
+    }
+
+    /**
+     * Creates a new CompositeProfile which follows this profile and then the
+     * specified profile. Neither profile is modified.
+     *
+     * @param leg Profile to follow after this one
+     * @return The combined profile
+     */
+    public CompositeProfile append(Profile leg) {
+        return splice(getDuration(), leg);
+    }
+
+    /**
+     * Creates a new CompositeProfile which follows this profile until the specified
+     * time, and then follows the specified profile from its start. Neither profile
+     * is modified.
+     *
+     * @param time Time at which to switch to the new profile, will be clamped
+     *             within bounds of this profile
+     * @param leg  Profile to follow after the splice point
+     * @return The spliced profile
+     */
+    public CompositeProfile splice(double time, Profile leg) {
+        time = new Bounds(0.0, getDuration()).clamp(time);
+
+        // Legs of this profile that are at least partially before the splice point
+        int kept = getLegIndex(time) + 1;
+
+        int added = 1;
+        if (leg instanceof CompositeProfile) {
+            added = ((CompositeProfile) leg).legs.length;
+        }
+
+        CompositeProfile spliced = new CompositeProfile(kept + added);
+        for (int i = 0; i < kept; i++) {
+            double duration = Math.min(time, boundaries[i + 1]) - boundaries[i];
+            spliced.setLeg(i, legs[i], legStartTimes[i], duration, positionOffsets[i]);
+        }
+
+        if (leg instanceof CompositeProfile) {
+            CompositeProfile composite = (CompositeProfile) leg;
+            for (int i = 0; i < added; i++) {
+                double duration = composite.boundaries[i + 1] - composite.boundaries[i];
+                spliced.setLeg(kept + i, composite.legs[i], composite.legStartTimes[i], duration,
+                        composite.positionOffsets[i]);
+            }
+        } else {
+            spliced.setLeg(kept, leg, 0.0, leg.getDuration(), 0.0);
+        }
+
+        return spliced;
+    }
+
+    /**
+     * Gets a Setpoint for this profile at a specific time.
+     *
+     * @param time Time to get the setpoint for, will be clamped within bounds of
+     *             profile
+     * @return The Setpoint describing the profile at the specified moment in time
+     */
+    @Override
+    public Setpoint getSetpoint(double time) {
+        time = new Bounds(0.0, getDuration()).clamp(time);
+
+        int index = getLegIndex(time);
+        Setpoint sp = legs[index].getSetpoint(legStartTimes[index] + time - boundaries[index]);
+
+        return new Setpoint(sp.getPosition() + positionOffsets[index], sp.getVelocity(), sp.getAcceleration(),
+                sp.getCurvature(), sp.getHeading());
+    }
+
+    @Override
+    public double getDuration() {
+        return boundaries[legs.length];
+    }
+
+    /**
+     * Gets the number of legs in this profile.
+     *
+     * @return Number of legs
+     */
+    public int getLegCount() {
+        return legs.length;
+    }
+
+    /**
+     * Finds the index of the leg that is being followed at the specified time.
+     *
+     * @param time Time to find the leg at
+     * @return Index of the leg
+     */
+    public int getLegIndex(double time) {
+        return Utils.binarySearch(boundaries, time);
+    }
+
+    /**
+     * Gets the time at which the specified leg starts.
+     *
+     * @param index Index of the leg
+     * @return Time within this profile the leg starts at
+     */
+    public double getLegStartTime(int index) {
+        return boundaries[index];
+    }
+
+    // Adds a leg, offsetting its position by positionOffset plus however much is
+    // needed to start it at the end position of the previous leg.
+    private void setLeg(int index, Profile leg, double startTime, double duration, double positionOffset) {
+        legs[index] = leg;
+        legStartTimes[index] = startTime;
+        boundaries[index + 1] = boundaries[index] + duration;
+
+        if (index > 0) {
+            double previousEnd = legs[index - 1].getSetpoint(legStartTimes[index - 1] + boundaries[index]
+                    - boundaries[index - 1]).getPosition() + positionOffsets[index - 1];
+            double start = leg.getSetpoint(startTime).getPosition() + positionOffset;
+            positionOffset += previousEnd - start;
+        }
+        positionOffsets[index] = positionOffset;
+    }
+}
@@ -0,0 +1,23 @@
+package frc.robot.motion;
+
+/**
+ * A motion profile that can be sampled at any time between zero and its
+ * duration.
+ */
+public interface Profile {
+    /**
+     * Gets a Setpoint for this profile at a specific time.
+     * 
+     * @param time Time to get the setpoint for, will be clamped within bounds of
+     *             profile
+     * @return The Setpoint describing the profile at the specified moment in time
+     */
+    public Setpoint getSetpoint(double time);
+
+    /**
+     * Gets the time length of the profile.
+     * 
+     * @return Time at the end of the profile
+     */
+    public double getDuration();
+}
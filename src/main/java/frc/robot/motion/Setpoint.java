@@ -12,14 +12,6 @@ public class Setpoint {
         this.heading = heading;
     }
 
-    protected Setpoint(Chunk chunk, double time, double previousDistance, double curvature, double heading) {
-        acceleration = chunk.getAcceleration();
-        velocity = chunk.getVelocity(time);
-        position = chunk.getPosition(time) + previousDistance;
-        this.curvature = curvature;
-        this.heading = heading;
-    }
-
     public double getAcceleration() {
         return acceleration;
     }
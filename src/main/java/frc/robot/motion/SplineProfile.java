@@ -5,16 +5,13 @@ import java.util.ArrayList;
 import frc.robot.spline.QuinticSpline;
 import frc.robot.spline.QuinticSpline.SplineChunks;
 import frc.robot.utils.Bounds;
-import frc.robot.utils.Utils;
 
-public class SplineProfile {
-    public ArrayList<Double> velocities;
-    public ArrayList<Double> times;
-    public ArrayList<Double> curvatures;
-    public ArrayList<Double> headings;
+public class SplineProfile implements Profile {
     private double trackWidth;
     private double maxWheelVelocity;
     private double chunkLength;
+    // Velocity, curvature and heading of each chunk, with times and positions
+    private ChunkBuffer chunks;
 
     /**
      * Constructs a SplineProfile to efficiently guide a robot along a QuinticSpline
@@ -29,24 +26,40 @@ public class SplineProfile {
      */
     public SplineProfile(QuinticSpline spline, double chunkLength, double maxWheelVelocity, double maxAcceleration,
             double trackWidth) {
-        SplineChunks chunks = spline.computeSplineChunks(chunkLength);
-        curvatures = chunks.getCurvatureChunks();
-        headings = chunks.getHeadingChunks();
+        this(spline, chunkLength, 0.0, maxWheelVelocity, maxAcceleration, trackWidth);
+    }
 
-        velocities = new ArrayList<>();
-        times = new ArrayList<>();
+    /**
+     * Constructs a SplineProfile to efficiently guide a robot along a QuinticSpline
+     * path, starting from a robot that is already moving along the path.
+     * 
+     * @param spline           QuinticSpline path
+     * @param chunkLength      Distance along path to make each chunk - smaller
+     *                         means higher resolution
+     * @param startVelocity    Velocity of the robot along the path at the start
+     * @param maxWheelVelocity Maximum velocity of the drivetrain in a straight line
+     * @param maxAcceleration  Robot's maximum acceleration/deceleration
+     * @param trackWidth       Track width of the robot's drivetrain
+     */
+    public SplineProfile(QuinticSpline spline, double chunkLength, double startVelocity, double maxWheelVelocity,
+            double maxAcceleration, double trackWidth) {
+        SplineChunks splineChunks = spline.computeSplineChunks(chunkLength);
+        ArrayList<Double> curvatures = splineChunks.getCurvatureChunks();
+        ArrayList<Double> headings = splineChunks.getHeadingChunks();
 
         this.trackWidth = trackWidth;
         this.maxWheelVelocity = maxWheelVelocity;
         this.chunkLength = chunkLength;
 
-        // Spline profile starts with velocity 0.0
-        velocities.add(0.0);
+        double[] velocities = new double[curvatures.size() + 1];
+
+        // Spline profile starts with the robot's current velocity
+        velocities[0] = startVelocity;
 
         // Iterate over list forwards and calculate maximum velocities possible based on
         // path curvature, and the robot's acceleration limit.
         for (int i = 1; i < curvatures.size(); i++) {
-            double initialVelocity = velocities.get(i - 1);
+            double initialVelocity = velocities[i - 1];
             double curvatureVelocityLimit = maxVelocityFromCurvature(curvatures.get(i));
             // The maximum velocity is the minimum of the maximum velocity possible based on
             // the path curvature, and the maximum velocity attainable if the robot
@@ -54,11 +67,11 @@ public class SplineProfile {
             double velocityChangeLimit = Math
                     .sqrt(initialVelocity * initialVelocity + 2 * maxAcceleration * chunkLength);
             double maxVelocity = Math.min(curvatureVelocityLimit, velocityChangeLimit);
-            velocities.add(maxVelocity);
+            velocities[i] = maxVelocity;
         }
 
         // Spline profile end with velocity 0.0
-        velocities.add(0.0);
+        velocities[curvatures.size()] = 0.0;
 
         // Iterate over list backwards and calculate maximum velocities possible based
         // on the robot's acceleration limit, and the limits calculated during the
@@ -68,23 +81,69 @@ public class SplineProfile {
             // first time through, and the maximum velocity the robot can have and still
             // have enoguh time to decelerate to stay within the velocity limit of the next
             // chunk.
-            double initialVelocity = velocities.get(i + 1);
-            double maxVelocity = Math.min(velocities.get(i),
+            double initialVelocity = velocities[i + 1];
+            double maxVelocity = Math.min(velocities[i],
                     Math.sqrt(initialVelocity * initialVelocity + 2 * maxAcceleration * chunkLength));
-            velocities.set(i, maxVelocity);
+            velocities[i] = maxVelocity;
         }
 
-        // Time starts at 0.0
-        double time = 0.0;
-        times.add(time);
-        for (int i = 0; i < velocities.size() - 1; i++) {
-            double averageVelocity = (velocities.get(i + 1) + velocities.get(i)) / 2.0;
-            time += chunkLength / averageVelocity;
-            times.add(time);
+        computeChunks(velocities, curvatures, headings, chunkLength);
+    }
+
+    /**
+     * Constructs a SplineProfile from velocities that have already been computed.
+     * 
+     * @param velocities  Velocity at the start of each chunk, plus the final
+     *                    velocity
+     * @param curvatures  Curvature at the start of the profile and at the end of
+     *                    each chunk
+     * @param headings    Heading at the start of the profile and at the end of each
+     *                    chunk
+     * @param chunkLength Distance along path of each chunk
+     */
+    SplineProfile(ArrayList<Double> velocities, ArrayList<Double> curvatures, ArrayList<Double> headings,
+            double chunkLength) {
+        this(velocities, curvatures, headings, chunkLength, chunkLength);
+    }
+
+    /**
+     * Constructs a SplineProfile from velocities that have already been computed,
+     * where the first chunk is shorter than the rest.
+     * 
+     * @param velocities       Velocity at the start of each chunk, plus the final
+     *                         velocity
+     * @param curvatures       Curvature at the start of the profile and at the end
+     *                         of each chunk
+     * @param headings         Heading at the start of the profile and at the end of
+     *                         each chunk
+     * @param chunkLength      Distance along path of each chunk
+     * @param firstChunkLength Distance along path of the first chunk
+     */
+    SplineProfile(ArrayList<Double> velocities, ArrayList<Double> curvatures, ArrayList<Double> headings,
+            double chunkLength, double firstChunkLength) {
+        this.chunkLength = chunkLength;
+
+        double[] velocityArray = new double[velocities.size()];
+        for (int i = 0; i < velocityArray.length; i++) {
+            velocityArray[i] = velocities.get(i);
         }
 
-        curvatures.add(0, curvatures.get(0));
-        headings.add(0, headings.get(0));
+        computeChunks(velocityArray, curvatures, headings, firstChunkLength);
+    }
+
+    private void computeChunks(double[] velocities, ArrayList<Double> curvatures, ArrayList<Double> headings,
+            double firstChunkLength) {
+        int chunkCount = velocities.length - 1;
+        chunks = new ChunkBuffer(chunkCount);
+
+        // Each chunk uses the curvature and heading from the end of the chunk before
+        // it, and the first two chunks both use those at the start of the profile
+        for (int i = 0; i < chunkCount; i++) {
+            int previous = Math.max(i - 1, 0);
+            double length = (i == 0) ? firstChunkLength : chunkLength;
+            chunks.addVelocityDistance(length, velocities[i], velocities[i + 1], curvatures.get(previous),
+                    curvatures.get(i), headings.get(previous), headings.get(i));
+        }
     }
 
     /**
@@ -97,29 +156,130 @@ public class SplineProfile {
     public Setpoint getSetpointAtTime(double time) {
         // Time should be within the bounds of the profile. If it is past the end, the
         // setpoint from the end of the profile should be returned.
-        time = new Bounds(0.0, times.get(times.size() - 1)).clamp(time);
+        time = new Bounds(0.0, getLength()).clamp(time);
 
-        int index = Utils.binarySearch(times, time);
+        int index = chunks.find(time);
 
-        Chunk chunk = Chunk.createVelocityDistance(chunkLength, velocities.get(index), velocities.get(index + 1),
-                curvatures.get(index), curvatures.get(+1), 0.0, 0.0);
-        Setpoint sp = new Setpoint(chunk, time - times.get(index), index * chunkLength, curvatures.get(index),
-                headings.get(index));
+        double chunkTime = time - chunks.getStartTime(index);
+        Setpoint sp = new Setpoint(chunks.getStartPosition(index) + chunks.getPosition(index, chunkTime),
+                chunks.getVelocity(index, chunkTime), chunks.getAcceleration(index), chunks.getCurvature(index, 0.0),
+                chunks.getHeading(index, 0.0));
         return sp;
     }
 
+    @Override
+    public Setpoint getSetpoint(double time) {
+        return getSetpointAtTime(time);
+    }
+
     /**
      * Gets the time length of the profile.
      * 
      * @return Time at the end of the profile
      */
     public double getLength() {
-        return times.get(times.size() - 1);
+        return chunks.getTotalDuration();
+    }
+
+    @Override
+    public double getDuration() {
+        return getLength();
+    }
+
+    /**
+     * Gets the distance along the path covered by each chunk. The first chunk of a
+     * replanned profile may be shorter.
+     * 
+     * @return Chunk length
+     */
+    public double getChunkLength() {
+        return chunkLength;
+    }
+
+    /**
+     * Gets the number of chunks in the profile.
+     * 
+     * @return Number of chunks
+     */
+    public int getChunkCount() {
+        return chunks.size();
+    }
+
+    // The following take the index of a chunk, or the number of chunks for the end
+    // of the profile
+
+    /**
+     * Gets the time at the start of a chunk.
+     * 
+     * @param index Index of the chunk, or the number of chunks for the end
+     * @return Time since the start of the profile
+     */
+    public double getTime(int index) {
+        if (index == chunks.size()) {
+            return chunks.getTotalDuration();
+        }
+        return chunks.getStartTime(index);
+    }
+
+    /**
+     * Gets the distance along the path at the start of a chunk.
+     * 
+     * @param index Index of the chunk, or the number of chunks for the end
+     * @return Distance since the start of the profile
+     */
+    public double getPosition(int index) {
+        if (index == chunks.size()) {
+            return chunks.getTotalDistance();
+        }
+        return chunks.getStartPosition(index);
+    }
+
+    /**
+     * Gets the velocity at the start of a chunk.
+     * 
+     * @param index Index of the chunk, or the number of chunks for the end
+     * @return Velocity along the path
+     */
+    public double getVelocity(int index) {
+        if (index == chunks.size()) {
+            return chunks.getEndVelocity(index - 1);
+        }
+        return chunks.getVelocity(index, 0.0);
+    }
+
+    /**
+     * Gets the curvature setpoints use during a chunk.
+     * 
+     * @param index Index of the chunk, or the number of chunks for the end
+     * @return Curvature of the path
+     */
+    public double getCurvature(int index) {
+        if (index == chunks.size()) {
+            return chunks.getCurvature(index - 1, Double.POSITIVE_INFINITY);
+        }
+        return chunks.getCurvature(index, 0.0);
+    }
+
+    /**
+     * Gets the heading setpoints use during a chunk.
+     * 
+     * @param index Index of the chunk, or the number of chunks for the end
+     * @return Heading of the path, in radians
+     */
+    public double getHeading(int index) {
+        if (index == chunks.size()) {
+            return chunks.getHeading(index - 1, Double.POSITIVE_INFINITY);
+        }
+        return chunks.getHeading(index, 0.0);
     }
 
     // The maximum velocity the robot can go is limited by the maximum velocity the
     // outer wheel can go along the path.
     private double maxVelocityFromCurvature(double curvature) {
+        return maxVelocityFromCurvature(curvature, maxWheelVelocity, trackWidth);
+    }
+
+    static double maxVelocityFromCurvature(double curvature, double maxWheelVelocity, double trackWidth) {
         if (curvature < 1e-4) {
             return maxWheelVelocity;
         }
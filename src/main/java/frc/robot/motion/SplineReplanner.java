@@ -0,0 +1,291 @@
+package frc.robot.motion;
+
+import java.util.ArrayList;
+
+import frc.robot.spline.QuinticSpline;
+import frc.robot.spline.QuinticSpline.SplineChunks;
+import frc.robot.utils.Point;
+import frc.robot.utils.Utils;
+import frc.robot.utils.Vector;
+
+/**
+ * Replans a SplineProfile from the robot's measured position, heading and
+ * velocity, for example after the robot has been bumped off of its path.
+ *
+ * The replanned path runs from the robot's current state to the end of the
+ * segment it is on, and then follows the rest of the original spline. The
+ * chunks of each segment are computed once up front, along with the arc length
+ * left over from the previous segment that they started from. The new first
+ * segment's first chunk is shortened so that it leaves the same arc length
+ * over, which lines its last chunk up with the cached chunks after it. The
+ * cached chunks and velocity limits for the rest of the path are then reused,
+ * and the forward pass stops as soon as it rejoins the cached profile.
+ */
+public class SplineReplanner {
+    // Chunk boundaries fall on arc length integration steps, so lining up the
+    // new first segment with the cached chunks is only this close, as a
+    // fraction of the chunk length
+    private static final double ALIGNMENT_TOLERANCE = 0.1;
+
+    private final QuinticSpline spline;
+    private final double chunkLength, maxWheelVelocity, maxAcceleration, trackWidth;
+    private final long latencyBudget;
+
+    // Curvature and heading at the start of the path and at the end of each chunk
+    private final double[] curvatures, headings;
+    // Index into curvatures of the first chunk of each segment, plus the end
+    private final int[] segmentStartChunks;
+    // Arc length left over from the previous segment at the start of each
+    // segment, plus the end
+    private final double[] segmentStartArcLengths;
+    // Velocities from the forward pass of the original profile
+    private final double[] forwardVelocities;
+    // Maximum velocity at each chunk boundary that still allows the robot to
+    // follow the rest of the path within its limits and stop at the end
+    private final double[] backwardVelocities;
+
+    private final SplineProfile profile;
+    private int tailReuses = 0;
+
+    /**
+     * Constructs a SplineReplanner and computes the profile for the full spline.
+     *
+     * @param spline           QuinticSpline path
+     * @param chunkLength      Distance along path to make each chunk - smaller
+     *                         means higher resolution
+     * @param maxWheelVelocity Maximum velocity of the drivetrain in a straight line
+     * @param maxAcceleration  Robot's maximum acceleration/deceleration
+     * @param trackWidth       Track width of the robot's drivetrain
+     * @param latencyBudget    Maximum time in seconds a replan may take before it
+     *                         is abandoned
+     */
+    public SplineReplanner(QuinticSpline spline, double chunkLength, double maxWheelVelocity, double maxAcceleration,
+            double trackWidth, double latencyBudget) {
+        this.spline = spline;
+        this.chunkLength = chunkLength;
+        this.maxWheelVelocity = maxWheelVelocity;
+        this.maxAcceleration = maxAcceleration;
+        this.trackWidth = trackWidth;
+        this.latencyBudget = (long) (latencyBudget * 1e9);
+
+        int segmentCount = spline.getSegmentCount();
+        ArrayList<SplineChunks> segmentChunks = new ArrayList<>();
+        segmentStartChunks = new int[segmentCount + 1];
+        segmentStartArcLengths = new double[segmentCount + 1];
+
+        // Carry leftover arc length across segments, like computeSplineChunks
+        int size = 1;
+        double remainingArcLength = 0.0;
+        for (int i = 0; i < segmentCount; i++) {
+            SplineChunks chunks = spline.computeSegmentChunks(i, chunkLength, remainingArcLength);
+            segmentChunks.add(chunks);
+            segmentStartChunks[i] = size;
+            segmentStartArcLengths[i] = remainingArcLength;
+            size += chunks.getCurvatureChunks().size();
+            remainingArcLength = chunks.getRemainingArcLength();
+        }
+        segmentStartChunks[segmentCount] = size;
+        segmentStartArcLengths[segmentCount] = remainingArcLength;
+
+        curvatures = new double[size];
+        headings = new double[size];
+        curvatures[0] = spline.getCurvature(0.0);
+        headings[0] = spline.getDerivative(0.0).getAngle();
+        for (int i = 0; i < segmentCount; i++) {
+            ArrayList<Double> curvatureChunks = segmentChunks.get(i).getCurvatureChunks();
+            ArrayList<Double> headingChunks = segmentChunks.get(i).getHeadingChunks();
+            for (int j = 0; j < curvatureChunks.size(); j++) {
+                curvatures[segmentStartChunks[i] + j] = curvatureChunks.get(j);
+                headings[segmentStartChunks[i] + j] = headingChunks.get(j);
+            }
+        }
+
+        backwardVelocities = new double[size + 1];
+        backwardVelocities[size] = 0.0;
+        for (int i = size - 1; i >= 0; i--) {
+            backwardVelocities[i] = backwardVelocity(curvatures[i], backwardVelocities[i + 1], chunkLength);
+        }
+
+        forwardVelocities = new double[size + 1];
+        forwardVelocities[0] = 0.0;
+        for (int i = 1; i < size; i++) {
+            forwardVelocities[i] = forwardVelocity(curvatures[i], forwardVelocities[i - 1], chunkLength);
+        }
+        forwardVelocities[size] = 0.0;
+
+        ArrayList<Double> velocities = new ArrayList<>();
+        for (int i = 0; i <= size; i++) {
+            velocities.add(Math.min(forwardVelocities[i], backwardVelocities[i]));
+        }
+        profile = new SplineProfile(velocities, toList(curvatures), toList(headings), chunkLength);
+    }
+
+    /**
+     * Gets the profile for the full original spline, starting from rest.
+     *
+     * @return The original profile
+     */
+    public SplineProfile getProfile() {
+        return profile;
+    }
+
+    /**
+     * Gets how many replans have reused the cached chunks for the rest of the
+     * path, rather than chunking it again.
+     *
+     * @return Number of replans that reused the cached chunks
+     */
+    public int getTailReuses() {
+        return tailReuses;
+    }
+
+    /**
+     * Replans the profile from the robot's current state. The new path starts at
+     * the robot's position and heading, rejoins the original spline at the end of
+     * the specified segment, and follows it to the end.
+     *
+     * @param segmentIndex Index of the segment the robot is currently on
+     * @param position     Current position of the robot
+     * @param heading      Current heading of the robot, in radians
+     * @param velocity     Current velocity of the robot along its heading
+     * @return The replanned profile, or null if replanning took longer than the
+     *         latency budget
+     */
+    public SplineProfile replan(int segmentIndex, Point position, double heading, double velocity) {
+        long startTime = System.nanoTime();
+
+        // Leave the robot's current position along its heading, with a derivative
+        // magnitude on the order of the distance to the rejoin point so the segment
+        // doesn't loop or flatten out
+        Point end = spline.getControlPoints().get(segmentIndex + 1);
+        double knotLength = spline.getKnot(segmentIndex + 1) - spline.getKnot(segmentIndex);
+        double distance = end.subtract(position).getMagnitude();
+        Vector derivative = new Vector(Math.cos(heading), Math.sin(heading)).scale(distance / knotLength);
+
+        QuinticSpline replanned = spline.replan(segmentIndex, position, derivative, Vector.zero());
+        SplineChunks prefixChunks = replanned.computeSegmentChunks(0, chunkLength, 0.0);
+
+        // Start the new segment part way into its first chunk, so that it leaves
+        // the same arc length over as the cached chunks after it start from
+        double cachedArcLength = segmentStartArcLengths[segmentIndex + 1];
+        double initialArcLength = cachedArcLength - prefixChunks.getRemainingArcLength();
+        if (initialArcLength < 0.0) {
+            initialArcLength += chunkLength;
+        }
+        if (initialArcLength > 0.0) {
+            prefixChunks = replanned.computeSegmentChunks(0, chunkLength, initialArcLength);
+        }
+        double firstChunkLength = chunkLength - initialArcLength;
+
+        if (System.nanoTime() - startTime > latencyBudget) {
+            return null;
+        }
+
+        ArrayList<Double> prefixCurvatures = prefixChunks.getCurvatureChunks();
+        ArrayList<Double> prefixHeadings = prefixChunks.getHeadingChunks();
+
+        // Prefix is the new segment, tail is the rest of the original spline
+        int prefixSize = 1 + prefixCurvatures.size();
+        int tailStart = segmentStartChunks[segmentIndex + 1];
+        int offset = tailStart - prefixSize;
+
+        ArrayList<Double> newCurvatures = new ArrayList<>(curvatures.length - offset + 1);
+        ArrayList<Double> newHeadings = new ArrayList<>(curvatures.length - offset + 1);
+        newCurvatures.add(replanned.getCurvature(0.0));
+        newHeadings.add(heading);
+        newCurvatures.addAll(prefixCurvatures);
+        newHeadings.addAll(prefixHeadings);
+
+        // The cached tail only lines up with the path if its chunks start from the
+        // same leftover arc length. Rounding can still leave the new segment a
+        // whole chunk out, in which case the rest of the path is chunked again.
+        double remainingArcLength = prefixChunks.getRemainingArcLength();
+        boolean reuseTail = Math.abs(remainingArcLength - cachedArcLength) < ALIGNMENT_TOLERANCE * chunkLength;
+        if (reuseTail) {
+            tailReuses++;
+            for (int i = tailStart; i < curvatures.length; i++) {
+                newCurvatures.add(curvatures[i]);
+                newHeadings.add(headings[i]);
+            }
+        } else {
+            for (int j = segmentIndex + 1; j < spline.getSegmentCount(); j++) {
+                SplineChunks chunks = spline.computeSegmentChunks(j, chunkLength, remainingArcLength);
+                newCurvatures.addAll(chunks.getCurvatureChunks());
+                newHeadings.addAll(chunks.getHeadingChunks());
+                remainingArcLength = chunks.getRemainingArcLength();
+
+                if (System.nanoTime() - startTime > latencyBudget) {
+                    return null;
+                }
+            }
+        }
+        int size = newCurvatures.size();
+
+        // When the tail is reused, the backward pass only needs to cover the prefix
+        int backwardSize = reuseTail ? prefixSize : size;
+        double[] backward = new double[backwardSize];
+        double nextBackward = reuseTail ? backwardVelocities[tailStart] : 0.0;
+        for (int i = backwardSize - 1; i >= 0; i--) {
+            backward[i] = backwardVelocity(newCurvatures.get(i), nextBackward,
+                    (i == 0) ? firstChunkLength : chunkLength);
+            nextBackward = backward[i];
+        }
+
+        ArrayList<Double> velocities = new ArrayList<>(size + 1);
+        velocities.add(Math.min(velocity, backward[0]));
+
+        // Forward pass from the current velocity. With the tail reused, it stops
+        // once it rejoins the original forward pass, and from there on the
+        // original profile can be reused.
+        double forward = velocity;
+        int i = 1;
+        for (; i < size; i++) {
+            forward = forwardVelocity(newCurvatures.get(i), forward, (i == 1) ? firstChunkLength : chunkLength);
+
+            if (i < backwardSize) {
+                velocities.add(Math.min(forward, backward[i]));
+            } else if (Utils.almostEquals(forward, forwardVelocities[i + offset])) {
+                break;
+            } else {
+                velocities.add(Math.min(forward, backwardVelocities[i + offset]));
+            }
+
+            if ((i & 63) == 0 && System.nanoTime() - startTime > latencyBudget) {
+                return null;
+            }
+        }
+        if (reuseTail) {
+            for (; i <= size; i++) {
+                velocities.add(Math.min(forwardVelocities[i + offset], backwardVelocities[i + offset]));
+            }
+        } else {
+            // Stop at the end of the path
+            velocities.add(0.0);
+        }
+        if (System.nanoTime() - startTime > latencyBudget) {
+            return null;
+        }
+
+        return new SplineProfile(velocities, newCurvatures, newHeadings, chunkLength, firstChunkLength);
+    }
+
+    // Maximum velocity reachable at the end of a chunk starting at startVelocity
+    private double forwardVelocity(double curvature, double startVelocity, double length) {
+        return Math.min(SplineProfile.maxVelocityFromCurvature(curvature, maxWheelVelocity, trackWidth),
+                Math.sqrt(startVelocity * startVelocity + 2 * maxAcceleration * length));
+    }
+
+    // Maximum velocity at the start of a chunk that can still slow to endVelocity
+    private double backwardVelocity(double curvature, double endVelocity, double length) {
+        return Math.min(SplineProfile.maxVelocityFromCurvature(curvature, maxWheelVelocity, trackWidth),
+                Math.sqrt(endVelocity * endVelocity + 2 * maxAcceleration * length));
+    }
+
+    private static ArrayList<Double> toList(double[] values) {
+        ArrayList<Double> list = new ArrayList<>(values.length + 1);
+        for (int i = 0; i < values.length; i++) {
+            list.add(values[i]);
+        }
+        return list;
+    }
+}
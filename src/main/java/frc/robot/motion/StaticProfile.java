@@ -1,13 +1,12 @@
 package frc.robot.motion;
 
 import java.lang.Math;
-import java.util.ArrayList;
 
 import frc.robot.utils.Utils;
 
-public class StaticProfile {
+public class StaticProfile implements Profile {
 
-    private final ArrayList<Chunk> chunks;
+    private final ChunkBuffer chunks;
     private double maxAccel, maxDecel, maxVelocity, startingPosition;
     private double profileDuration;
 
@@ -19,16 +18,13 @@ public class StaticProfile {
         this.maxDecel = maxDecel;
         this.maxVelocity = maxVelocity;
 
-        chunks = computeChunks(new ArrayList<Chunk>(), currentVelocity, targetDisplacement);
+        chunks = computeChunks(new ChunkBuffer(), currentVelocity, targetDisplacement);
 
-        profileDuration = 0.0;
-        for (Chunk chunk : chunks) {
-            profileDuration += chunk.getDuration();
-        }
+        profileDuration = chunks.getTotalDuration();
     }
 
-    private ArrayList<Chunk> computeChunks(ArrayList<Chunk> chunks, double currentVelocity, double remainingDistance) {
-        final Chunk chunk;
+    private ChunkBuffer computeChunks(ChunkBuffer chunks, double currentVelocity, double remainingDistance) {
+        final int chunk;
 
         double stoppingDistance = 0.5 * (Math.abs(currentVelocity) / maxDecel) * currentVelocity;
         double targetDirection = Math.signum(remainingDistance);
@@ -39,28 +35,28 @@ public class StaticProfile {
         // --- stoppingDistance, currentDirecton will all have the same sign
         if (currentDirection != targetDirection && currentVelocity != 0.0 && chunks.size() == 0) {
             // transition to stopped
-            chunk = Chunk.createVelocityTransition(currentVelocity, 0.0, maxAccel, maxDecel);
+            chunk = chunks.addVelocityTransition(currentVelocity, 0.0, maxAccel, maxDecel);
         }
         // Else if going to overshoot and at start of profile
         else if (Math.abs(stoppingDistance) > Math.abs(remainingDistance) && chunks.size() == 0) {
             // transition to stopped
-            chunk = Chunk.createVelocityTransition(currentVelocity, 0.0, maxAccel, maxDecel);
+            chunk = chunks.addVelocityTransition(currentVelocity, 0.0, maxAccel, maxDecel);
         }
         // Else if going faster than max speed
         else if (Math.abs(currentVelocity) > maxVelocity) {
             // transition to max speed
-            chunk = Chunk.createVelocityTransition(currentVelocity, maxVelocity * targetDirection, maxAccel, maxDecel);
+            chunk = chunks.addVelocityTransition(currentVelocity, maxVelocity * targetDirection, maxAccel, maxDecel);
         }
         // Else if going slower than max speed
         else if (Math.abs(currentVelocity) < maxVelocity) {
             // If there is excess time to stop
             if (Math.abs(stoppingDistance) < Math.abs(remainingDistance)) {
                 // transition to max speed
-                chunk = Chunk.createVelocityTransition(currentVelocity, maxVelocity * targetDirection, maxAccel,
+                chunk = chunks.addVelocityTransition(currentVelocity, maxVelocity * targetDirection, maxAccel,
                         maxDecel);
             } else {
                 // transiton to stopped
-                chunk = Chunk.createVelocityTransition(currentVelocity, 0.0, maxAccel, maxDecel);
+                chunk = chunks.addVelocityTransition(currentVelocity, 0.0, maxAccel, maxDecel);
             }
         }
         // Otherwise, must be going at max speed
@@ -68,24 +64,24 @@ public class StaticProfile {
             // If there is excess time to stop
             if (Math.abs(stoppingDistance) < Math.abs(remainingDistance)) {
                 // max velocity transition - continue at max speed for efficiency
-                chunk = Chunk.createConstantVelocity(maxVelocity * targetDirection,
+                chunk = chunks.addConstantVelocity(maxVelocity * targetDirection,
                         remainingDistance - stoppingDistance);
             }
             // Else if stopping distance == remaining distance
             else if (Utils.almostEquals(stoppingDistance, remainingDistance)) {
                 // transition to stopped
-                chunk = Chunk.createVelocityTransition(maxVelocity * targetDirection, 0.0, maxAccel, maxDecel);
+                chunk = chunks.addVelocityTransition(maxVelocity * targetDirection, 0.0, maxAccel, maxDecel);
             }
             // Else, not enough time to stop - must be triangular profile b/c overshoot
             // would have been handled already
             else {
                 // Remove previous chunk
-                remainingDistance += chunks.get(chunks.size() - 1).getTotalDistance();
-                currentVelocity = chunks.get(chunks.size() - 1).getVelocity(0.0);
+                remainingDistance += chunks.getDistance(chunks.size() - 1);
+                currentVelocity = chunks.getVelocity(chunks.size() - 1, 0.0);
                 stoppingDistance = 0.5 * (currentVelocity / maxDecel) * currentVelocity;
                 targetDirection = Math.signum(remainingDistance);
                 currentDirection = Math.signum(currentVelocity);
-                chunks.remove(chunks.size() - 1);
+                chunks.removeLast();
 
                 // Account for non-zero velocities going into triangular section of profile
                 double precedingTriangleArea = 0.5 * (currentVelocity * currentVelocity) / maxAccel;
@@ -101,18 +97,17 @@ public class StaticProfile {
                 // Max speed robot can reach during this section of profile without overshooting
                 double triangleMaxSpeed = Math.sqrt(2 * accelerationDistance * maxAccel) * targetDirection;
 
-                chunks.add(Chunk.createVelocityTransition(currentVelocity, triangleMaxSpeed, maxAccel, maxDecel));
-                chunks.add(Chunk.createVelocityTransition(triangleMaxSpeed, 0.0, maxAccel, maxDecel));
+                chunks.addVelocityTransition(currentVelocity, triangleMaxSpeed, maxAccel, maxDecel);
+                chunks.addVelocityTransition(triangleMaxSpeed, 0.0, maxAccel, maxDecel);
 
                 // Target distance has been reached, return all chunks
                 return chunks;
             }
         }
 
-        chunks.add(chunk);
-        if (!Utils.almostEquals(remainingDistance, chunk.getTotalDistance())) {
+        if (!Utils.almostEquals(remainingDistance, chunks.getDistance(chunk))) {
             // still have farther to go
-            return computeChunks(chunks, chunk.getEndVelocity(), remainingDistance - chunk.getTotalDistance());
+            return computeChunks(chunks, chunks.getEndVelocity(chunk), remainingDistance - chunks.getDistance(chunk));
         }
         return chunks;
     }
@@ -129,6 +124,7 @@ public class StaticProfile {
         return getSetpoint(time).getAcceleration();
     }
 
+    @Override
     public double getDuration() {
         return profileDuration;
     }
@@ -137,20 +133,18 @@ public class StaticProfile {
         return new Setpoint(distance, 0.0, 0.0, 0.0, 0.0);
     }
 
+    @Override
     public Setpoint getSetpoint(double time) {
-        double chunkStartTime = 0.0;
-        double previousDistance = startingPosition;
-        // find the chunk that this time is in and return it
-        for (Chunk chunk : chunks) {
-            double chunkEndTime = chunkStartTime + chunk.getDuration();
-            if (time < chunkEndTime) {
-                return new Setpoint(chunk, time - chunkStartTime, previousDistance, 0.0, 0.0);
-            }
-            chunkStartTime = chunkEndTime;
-            previousDistance += chunk.getTotalDistance();
+        if (time >= profileDuration) {
+            // time is past all the chunks, return end moment - acceleration, velocity are
+            // zero, distance is the same as the end of the profile
+            return getEndSetpoint(startingPosition + chunks.getTotalDistance());
         }
-        // time is past all the chunks, return end moment - acceleration, velocity are
-        // zero, distance is the same as the end of the profile
-        return getEndSetpoint(previousDistance);
+        // find the chunk that this time is in and return it
+        int chunk = chunks.find(time);
+        double chunkTime = time - chunks.getStartTime(chunk);
+        double previousDistance = startingPosition + chunks.getStartPosition(chunk);
+        return new Setpoint(chunks.getPosition(chunk, chunkTime) + previousDistance,
+                chunks.getVelocity(chunk, chunkTime), chunks.getAcceleration(chunk), 0.0, 0.0);
     }
 }
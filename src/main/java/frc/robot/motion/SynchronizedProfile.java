@@ -0,0 +1,137 @@
+package frc.robot.motion;
+
+/**
+ * A set of StaticProfiles for several axes, such as an arm and an elevator,
+ * which all start and finish at the same time. Each axis's minimum time
+ * trapezoid is found in closed form, and every axis is then slowed down to
+ * take as long as the slowest one by lowering its cruise velocity.
+ *
+ * All axes are assumed to start and end at rest.
+ */
+public class SynchronizedProfile {
+    private final StaticProfile[] profiles;
+    private final double duration;
+
+    /**
+     * Constructs synchronized profiles for each axis. All arrays must be the same
+     * length, with one entry per axis.
+     *
+     * @param currentPositions Current position of each axis
+     * @param targetPositions  Target position of each axis
+     * @param maxVelocities    Maximum velocity of each axis
+     * @param maxAccels        Maximum acceleration of each axis
+     * @param maxDecels        Maximum deceleration of each axis
+     */
+    public SynchronizedProfile(double[] currentPositions, double[] targetPositions, double[] maxVelocities,
+            double[] maxAccels, double[] maxDecels) {
+        int axes = currentPositions.length;
+        if (targetPositions.length != axes || maxVelocities.length != axes || maxAccels.length != axes
+                || maxDecels.length != axes) {
+            throw new IllegalArgumentException("Each axis requires a value in every array");
+        }
+
+        double longestDuration = 0.0;
+        for (int i = 0; i < axes; i++) {
+            double distance = Math.abs(targetPositions[i] - currentPositions[i]);
+            longestDuration = Math.max(longestDuration,
+                    minimumDuration(distance, maxVelocities[i], maxAccels[i], maxDecels[i]));
+        }
+        duration = longestDuration;
+
+        profiles = new StaticProfile[axes];
+        for (int i = 0; i < axes; i++) {
+            double distance = Math.abs(targetPositions[i] - currentPositions[i]);
+            double velocity = maxVelocities[i];
+            if (distance > 0.0) {
+                velocity = Math.min(velocity, cruiseVelocity(distance, duration, maxAccels[i], maxDecels[i]));
+            }
+            profiles[i] = new StaticProfile(0.0, currentPositions[i], targetPositions[i], velocity, maxAccels[i],
+                    maxDecels[i]);
+        }
+    }
+
+    /**
+     * Calculates the shortest time a trapezoidal or triangular profile can cover a
+     * distance in, starting and ending at rest.
+     *
+     * @param distance    Distance to travel
+     * @param maxVelocity Maximum velocity
+     * @param maxAccel    Maximum acceleration
+     * @param maxDecel    Maximum deceleration
+     * @return Duration of the fastest profile
+     */
+    public static double minimumDuration(double distance, double maxVelocity, double maxAccel, double maxDecel) {
+        distance = Math.abs(distance);
+
+        // Peak velocity if the profile is a triangle
+        double peakVelocity = Math.sqrt(2.0 * distance * maxAccel * maxDecel / (maxAccel + maxDecel));
+        if (peakVelocity <= maxVelocity) {
+            return peakVelocity / maxAccel + peakVelocity / maxDecel;
+        }
+
+        double rampDistance = 0.5 * maxVelocity * maxVelocity * (1.0 / maxAccel + 1.0 / maxDecel);
+        return maxVelocity / maxAccel + maxVelocity / maxDecel + (distance - rampDistance) / maxVelocity;
+    }
+
+    /**
+     * Calculates the cruise velocity for which a trapezoidal profile covers a
+     * distance in exactly the specified duration, starting and ending at rest.
+     *
+     * The duration of a trapezoid with cruise velocity v over distance x is
+     * x/v + k*v, where k = (1/maxAccel + 1/maxDecel) / 2, so v is the smaller
+     * root of k*v^2 - T*v + x = 0.
+     *
+     * @param distance Distance to travel
+     * @param duration Duration of the profile, at least the minimum duration
+     * @param maxAccel Maximum acceleration
+     * @param maxDecel Maximum deceleration
+     * @return Cruise velocity
+     */
+    public static double cruiseVelocity(double distance, double duration, double maxAccel, double maxDecel) {
+        distance = Math.abs(distance);
+
+        double k = 0.5 * (1.0 / maxAccel + 1.0 / maxDecel);
+        // Clamp to zero in case of rounding when duration is the minimum duration
+        double discriminant = Math.max(0.0, duration * duration - 4.0 * k * distance);
+        return (duration - Math.sqrt(discriminant)) / (2.0 * k);
+    }
+
+    /**
+     * Gets the profile for an axis.
+     *
+     * @param axis Index of the axis
+     * @return The axis's profile
+     */
+    public StaticProfile getProfile(int axis) {
+        return profiles[axis];
+    }
+
+    /**
+     * Gets a Setpoint for an axis at a specific time.
+     *
+     * @param axis Index of the axis
+     * @param time Time to get the setpoint for
+     * @return The Setpoint for the axis at the specified moment in time
+     */
+    public Setpoint getSetpoint(int axis, double time) {
+        return profiles[axis].getSetpoint(time);
+    }
+
+    /**
+     * Gets the number of axes.
+     *
+     * @return Number of axes
+     */
+    public int getAxisCount() {
+        return profiles.length;
+    }
+
+    /**
+     * Gets the time length shared by all of the profiles.
+     *
+     * @return Time at the end of the profiles
+     */
+    public double getDuration() {
+        return duration;
+    }
+}
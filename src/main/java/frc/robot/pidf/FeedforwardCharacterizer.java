@@ -0,0 +1,222 @@
+package frc.robot.pidf;
+
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+
+/**
+ * Finds the feedforward gains of a mechanism by fitting
+ * voltage = kS * sign(velocity) + kV * velocity + kA * acceleration
+ * to measured samples with recursive least squares. Each sample updates the
+ * estimate in constant time and memory without allocating, so samples can be
+ * added from the control loop during a characterization routine, or read from
+ * a log afterwards.
+ *
+ * A quasistatic test (slowly ramping voltage) identifies kS and kV, while a
+ * dynamic test (a voltage step) is needed to identify kA, so samples from both
+ * should be added.
+ */
+public class FeedforwardCharacterizer {
+    // Number of parameters being estimated: kS, kV, kA
+    private static final int PARAMETERS = 3;
+    // Initial covariance, large since nothing is known about the gains yet
+    private static final double INITIAL_COVARIANCE = 1e6;
+
+    private final double minVelocity;
+    private final double forgettingFactor;
+
+    private final double[] estimate = new double[PARAMETERS];
+    private final double[][] covariance = new double[PARAMETERS][PARAMETERS];
+
+    // Reused to avoid allocating in addSample
+    private final double[] regressors = new double[PARAMETERS];
+    private final double[] gain = new double[PARAMETERS];
+
+    private int sampleCount;
+
+    /**
+     * Constructs a FeedforwardCharacterizer which weighs every sample equally.
+     *
+     * @param minVelocity Samples slower than this are ignored, since static
+     *                    friction isn't well defined when stopped
+     */
+    public FeedforwardCharacterizer(double minVelocity) {
+        this(minVelocity, 1.0);
+    }
+
+    /**
+     * Constructs a FeedforwardCharacterizer.
+     *
+     * @param minVelocity      Samples slower than this are ignored, since static
+     *                         friction isn't well defined when stopped
+     * @param forgettingFactor Weight of the previous estimate compared to a new
+     *                         sample, between 0 and 1. Values slightly below 1
+     *                         track gains that change over time, such as with
+     *                         battery voltage
+     */
+    public FeedforwardCharacterizer(double minVelocity, double forgettingFactor) {
+        if (!(forgettingFactor > 0.0 && forgettingFactor <= 1.0)) {
+            throw new IllegalArgumentException("Forgetting factor must be between 0 and 1");
+        }
+        this.minVelocity = minVelocity;
+        this.forgettingFactor = forgettingFactor;
+        reset();
+    }
+
+    /**
+     * Discards all samples.
+     */
+    public void reset() {
+        for (int i = 0; i < PARAMETERS; i++) {
+            estimate[i] = 0.0;
+            for (int j = 0; j < PARAMETERS; j++) {
+                covariance[i][j] = (i == j) ? INITIAL_COVARIANCE : 0.0;
+            }
+        }
+        sampleCount = 0;
+    }
+
+    /**
+     * Adds a sample and updates the estimated gains. Samples below the minimum
+     * velocity, or with any value that is NaN or infinite, are ignored.
+     *
+     * @param voltage      Voltage applied to the motors
+     * @param velocity     Measured velocity
+     * @param acceleration Measured acceleration
+     * @return Whether the sample was used
+     */
+    public boolean addSample(double voltage, double velocity, double acceleration) {
+        if (!Double.isFinite(voltage) || !Double.isFinite(velocity) || !Double.isFinite(acceleration)
+                || Math.abs(velocity) < minVelocity) {
+            return false;
+        }
+
+        regressors[0] = Math.signum(velocity);
+        regressors[1] = velocity;
+        regressors[2] = acceleration;
+
+        // gain = P * x / (lambda + x' * P * x)
+        double denominator = forgettingFactor;
+        double predicted = 0.0;
+        for (int i = 0; i < PARAMETERS; i++) {
+            double sum = 0.0;
+            for (int j = 0; j < PARAMETERS; j++) {
+                sum += covariance[i][j] * regressors[j];
+            }
+            gain[i] = sum;
+            denominator += regressors[i] * sum;
+            predicted += estimate[i] * regressors[i];
+        }
+
+        double error = voltage - predicted;
+        for (int i = 0; i < PARAMETERS; i++) {
+            gain[i] /= denominator;
+            estimate[i] += gain[i] * error;
+        }
+
+        // P = (P - gain * x' * P) / lambda, where x' * P is gain' * denominator
+        // since P is symmetric
+        for (int i = 0; i < PARAMETERS; i++) {
+            for (int j = 0; j < PARAMETERS; j++) {
+                covariance[i][j] = (covariance[i][j] - gain[i] * gain[j] * denominator) / forgettingFactor;
+            }
+        }
+
+        sampleCount++;
+        return true;
+    }
+
+    /**
+     * Adds samples from CSV data, with voltage, velocity and acceleration as the
+     * first three columns. Lines which don't start with three numbers, such as a
+     * header, are skipped.
+     *
+     * @param reader Source of CSV data
+     * @return Number of samples used
+     * @throws IOException If the data can't be read
+     */
+    public int addCSV(Reader reader) throws IOException {
+        BufferedReader lines = (reader instanceof BufferedReader) ? (BufferedReader) reader
+                : new BufferedReader(reader);
+
+        int used = 0;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            String[] columns = line.split(",");
+            if (columns.length < PARAMETERS) {
+                continue;
+            }
+            try {
+                double voltage = Double.parseDouble(columns[0].trim());
+                double velocity = Double.parseDouble(columns[1].trim());
+                double acceleration = Double.parseDouble(columns[2].trim());
+                if (addSample(voltage, velocity, acceleration)) {
+                    used++;
+                }
+            } catch (NumberFormatException e) {
+                continue;
+            }
+        }
+        return used;
+    }
+
+    /**
+     * Adds samples from binary data, stored as voltage, velocity and acceleration
+     * doubles, as written by DataOutputStream.writeDouble.
+     *
+     * @param stream Source of binary data
+     * @return Number of samples used
+     * @throws IOException If the data can't be read
+     */
+    public int addBinary(InputStream stream) throws IOException {
+        DataInputStream data = new DataInputStream(stream);
+
+        int used = 0;
+        while (true) {
+            double voltage, velocity, acceleration;
+            try {
+                voltage = data.readDouble();
+                velocity = data.readDouble();
+                acceleration = data.readDouble();
+            } catch (EOFException e) {
+                return used;
+            }
+            if (addSample(voltage, velocity, acceleration)) {
+                used++;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of samples used so far.
+     *
+     * @return Number of samples
+     */
+    public int getSampleCount() {
+        return sampleCount;
+    }
+
+    public double getKS() {
+        return estimate[0];
+    }
+
+    public double getKV() {
+        return estimate[1];
+    }
+
+    public double getKA() {
+        return estimate[2];
+    }
+
+    /**
+     * Gets the estimated feedforward gains, with no feedback.
+     *
+     * @return Gains with kS, kV and kA set
+     */
+    public Gains getGains() {
+        return new Gains(0.0, 0.0, 0.0, 0.0, getKV(), getKA(), getKS());
+    }
+}
@@ -0,0 +1,119 @@
+package frc.robot.pidf;
+
+/**
+ * Maps a scheduling variable, such as arm angle or drivetrain speed, to a set of
+ * PIDF gains. Gains are given at a few breakpoints and linearly interpolated
+ * between them. The interpolation is precomputed into an evenly spaced table,
+ * so looking up gains is constant time and allocates nothing. Values of the
+ * scheduling variable outside the breakpoints use the gains of the nearest
+ * breakpoint.
+ */
+public class GainSchedule {
+    // Number of gains stored for each table entry: kP, kI, kD, kF, kV, kA, kS
+    private static final int GAINS = 7;
+
+    private final double min, max;
+    private final double inverseStep;
+    private final int entries;
+    // Gains for each table entry, stored one entry after another
+    private final double[] table;
+
+    /**
+     * Constructs a GainSchedule.
+     *
+     * @param breakpoints Values of the scheduling variable the gains are given
+     *                    at, in increasing order
+     * @param gains       Gains at each breakpoint
+     * @param entries     Number of evenly spaced table entries, more entries
+     *                    follow the breakpoints more closely
+     */
+    public GainSchedule(double[] breakpoints, Gains[] gains, int entries) {
+        if (breakpoints.length < 2 || breakpoints.length != gains.length) {
+            throw new IllegalArgumentException("GainSchedule requires gains for at least two breakpoints");
+        }
+        if (entries < 2) {
+            throw new IllegalArgumentException("GainSchedule requires at least two table entries");
+        }
+        for (int i = 1; i < breakpoints.length; i++) {
+            if (breakpoints[i] <= breakpoints[i - 1]) {
+                throw new IllegalArgumentException("GainSchedule breakpoints must be increasing");
+            }
+        }
+
+        this.entries = entries;
+        min = breakpoints[0];
+        max = breakpoints[breakpoints.length - 1];
+
+        double step = (max - min) / (entries - 1);
+        inverseStep = 1.0 / step;
+
+        table = new double[entries * GAINS];
+        int segment = 0;
+        for (int i = 0; i < entries; i++) {
+            double x = Math.min(min + i * step, max);
+            while (segment < breakpoints.length - 2 && x > breakpoints[segment + 1]) {
+                segment++;
+            }
+
+            double fraction = (x - breakpoints[segment]) / (breakpoints[segment + 1] - breakpoints[segment]);
+            Gains start = gains[segment];
+            Gains end = gains[segment + 1];
+
+            int offset = i * GAINS;
+            table[offset] = lerp(start.kP(), end.kP(), fraction);
+            table[offset + 1] = lerp(start.kI(), end.kI(), fraction);
+            table[offset + 2] = lerp(start.kD(), end.kD(), fraction);
+            table[offset + 3] = lerp(start.kF(), end.kF(), fraction);
+            table[offset + 4] = lerp(start.kV(), end.kV(), fraction);
+            table[offset + 5] = lerp(start.kA(), end.kA(), fraction);
+            table[offset + 6] = lerp(start.kS(), end.kS(), fraction);
+        }
+    }
+
+    /**
+     * Looks up the gains for a value of the scheduling variable, without
+     * allocating.
+     *
+     * @param variable Value of the scheduling variable
+     * @param gains    Array of at least seven values to store kP, kI, kD, kF, kV,
+     *                 kA and kS in, in that order
+     */
+    public void get(double variable, double[] gains) {
+        double position = (variable - min) * inverseStep;
+
+        int index;
+        double fraction;
+        if (!(position > 0.0)) {
+            index = 0;
+            fraction = 0.0;
+        } else if (position >= entries - 1) {
+            index = entries - 2;
+            fraction = 1.0;
+        } else {
+            index = (int) position;
+            fraction = position - index;
+        }
+
+        int offset = index * GAINS;
+        for (int i = 0; i < GAINS; i++) {
+            double start = table[offset + i];
+            gains[i] = start + fraction * (table[offset + GAINS + i] - start);
+        }
+    }
+
+    /**
+     * Looks up the gains for a value of the scheduling variable.
+     *
+     * @param variable Value of the scheduling variable
+     * @return The gains
+     */
+    public Gains getGains(double variable) {
+        double[] gains = new double[GAINS];
+        get(variable, gains);
+        return new Gains(gains[0], gains[1], gains[2], gains[3], gains[4], gains[5], gains[6]);
+    }
+
+    private static double lerp(double start, double end, double fraction) {
+        return start + fraction * (end - start);
+    }
+}
@@ -1,20 +1,34 @@
 package frc.robot.pidf;
 
+/**
+ * An immutable set of PIDF gains. Since Gains can't change once created, a set
+ * of gains can be safely shared between threads.
+ */
 public class Gains {
-    private double kP, kI, kD;
-    private double kF, kV, kA;
+    private final double kP, kI, kD;
+    private final double kF, kV, kA;
+    private final double kS;
 
     public Gains(double kP, double kI, double kD) {
         this(kP, kI, kD, 0.0, 0.0, 0.0);
     }
 
     public Gains(double kP, double kI, double kD, double kF, double kV, double kA) {
+        this(kP, kI, kD, kF, kV, kA, 0.0);
+    }
+
+    /**
+     * Constructs Gains with a static friction term, kS, which is applied in the
+     * direction of the velocity setpoint.
+     */
+    public Gains(double kP, double kI, double kD, double kF, double kV, double kA, double kS) {
         this.kP = kP;
         this.kI = kI;
         this.kD = kD;
         this.kF = kF;
         this.kV = kV;
         this.kA = kA;
+        this.kS = kS;
     }
 
     public double kP() {
@@ -40,4 +54,8 @@ public class Gains {
     public double kA() {
         return kA;
     }
+
+    public double kS() {
+        return kS;
+    }
 }
\ No newline at end of file
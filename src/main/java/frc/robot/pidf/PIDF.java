@@ -1,9 +1,18 @@
 package frc.robot.pidf;
 
+import frc.robot.filters.DerivativeEstimator;
+import frc.robot.filters.Filter;
 import frc.robot.utils.Bounds;
 
 public class PIDF {
-    private Gains gains;
+    // Volatile so new gains can be published from another thread, such as a
+    // dashboard listener, while the controller is running
+    private volatile Gains gains;
+    private volatile GainSchedule schedule;
+    // Gains looked up from the schedule, reused to avoid allocating
+    private final double[] scheduledGains = new double[7];
+    // Scheduling variable from the latest update, for getGains
+    private volatile double scheduleVariable;
 
     private Bounds outputBounds;
     private Bounds inputBounds;
@@ -11,10 +20,16 @@ public class PIDF {
     private boolean continuous;
     private boolean useDerivativeOnInput;
 
+    private Filter inputFilter;
+    private Filter derivativeFilter;
+    private DerivativeEstimator derivativeEstimator;
+
     private double integralTerm;
     private double previousTime;
     private double previousInput;
     private double previousError;
+    // Input with continuous wrapping undone, for the derivative estimator
+    private double unwrappedInput;
 
     private double previousDerivative;
 
@@ -30,6 +45,44 @@ public class PIDF {
         this.previousDerivative = 0.0;
     }
 
+    /**
+     * Replaces the gains used by this controller. This is safe to call from any
+     * thread while the controller is running, and takes effect on the next call to
+     * calculateOutput. Integral and derivative state is kept, so the output does
+     * not jump when the gains change.
+     *
+     * @param gains The new gains
+     */
+    public void setGains(Gains gains) {
+        this.gains = gains;
+    }
+
+    /**
+     * Sets a schedule to look up gains from on every update, instead of using a
+     * single set of gains. Like setGains, this is safe to call from any thread.
+     *
+     * @param schedule The gain schedule, or null to go back to the gains set by
+     *                 setGains
+     */
+    public void setGainSchedule(GainSchedule schedule) {
+        this.schedule = schedule;
+    }
+
+    /**
+     * Gets the gains currently used by this controller. While a gain schedule is
+     * set, these are the gains looked up from the schedule by the latest update,
+     * and the gains set by setGains are ignored.
+     *
+     * @return The current gains
+     */
+    public Gains getGains() {
+        GainSchedule schedule = this.schedule;
+        if (schedule != null) {
+            return schedule.getGains(scheduleVariable);
+        }
+        return gains;
+    }
+
     /**
      * Set this to true when your setpoint is not continuous
      * This will switch from using derivative of the error to derivative of the input
@@ -46,8 +99,56 @@ public class PIDF {
         this.inputBounds = inputBounds;
     }
 
+    /**
+     * Sets a filter to smooth the input with before calculating the error.
+     *
+     * @param filter The input filter, or null to use the raw input
+     */
+    public void setInputFilter(Filter filter) {
+        this.inputFilter = filter;
+    }
+
+    /**
+     * Sets a filter to smooth the derivative with, since the difference between
+     * two noisy inputs is even noisier. The filter receives one sample per update
+     * with a new time.
+     *
+     * @param filter The derivative filter, or null to use the raw derivative
+     */
+    public void setDerivativeFilter(Filter filter) {
+        this.derivativeFilter = filter;
+    }
+
+    /**
+     * Sets an estimator to calculate the derivative with, instead of the
+     * difference between the last two updates. The estimator receives the error,
+     * or minus the input when using derivative on input, along with the time of
+     * each update. The derivative filter, if any, is applied to its estimate.
+     *
+     * @param estimator The derivative estimator, or null to use the difference
+     *                  between updates
+     */
+    public void setDerivativeEstimator(DerivativeEstimator estimator) {
+        this.derivativeEstimator = estimator;
+    }
+
     public void initialize(double input, double time, double currentOutput) {
+        if (inputFilter != null) {
+            inputFilter.reset();
+            input = inputFilter.calculate(input);
+        }
+        if (derivativeFilter != null) {
+            derivativeFilter.reset();
+        }
+        if (derivativeEstimator != null) {
+            derivativeEstimator.reset();
+            if (useDerivativeOnInput) {
+                derivativeEstimator.calculate(-input, time);
+            }
+        }
+
         integralTerm = currentOutput;
+        unwrappedInput = input;
         previousTime = time;
         previousInput = input;
         previousError = 0;
@@ -59,7 +160,48 @@ public class PIDF {
         return calculateOutput(input, setpoint, 0.0, 0.0, time);
     }
 
+    /**
+     * Calculates the output, using the input as the gain schedule's scheduling
+     * variable if there is a gain schedule.
+     */
     public double calculateOutput(double input, double setpoint, double velocity, double acceleration, double time) {
+        return calculateOutput(input, setpoint, velocity, acceleration, time, input);
+    }
+
+    /**
+     * Calculates the output, looking up gains from the gain schedule at the
+     * specified value of the scheduling variable if there is a gain schedule.
+     */
+    public double calculateOutput(double input, double setpoint, double velocity, double acceleration, double time,
+            double scheduleVariable) {
+        // Read the gains once so a single update never mixes old and new gains
+        double kP, kI, kD, kF, kV, kA, kS;
+        GainSchedule schedule = this.schedule;
+        if (schedule != null) {
+            this.scheduleVariable = scheduleVariable;
+            schedule.get(scheduleVariable, scheduledGains);
+            kP = scheduledGains[0];
+            kI = scheduledGains[1];
+            kD = scheduledGains[2];
+            kF = scheduledGains[3];
+            kV = scheduledGains[4];
+            kA = scheduledGains[5];
+            kS = scheduledGains[6];
+        } else {
+            Gains gains = this.gains;
+            kP = gains.kP();
+            kI = gains.kI();
+            kD = gains.kD();
+            kF = gains.kF();
+            kV = gains.kV();
+            kA = gains.kA();
+            kS = gains.kS();
+        }
+
+        if (inputFilter != null) {
+            input = inputFilter.calculate(input);
+        }
+
         double error = setpoint - input;
         if (continuous) {
             error = calculateContinuousError(error);
@@ -67,16 +209,29 @@ public class PIDF {
 
         double deltaTime = time - previousTime;
 
-        integralTerm += gains.kI() * error * deltaTime;
+        integralTerm += kI * error * deltaTime;
+
+        double deltaInput = 0.0;
+        if (useDerivativeOnInput) {
+            deltaInput = input - previousInput;
+            if (continuous) {
+                deltaInput = calculateContinuousError(deltaInput);
+            }
+            unwrappedInput += deltaInput;
+        }
 
         double derivative;
         if (deltaTime > 0.0) {
-            if (useDerivativeOnInput) {
-                double deltaInput = calculateContinuousError(input - previousInput);
+            if (derivativeEstimator != null) {
+                derivative = derivativeEstimator.calculate(useDerivativeOnInput ? -unwrappedInput : error, time);
+            } else if (useDerivativeOnInput) {
                 derivative = -deltaInput / deltaTime;
             } else {
                 derivative = (error - previousError) / deltaTime;
             }
+            if (derivativeFilter != null) {
+                derivative = derivativeFilter.calculate(derivative);
+            }
         } else {
             derivative = previousDerivative;
         }
@@ -86,8 +241,8 @@ public class PIDF {
         previousTime = time;
         previousDerivative = derivative;
 
-        double feedback = gains.kP() * error + integralTerm + gains.kD() * derivative;
-        double feedforward = gains.kF() * setpoint + gains.kV() * velocity + gains.kA() * acceleration;
+        double feedback = kP * error + integralTerm + kD * derivative;
+        double feedforward = kF * setpoint + kS * Math.signum(velocity) + kV * velocity + kA * acceleration;
 
         double output = feedforward + feedback;
 
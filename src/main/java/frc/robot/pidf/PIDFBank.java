@@ -0,0 +1,203 @@
+package frc.robot.pidf;
+
+import frc.robot.utils.Bounds;
+
+/**
+ * A set of PIDF controllers whose gains and state are stored in primitive
+ * arrays, so that all of them can be updated with a single call. Each
+ * controller behaves exactly like a PIDF with the same configuration.
+ */
+public class PIDFBank {
+    private final int size;
+
+    private final double[] kP, kI, kD;
+    private final double[] kF, kV, kA;
+    private final double[] kS;
+
+    private final double[] outputMin, outputMax;
+    private final double[] inputRange;
+
+    private final boolean[] continuous;
+    private final boolean[] useDerivativeOnInput;
+
+    private final double[] integralTerm;
+    private final double[] previousTime;
+    private final double[] previousInput;
+    private final double[] previousError;
+
+    private final double[] previousDerivative;
+
+    /**
+     * Constructs a bank of controllers, one for each entry in gains.
+     *
+     * @param gains        Gains for each controller
+     * @param outputBounds Output bounds for each controller
+     */
+    public PIDFBank(Gains[] gains, Bounds[] outputBounds) {
+        if (gains.length != outputBounds.length) {
+            throw new IllegalArgumentException("Each controller requires gains and output bounds");
+        }
+
+        size = gains.length;
+
+        kP = new double[size];
+        kI = new double[size];
+        kD = new double[size];
+        kF = new double[size];
+        kV = new double[size];
+        kA = new double[size];
+        kS = new double[size];
+
+        outputMin = new double[size];
+        outputMax = new double[size];
+        inputRange = new double[size];
+
+        continuous = new boolean[size];
+        useDerivativeOnInput = new boolean[size];
+
+        integralTerm = new double[size];
+        previousTime = new double[size];
+        previousInput = new double[size];
+        previousError = new double[size];
+
+        previousDerivative = new double[size];
+
+        for (int i = 0; i < size; i++) {
+            setGains(i, gains[i]);
+            outputMin[i] = outputBounds[i].min();
+            outputMax[i] = outputBounds[i].max();
+            // No input bounds, so errors are never wrapped
+            inputRange[i] = Double.NaN;
+        }
+    }
+
+    /**
+     * Gets the number of controllers in this bank.
+     *
+     * @return Number of controllers
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Sets the gains of a controller. Integral and derivative state is kept.
+     *
+     * @param index Index of the controller
+     * @param gains New gains
+     */
+    public void setGains(int index, Gains gains) {
+        kP[index] = gains.kP();
+        kI[index] = gains.kI();
+        kD[index] = gains.kD();
+        kF[index] = gains.kF();
+        kV[index] = gains.kV();
+        kA[index] = gains.kA();
+        kS[index] = gains.kS();
+    }
+
+    /**
+     * Set this to true when a controller's setpoint is not continuous. This will
+     * switch from using derivative of the error to derivative of the input.
+     */
+    public void setDerivativeOnInput(int index, boolean on) {
+        useDerivativeOnInput[index] = on;
+    }
+
+    /**
+     * Allow a controller's error to wrap from one end of the input to another.
+     */
+    public void setContinuous(int index, Bounds inputBounds, boolean continuous) {
+        this.continuous[index] = continuous;
+        inputRange[index] = inputBounds.size();
+    }
+
+    public void initialize(int index, double input, double time, double currentOutput) {
+        integralTerm[index] = currentOutput;
+        previousTime[index] = time;
+        previousInput[index] = input;
+        previousError[index] = 0;
+
+        previousDerivative[index] = 0;
+    }
+
+    public void calculate(double[] inputs, double[] setpoints, double time, double[] outputs) {
+        for (int i = 0; i < size; i++) {
+            outputs[i] = calculateOutput(i, inputs[i], setpoints[i], 0.0, 0.0, time);
+        }
+    }
+
+    public void calculate(double[] inputs, double[] setpoints, double[] velocities, double[] accelerations,
+            double time, double[] outputs) {
+        for (int i = 0; i < size; i++) {
+            outputs[i] = calculateOutput(i, inputs[i], setpoints[i], velocities[i], accelerations[i], time);
+        }
+    }
+
+    private double calculateOutput(int i, double input, double setpoint, double velocity, double acceleration,
+            double time) {
+        double error = setpoint - input;
+        if (continuous[i]) {
+            error = calculateContinuousError(i, error);
+        }
+
+        double deltaTime = time - previousTime[i];
+
+        integralTerm[i] += kI[i] * error * deltaTime;
+
+        double derivative;
+        if (deltaTime > 0.0) {
+            if (useDerivativeOnInput[i]) {
+                double deltaInput = calculateContinuousError(i, input - previousInput[i]);
+                derivative = -deltaInput / deltaTime;
+            } else {
+                derivative = (error - previousError[i]) / deltaTime;
+            }
+        } else {
+            derivative = previousDerivative[i];
+        }
+
+        previousInput[i] = input;
+        previousError[i] = error;
+        previousTime[i] = time;
+        previousDerivative[i] = derivative;
+
+        double feedback = kP[i] * error + integralTerm[i] + kD[i] * derivative;
+        double feedforward = kF[i] * setpoint + kS[i] * Math.signum(velocity) + kV[i] * velocity
+                + kA[i] * acceleration;
+
+        double output = feedforward + feedback;
+
+        // Prevent integral windup and lag
+        adjustIntegralTerm(i, output);
+
+        return clampOutput(i, output);
+    }
+
+    private double calculateContinuousError(int i, double error) {
+        if (Math.abs(error) > inputRange[i] / 2.0) {
+            return error - Math.signum(error) * inputRange[i];
+        }
+        return error;
+    }
+
+    // If integral term and output are outside of output bounds, adjust integral
+    // term so output is within bounds, and clamp integral within output bounds.
+    private void adjustIntegralTerm(int i, double output) {
+        if (output > outputMax[i] && integralTerm[i] > outputMax[i]) {
+            integralTerm[i] -= output - outputMax[i];
+        } else if (output < outputMin[i] && integralTerm[i] < outputMin[i]) {
+            integralTerm[i] += outputMin[i] - output;
+        }
+        integralTerm[i] = clampOutput(i, integralTerm[i]);
+    }
+
+    private double clampOutput(int i, double value) {
+        if (value < outputMin[i]) {
+            return outputMin[i];
+        } else if (value > outputMax[i]) {
+            return outputMax[i];
+        }
+        return value;
+    }
+}
@@ -0,0 +1,175 @@
+package frc.robot.pidf;
+
+/**
+ * Automatically tunes a PIDF controller using a relay feedback experiment
+ * (Astrom-Hagglund). Instead of a controller, a relay drives the system,
+ * switching the output between bias + amplitude and bias - amplitude whenever
+ * the input crosses the setpoint. This makes the system oscillate at its ultimate period,
+ * and the ultimate gain can be calculated from the size of the oscillation.
+ *
+ * Oscillations are measured as samples arrive, using only running totals, so
+ * the tuner can run for as long as needed in constant memory.
+ */
+public class RelayTuner {
+    /**
+     * Rules for calculating gains from the ultimate gain and period.
+     */
+    public enum Rule {
+        // Classic Ziegler-Nichols PI
+        ZIEGLER_NICHOLS_PI(0.45, 1.0 / 1.2, 0.0),
+        // Classic Ziegler-Nichols PID, fast but with significant overshoot
+        ZIEGLER_NICHOLS_PID(0.6, 0.5, 0.125),
+        // Ziegler-Nichols variant with little or no overshoot
+        NO_OVERSHOOT(0.2, 0.5, 1.0 / 3.0);
+
+        // Proportional gain as a fraction of the ultimate gain, and integral and
+        // derivative time as fractions of the ultimate period
+        private final double proportional, integralTime, derivativeTime;
+
+        private Rule(double proportional, double integralTime, double derivativeTime) {
+            this.proportional = proportional;
+            this.integralTime = integralTime;
+            this.derivativeTime = derivativeTime;
+        }
+    }
+
+    private final double setpoint;
+    private final double bias;
+    private final double amplitude;
+    private final double hysteresis;
+    private final int settleCycles;
+    private final int cycles;
+
+    private boolean high;
+    private boolean started;
+
+    private int completedCycles;
+    private double lastRiseTime;
+    private double cycleMax, cycleMin;
+
+    private double periodSum;
+    private double amplitudeSum;
+    private int measuredCycles;
+
+    /**
+     * Constructs a RelayTuner.
+     *
+     * @param setpoint     Input value to oscillate around
+     * @param bias         Output needed to hold the system at the setpoint, such
+     *                     as to hold an arm up against gravity
+     * @param amplitude    How far the relay output is above or below the bias
+     * @param hysteresis   How far past the setpoint the input must go before the
+     *                     relay switches, to keep sensor noise from switching it
+     * @param settleCycles Number of oscillations to ignore while the oscillation
+     *                     settles
+     * @param cycles       Number of oscillations to measure
+     */
+    public RelayTuner(double setpoint, double bias, double amplitude, double hysteresis, int settleCycles,
+            int cycles) {
+        this.setpoint = setpoint;
+        this.bias = bias;
+        this.amplitude = amplitude;
+        this.hysteresis = hysteresis;
+        this.settleCycles = settleCycles;
+        this.cycles = cycles;
+
+        this.high = true;
+        this.started = false;
+        this.completedCycles = 0;
+        this.measuredCycles = 0;
+        this.periodSum = 0.0;
+        this.amplitudeSum = 0.0;
+    }
+
+    /**
+     * Updates the relay with a new sample of the input.
+     *
+     * @param input Current input
+     * @param time  Current time in seconds
+     * @return Output to apply to the system, or the bias once finished
+     */
+    public double update(double input, double time) {
+        if (isFinished()) {
+            return bias;
+        }
+
+        double error = setpoint - input;
+
+        cycleMax = Math.max(cycleMax, input);
+        cycleMin = Math.min(cycleMin, input);
+
+        if (!high && error > hysteresis) {
+            // Input fell below the setpoint, a full cycle has finished
+            high = true;
+            finishCycle(input, time);
+        } else if (high && error < -hysteresis) {
+            high = false;
+        }
+
+        return high ? bias + amplitude : bias - amplitude;
+    }
+
+    private void finishCycle(double input, double time) {
+        if (started) {
+            completedCycles++;
+            if (completedCycles > settleCycles) {
+                periodSum += time - lastRiseTime;
+                amplitudeSum += 0.5 * (cycleMax - cycleMin);
+                measuredCycles++;
+            }
+        }
+
+        started = true;
+        lastRiseTime = time;
+        cycleMax = input;
+        cycleMin = input;
+    }
+
+    /**
+     * Gets whether enough oscillations have been measured.
+     *
+     * @return Whether tuning is finished
+     */
+    public boolean isFinished() {
+        return measuredCycles >= cycles;
+    }
+
+    /**
+     * Gets the average measured period of the oscillation, which is the ultimate
+     * period.
+     *
+     * @return Ultimate period in seconds, or NaN if nothing has been measured
+     */
+    public double getUltimatePeriod() {
+        return periodSum / measuredCycles;
+    }
+
+    /**
+     * Calculates the ultimate gain from the average measured amplitude of the
+     * oscillation, using the describing function of a relay with hysteresis.
+     *
+     * @return Ultimate gain, or NaN if nothing has been measured
+     */
+    public double getUltimateGain() {
+        double oscillation = amplitudeSum / measuredCycles;
+        double effectiveAmplitude = Math.sqrt(Math.max(oscillation * oscillation - hysteresis * hysteresis, 0.0));
+        return 4.0 * amplitude / (Math.PI * effectiveAmplitude);
+    }
+
+    /**
+     * Calculates gains from the measured ultimate gain and period.
+     *
+     * @param rule Tuning rule to use
+     * @return The proposed gains
+     */
+    public Gains getGains(Rule rule) {
+        double ultimateGain = getUltimateGain();
+        double ultimatePeriod = getUltimatePeriod();
+
+        double kP = rule.proportional * ultimateGain;
+        double kI = kP / (rule.integralTime * ultimatePeriod);
+        double kD = kP * rule.derivativeTime * ultimatePeriod;
+
+        return new Gains(kP, kI, kD);
+    }
+}
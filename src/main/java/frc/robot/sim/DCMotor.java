@@ -0,0 +1,71 @@
+package frc.robot.sim;
+
+/**
+ * A model of one or more identical brushed DC motors geared together, from
+ * their published stall and free speed specs. Torque falls linearly from the
+ * stall torque at zero speed to zero at the free speed.
+ */
+public class DCMotor {
+    private static final double NOMINAL_VOLTAGE = 12.0;
+
+    private final double resistance;
+    private final double torquePerAmp;
+    private final double speedPerVolt;
+    private final int count;
+
+    /**
+     * Constructs a DCMotor.
+     * 
+     * @param stallTorque  Torque at zero speed and nominal voltage in Nm
+     * @param stallCurrent Current at zero speed and nominal voltage in A
+     * @param freeSpeed    Speed with no load at nominal voltage in RPM
+     * @param freeCurrent  Current with no load at nominal voltage in A
+     * @param count        Number of motors
+     */
+    public DCMotor(double stallTorque, double stallCurrent, double freeSpeed, double freeCurrent, int count) {
+        this.resistance = NOMINAL_VOLTAGE / stallCurrent;
+        this.torquePerAmp = stallTorque / stallCurrent;
+        this.speedPerVolt = (freeSpeed * 2.0 * Math.PI / 60.0) / (NOMINAL_VOLTAGE - resistance * freeCurrent);
+        this.count = count;
+    }
+
+    public static DCMotor cim(int count) {
+        return new DCMotor(2.42, 133.0, 5310.0, 2.7, count);
+    }
+
+    public static DCMotor miniCim(int count) {
+        return new DCMotor(1.41, 89.0, 5840.0, 3.0, count);
+    }
+
+    /**
+     * Calculates the total torque of all of the motors.
+     * 
+     * @param voltage Applied voltage
+     * @param speed   Motor speed in radians per second
+     * @return Torque in Nm
+     */
+    public double getTorque(double voltage, double speed) {
+        return count * torquePerAmp * getCurrent(voltage, speed);
+    }
+
+    /**
+     * Calculates the current drawn by each motor.
+     * 
+     * @param voltage Applied voltage
+     * @param speed   Motor speed in radians per second
+     * @return Current in A
+     */
+    public double getCurrent(double voltage, double speed) {
+        return (voltage - speed / speedPerVolt) / resistance;
+    }
+
+    /**
+     * Gets the speed of an unloaded motor.
+     * 
+     * @param voltage Applied voltage
+     * @return Speed in radians per second
+     */
+    public double getFreeSpeed(double voltage) {
+        return voltage * speedPerVolt;
+    }
+}
@@ -0,0 +1,37 @@
+package frc.robot.sim;
+
+/**
+ * Delays a signal by a fixed number of time steps, using a fixed size ring
+ * buffer.
+ */
+class DeadTime {
+    private final double[] samples;
+    private int index;
+
+    /**
+     * Constructs a DeadTime with the delayed output starting at zero.
+     * 
+     * @param delay    Delay in seconds
+     * @param timeStep Time step in seconds
+     */
+    DeadTime(double delay, double timeStep) {
+        samples = new double[(int) Math.round(delay / timeStep)];
+        index = 0;
+    }
+
+    /**
+     * Adds a sample and gets the sample from the delay ago.
+     * 
+     * @param value The current value
+     * @return The delayed value
+     */
+    double delay(double value) {
+        if (samples.length == 0) {
+            return value;
+        }
+        double delayed = samples[index];
+        samples[index] = value;
+        index = (index + 1) % samples.length;
+        return delayed;
+    }
+}
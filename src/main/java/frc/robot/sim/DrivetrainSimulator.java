@@ -0,0 +1,288 @@
+package frc.robot.sim;
+
+import frc.robot.drivetrain.DriveSensors;
+
+/**
+ * Simulates a differential drivetrain on flat carpet. Each side's motors drive
+ * its wheels through a gearbox, and the wheels push the robot through friction
+ * with the carpet. While a wheel grips, its surface moves with the ground;
+ * when the force needed to grip is more than friction can supply, the wheel
+ * slips and friction is limited to the coefficient of friction times the
+ * side's share of the robot's weight.
+ *
+ * The simulator produces the readings the robot would see: quantized encoder
+ * counts, encoder velocity measured the way a Talon SRX does, in counts per
+ * 100 ms, and gyro heading. Stepping never allocates.
+ */
+public class DrivetrainSimulator implements DriveSensors {
+    private static final double GRAVITY = 9.81;
+    private static final double BATTERY_VOLTAGE = 12.0;
+
+    private final DCMotor motor;
+    private final double gearRatio;
+    private final double wheelRadius;
+    private final double halfTrackWidth;
+    private final double mass;
+    private final double momentOfInertia;
+    private final double wheelInertia;
+    private final double maxFriction;
+    private final int countsPerRevolution;
+    private final double timeStep;
+
+    // Constants of the linear equations for the forces while both sides grip
+    private final double sameSide, otherSide;
+
+    private double x, y, heading;
+    private double velocity, angularVelocity;
+    // Speed of the wheels on each side in radians per second
+    private double leftWheelSpeed, rightWheelSpeed;
+    // Total rotation of the wheels on each side in radians
+    private double leftWheelAngle, rightWheelAngle;
+    private boolean leftGripping, rightGripping;
+
+    /**
+     * Constructs a DrivetrainSimulator at rest at the origin.
+     * 
+     * @param motor               Motors on each side of the drivetrain
+     * @param gearRatio           Motor rotations per wheel rotation
+     * @param wheelRadius         Wheel radius in m
+     * @param trackWidth          Distance between the left and right wheels in m
+     * @param mass                Mass of the robot in kg
+     * @param momentOfInertia     Moment of inertia of the robot about its center
+     *                            in kg m^2
+     * @param wheelInertia        Moment of inertia of each side's wheels, gears
+     *                            and motors, as seen at the wheels, in kg m^2
+     * @param frictionCoefficient Coefficient of friction between the wheels and
+     *                            the carpet
+     * @param countsPerRevolution Encoder counts per wheel rotation
+     * @param timeStep            Simulation time step in seconds
+     */
+    public DrivetrainSimulator(DCMotor motor, double gearRatio, double wheelRadius, double trackWidth, double mass,
+            double momentOfInertia, double wheelInertia, double frictionCoefficient, int countsPerRevolution,
+            double timeStep) {
+        this.motor = motor;
+        this.gearRatio = gearRatio;
+        this.wheelRadius = wheelRadius;
+        this.halfTrackWidth = 0.5 * trackWidth;
+        this.mass = mass;
+        this.momentOfInertia = momentOfInertia;
+        this.wheelInertia = wheelInertia;
+        this.maxFriction = frictionCoefficient * mass * GRAVITY / 2.0;
+        this.countsPerRevolution = countsPerRevolution;
+        this.timeStep = timeStep;
+
+        double linear = 1.0 / mass;
+        double angular = halfTrackWidth * halfTrackWidth / momentOfInertia;
+        double wheel = wheelRadius * wheelRadius / wheelInertia;
+        sameSide = linear + angular + wheel;
+        otherSide = linear - angular;
+
+        reset(0.0, 0.0, 0.0);
+    }
+
+    /**
+     * Moves the robot to a pose and stops it. Encoders are not reset.
+     * 
+     * @param x       X position in m
+     * @param y       Y position in m
+     * @param heading Heading in radians
+     */
+    public void reset(double x, double y, double heading) {
+        this.x = x;
+        this.y = y;
+        this.heading = heading;
+        velocity = 0.0;
+        angularVelocity = 0.0;
+        leftWheelSpeed = 0.0;
+        rightWheelSpeed = 0.0;
+        leftGripping = true;
+        rightGripping = true;
+    }
+
+    /**
+     * Advances the simulation by one time step.
+     * 
+     * @param leftOutput  Left motor output, from -1 to 1
+     * @param rightOutput Right motor output, from -1 to 1
+     */
+    public void step(double leftOutput, double rightOutput) {
+        double leftTorque = wheelTorque(leftOutput, leftWheelSpeed);
+        double rightTorque = wheelTorque(rightOutput, rightWheelSpeed);
+
+        // Forces needed for both sides to keep gripping, from solving for the
+        // forces that make each wheel's surface accelerate with the ground
+        double leftDrive = wheelRadius * leftTorque / wheelInertia;
+        double rightDrive = wheelRadius * rightTorque / wheelInertia;
+        double determinant = sameSide * sameSide - otherSide * otherSide;
+        double leftGrip = (sameSide * leftDrive - otherSide * rightDrive) / determinant;
+        double rightGrip = (sameSide * rightDrive - otherSide * leftDrive) / determinant;
+
+        double leftSlip = leftSlip();
+        double rightSlip = rightSlip();
+
+        // A gripping wheel starts to slip once gripping needs more force than
+        // friction can supply
+        leftGripping = leftGripping && Math.abs(leftGrip) <= maxFriction;
+        rightGripping = rightGripping && Math.abs(rightGrip) <= maxFriction;
+
+        double leftForce = friction(leftGripping, leftSlip, leftGrip);
+        double rightForce = friction(rightGripping, rightSlip, rightGrip);
+
+        // Semi-implicit Euler
+        leftWheelSpeed += (leftTorque - leftForce * wheelRadius) / wheelInertia * timeStep;
+        rightWheelSpeed += (rightTorque - rightForce * wheelRadius) / wheelInertia * timeStep;
+        velocity += (leftForce + rightForce) / mass * timeStep;
+        angularVelocity += (rightForce - leftForce) * halfTrackWidth / momentOfInertia * timeStep;
+
+        // A slipping wheel grips again once it has caught up with the ground, which
+        // is when friction would have to reverse
+        if (!leftGripping && leftSlip() * leftForce <= 0.0) {
+            leftGripping = true;
+        }
+        if (!rightGripping && rightSlip() * rightForce <= 0.0) {
+            rightGripping = true;
+        }
+
+        // Gripping wheels move exactly with the ground
+        if (leftGripping) {
+            leftWheelSpeed = (velocity - angularVelocity * halfTrackWidth) / wheelRadius;
+        }
+        if (rightGripping) {
+            rightWheelSpeed = (velocity + angularVelocity * halfTrackWidth) / wheelRadius;
+        }
+
+        // Integrate along an arc, using the heading halfway through the step
+        double midHeading = heading + 0.5 * angularVelocity * timeStep;
+        x += velocity * Math.cos(midHeading) * timeStep;
+        y += velocity * Math.sin(midHeading) * timeStep;
+        heading += angularVelocity * timeStep;
+
+        leftWheelAngle += leftWheelSpeed * timeStep;
+        rightWheelAngle += rightWheelSpeed * timeStep;
+    }
+
+    private double wheelTorque(double output, double wheelSpeed) {
+        double voltage = Math.max(-1.0, Math.min(1.0, output)) * BATTERY_VOLTAGE;
+        return gearRatio * motor.getTorque(voltage, wheelSpeed * gearRatio);
+    }
+
+    private double friction(boolean gripping, double slip, double gripForce) {
+        if (gripping) {
+            return gripForce;
+        }
+        // Kinetic friction opposes the wheel sliding over the carpet, in the
+        // direction the wheel started to slip if it hasn't moved yet
+        double direction = (slip != 0.0) ? Math.signum(slip) : Math.signum(gripForce);
+        return maxFriction * direction;
+    }
+
+    // Speed of the wheel's surface relative to the ground underneath it
+    private double leftSlip() {
+        return leftWheelSpeed * wheelRadius - (velocity - angularVelocity * halfTrackWidth);
+    }
+
+    private double rightSlip() {
+        return rightWheelSpeed * wheelRadius - (velocity + angularVelocity * halfTrackWidth);
+    }
+
+    public double getTimeStep() {
+        return timeStep;
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    /**
+     * Gets the true heading of the robot, which is what the gyro reads.
+     * 
+     * @return Heading in radians, counterclockwise positive
+     */
+    public double getHeading() {
+        return heading;
+    }
+
+    public double getVelocity() {
+        return velocity;
+    }
+
+    public double getAngularVelocity() {
+        return angularVelocity;
+    }
+
+    /**
+     * Gets the speed of the left wheels' surface, which differs from the ground
+     * speed when the wheels slip.
+     * 
+     * @return Speed in m/s
+     */
+    public double getLeftWheelSpeed() {
+        return leftWheelSpeed * wheelRadius;
+    }
+
+    public double getRightWheelSpeed() {
+        return rightWheelSpeed * wheelRadius;
+    }
+
+    public long getLeftEncoderCount() {
+        return encoderCount(leftWheelAngle);
+    }
+
+    public long getRightEncoderCount() {
+        return encoderCount(rightWheelAngle);
+    }
+
+    /**
+     * Gets the distance the left wheels have turned, as measured by the encoder.
+     * 
+     * @return Distance in m, a whole number of encoder counts
+     */
+    public double getLeftEncoderDistance() {
+        return countsToDistance(getLeftEncoderCount());
+    }
+
+    public double getRightEncoderDistance() {
+        return countsToDistance(getRightEncoderCount());
+    }
+
+    @Override
+    public double getLeftDistance() {
+        return getLeftEncoderDistance();
+    }
+
+    @Override
+    public double getRightDistance() {
+        return getRightEncoderDistance();
+    }
+
+    /**
+     * Gets the speed of the left wheels, as measured by the encoder in whole
+     * counts per 100 ms.
+     * 
+     * @return Speed in m/s
+     */
+    public double getLeftEncoderVelocity() {
+        return encoderVelocity(leftWheelSpeed);
+    }
+
+    public double getRightEncoderVelocity() {
+        return encoderVelocity(rightWheelSpeed);
+    }
+
+    private long encoderCount(double angle) {
+        return (long) Math.floor(angle / (2.0 * Math.PI) * countsPerRevolution);
+    }
+
+    private double countsToDistance(double counts) {
+        return counts / countsPerRevolution * 2.0 * Math.PI * wheelRadius;
+    }
+
+    private double encoderVelocity(double wheelSpeed) {
+        double countsPer100ms = Math.round(wheelSpeed / (2.0 * Math.PI) * countsPerRevolution * 0.1);
+        return countsToDistance(countsPer100ms * 10.0);
+    }
+}
@@ -0,0 +1,45 @@
+package frc.robot.sim;
+
+/**
+ * A first order plant with dead time, with the transfer function
+ * K e^(-Ls) / (Ts + 1). This is a good model for the velocity of a motor
+ * driving a flywheel or a drivetrain.
+ */
+public class FirstOrderPlant implements Plant {
+    private final double gain;
+    private final double timeStep;
+    // Fraction of the way the output moves towards its steady state each step
+    private final double alpha;
+    private final DeadTime deadTime;
+
+    private double output;
+
+    /**
+     * Constructs a FirstOrderPlant starting at rest.
+     * 
+     * @param gain         Steady state output per unit of input, K
+     * @param timeConstant Time constant in seconds, T
+     * @param deadTime     Delay in seconds before input has any effect, L
+     * @param timeStep     Simulation time step in seconds
+     */
+    public FirstOrderPlant(double gain, double timeConstant, double deadTime, double timeStep) {
+        this.gain = gain;
+        this.timeStep = timeStep;
+        this.alpha = 1.0 - Math.exp(-timeStep / timeConstant);
+        this.deadTime = new DeadTime(deadTime, timeStep);
+        this.output = 0.0;
+    }
+
+    @Override
+    public double step(double input) {
+        double delayedInput = deadTime.delay(input);
+        // Exact solution for a constant input over the time step
+        output += alpha * (gain * delayedInput - output);
+        return output;
+    }
+
+    @Override
+    public double getTimeStep() {
+        return timeStep;
+    }
+}
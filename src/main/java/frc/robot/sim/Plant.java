@@ -0,0 +1,22 @@
+package frc.robot.sim;
+
+/**
+ * A simulated single input, single output system, such as a motor driving a
+ * flywheel or an arm, for testing controllers without a robot.
+ */
+public interface Plant {
+    /**
+     * Advances the simulation by one time step.
+     * 
+     * @param input Input applied over the time step, such as motor output
+     * @return The measured output at the end of the time step
+     */
+    public double step(double input);
+
+    /**
+     * Gets the length of each time step.
+     * 
+     * @return Time step in seconds
+     */
+    public double getTimeStep();
+}
@@ -0,0 +1,53 @@
+package frc.robot.sim;
+
+/**
+ * A second order plant with dead time, with the transfer function
+ * K w^2 e^(-Ls) / (s^2 + 2 z w s + w^2). This is a good model for the position
+ * of a mechanism like an arm or elevator held by a spring-like controller.
+ */
+public class SecondOrderPlant implements Plant {
+    private final double gain;
+    private final double naturalFrequency;
+    private final double damping;
+    private final double timeStep;
+    private final DeadTime deadTime;
+
+    private double output, rate;
+
+    /**
+     * Constructs a SecondOrderPlant starting at rest.
+     * 
+     * @param gain             Steady state output per unit of input, K
+     * @param naturalFrequency Natural frequency in radians per second, w
+     * @param damping          Damping ratio, z
+     * @param deadTime         Delay in seconds before input has any effect, L
+     * @param timeStep         Simulation time step in seconds
+     */
+    public SecondOrderPlant(double gain, double naturalFrequency, double damping, double deadTime,
+            double timeStep) {
+        this.gain = gain;
+        this.naturalFrequency = naturalFrequency;
+        this.damping = damping;
+        this.timeStep = timeStep;
+        this.deadTime = new DeadTime(deadTime, timeStep);
+        this.output = 0.0;
+        this.rate = 0.0;
+    }
+
+    @Override
+    public double step(double input) {
+        double delayedInput = deadTime.delay(input);
+        double acceleration = naturalFrequency * naturalFrequency * (gain * delayedInput - output)
+                - 2.0 * damping * naturalFrequency * rate;
+
+        // Semi-implicit Euler, which stays stable for oscillating systems
+        rate += acceleration * timeStep;
+        output += rate * timeStep;
+        return output;
+    }
+
+    @Override
+    public double getTimeStep() {
+        return timeStep;
+    }
+}
@@ -0,0 +1,120 @@
+package frc.robot.spline;
+
+import java.util.ArrayList;
+
+/**
+ * Finds the real roots of polynomials, given their coefficients in increasing
+ * order of power. The roots of a polynomial's derivative split it into
+ * monotonic intervals, each of which contains at most one root, which is then
+ * found by bisection. Applied recursively, this finds every root without
+ * needing a closed form for quartics.
+ */
+final class Polynomials {
+    private static final int BISECTION_ITERATIONS = 100;
+    // Coefficients this small compared to the largest are treated as zero
+    private static final double RELATIVE_ZERO = 1e-12;
+
+    private Polynomials() {
+    }
+
+    static double evaluate(double[] coefficients, double x) {
+        double result = 0.0;
+        for (int k = coefficients.length - 1; k >= 0; k--) {
+            result = result * x + coefficients[k];
+        }
+        return result;
+    }
+
+    static double[] derivative(double[] coefficients) {
+        double[] result = new double[Math.max(coefficients.length - 1, 1)];
+        for (int k = 1; k < coefficients.length; k++) {
+            result[k - 1] = k * coefficients[k];
+        }
+        return result;
+    }
+
+    /**
+     * Finds the real roots of a polynomial between two values. If the polynomial
+     * is zero everywhere, there are no roots.
+     * 
+     * @param coefficients Coefficients in increasing order of power
+     * @param lower        Lower end of the interval to search
+     * @param upper        Upper end of the interval to search
+     * @return The roots in increasing order
+     */
+    static double[] roots(double[] coefficients, double lower, double upper) {
+        int degree = degree(coefficients);
+        if (degree <= 0) {
+            return new double[0];
+        }
+        if (degree == 1) {
+            double root = -coefficients[0] / coefficients[1];
+            return (root >= lower && root <= upper) ? new double[] { root } : new double[0];
+        }
+
+        double[] trimmed = new double[degree + 1];
+        System.arraycopy(coefficients, 0, trimmed, 0, degree + 1);
+        double[] criticalPoints = roots(derivative(trimmed), lower, upper);
+
+        ArrayList<Double> roots = new ArrayList<>();
+        double start = lower;
+        double startValue = evaluate(trimmed, start);
+        for (int i = 0; i <= criticalPoints.length; i++) {
+            double end = (i < criticalPoints.length) ? criticalPoints[i] : upper;
+            double endValue = evaluate(trimmed, end);
+
+            double root = Double.NaN;
+            if (startValue == 0.0) {
+                root = start;
+            } else if (startValue * endValue < 0.0) {
+                root = bisect(trimmed, start, end, startValue);
+            } else if (endValue == 0.0 && i == criticalPoints.length) {
+                root = end;
+            }
+            if (!Double.isNaN(root) && (roots.isEmpty() || root > roots.get(roots.size() - 1))) {
+                roots.add(root);
+            }
+
+            start = end;
+            startValue = endValue;
+        }
+
+        double[] result = new double[roots.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = roots.get(i);
+        }
+        return result;
+    }
+
+    private static int degree(double[] coefficients) {
+        double largest = 0.0;
+        for (double coefficient : coefficients) {
+            largest = Math.max(largest, Math.abs(coefficient));
+        }
+        for (int k = coefficients.length - 1; k >= 0; k--) {
+            if (Math.abs(coefficients[k]) > RELATIVE_ZERO * largest) {
+                return k;
+            }
+        }
+        return -1;
+    }
+
+    // Finds the root of a polynomial which changes sign once between lower and
+    // upper
+    private static double bisect(double[] coefficients, double lower, double upper, double lowerValue) {
+        for (int i = 0; i < BISECTION_ITERATIONS && upper - lower > 1e-15; i++) {
+            double middle = 0.5 * (lower + upper);
+            double value = evaluate(coefficients, middle);
+            if (value == 0.0) {
+                return middle;
+            }
+            if ((value < 0.0) == (lowerValue < 0.0)) {
+                lower = middle;
+                lowerValue = value;
+            } else {
+                upper = middle;
+            }
+        }
+        return 0.5 * (lower + upper);
+    }
+}
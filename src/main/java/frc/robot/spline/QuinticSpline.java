@@ -2,7 +2,9 @@ package frc.robot.spline;
 
 import java.util.ArrayList;
 
+import frc.robot.utils.BoundingBox;
 import frc.robot.utils.Point;
+import frc.robot.utils.PointBuffer;
 import frc.robot.utils.Vector;
 
 /**
@@ -14,6 +16,7 @@ import frc.robot.utils.Vector;
 public class QuinticSpline {
     private ArrayList<Double> knots;
     private ArrayList<QuinticSplineSegment> segments;
+    private SplineBVH bvh;
 
     /**
      * Stores the curvature and heading (in radians) at the end of each of a series
@@ -61,6 +64,16 @@ public class QuinticSpline {
         public ArrayList<Double> getHeadingChunks() {
             return headingChunks;
         }
+
+        /**
+         * Gets the arc length at the end of the segment that was not counted as part
+         * of a chunk, which counts towards the first chunk of the next segment.
+         * 
+         * @return Remaining arc length
+         */
+        public double getRemainingArcLength() {
+            return remainingArcLength;
+        }
     }
 
     /**
@@ -88,6 +101,47 @@ public class QuinticSpline {
                     endDerivative, startSecondDerivative, endSecondDerivative);
             segments.add(segment);
         }
+
+        bvh = new SplineBVH(segments);
+    }
+
+    private QuinticSpline(ArrayList<Double> knots, ArrayList<QuinticSplineSegment> segments) {
+        this.knots = knots;
+        this.segments = segments;
+        this.bvh = new SplineBVH(segments);
+    }
+
+    /**
+     * Creates a new spline which starts at the specified point and derivatives,
+     * joins this spline at the end of the specified segment, and then follows the
+     * rest of this spline. The segments after the specified one are shared with
+     * this spline rather than recomputed. The knots are shifted so the new spline
+     * starts at a parameter value of zero.
+     *
+     * @param segmentIndex          Index of the segment to replace
+     * @param start                 The point to start the new spline at
+     * @param startDerivative       The derivative at the start of the new spline,
+     *                              with respect to the global parameter
+     * @param startSecondDerivative The second derivative at the start of the new
+     *                              spline, with respect to the global parameter
+     * @return The replanned spline
+     */
+    public QuinticSpline replan(int segmentIndex, Point start, Vector startDerivative, Vector startSecondDerivative) {
+        QuinticSplineSegment replaced = segments.get(segmentIndex);
+        double knotLength = knots.get(segmentIndex + 1) - knots.get(segmentIndex);
+
+        ArrayList<QuinticSplineSegment> newSegments = new ArrayList<>();
+        newSegments.add(new QuinticSplineSegment(start, replaced.end, startDerivative.scale(knotLength),
+                replaced.endDerivative, startSecondDerivative.scale(knotLength), replaced.endSecondDerivative));
+        newSegments.addAll(segments.subList(segmentIndex + 1, segments.size()));
+
+        ArrayList<Double> newKnots = new ArrayList<>();
+        double startKnot = knots.get(segmentIndex);
+        for (int i = segmentIndex; i < knots.size(); i++) {
+            newKnots.add(knots.get(i) - startKnot);
+        }
+
+        return new QuinticSpline(newKnots, newSegments);
     }
 
     /**
@@ -180,6 +234,163 @@ public class QuinticSpline {
         return segments.get(i).getCurvature(s);
     }
 
+    /**
+     * Finds the point on this spline closest to a point, such as the robot's
+     * position. Segments are skipped whenever their bounding box is further away
+     * than the closest point found so far.
+     *
+     * @param point The point to project onto the spline
+     * @return Global parameter value of the closest point
+     */
+    public double projectOnto(Point point) {
+        double x = point.getX();
+        double y = point.getY();
+
+        // Start with the nearest segment, so the most segments can be skipped
+        int nearest = 0;
+        double nearestBox = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < segments.size(); i++) {
+            double box = segments.get(i).boxDistanceSquared(x, y);
+            if (box < nearestBox) {
+                nearestBox = box;
+                nearest = i;
+            }
+        }
+
+        QuinticSplineSegment segment = segments.get(nearest);
+        double s = segment.project(x, y);
+        return closestAfter(x, y, nearest, s, segment.distanceSquared(s, x, y));
+    }
+
+    /**
+     * Finds the point on this spline closest to a point, starting from a guess
+     * such as the result of the previous projection. When the point has only moved
+     * a little, this usually needs a few iterations on a single segment. The
+     * result is only further than the closest point if the guess's segment has a
+     * separate, closer local minimum, such as where the spline loops back near
+     * itself.
+     *
+     * @param point The point to project onto the spline
+     * @param guess Global parameter value to start searching from
+     * @return Global parameter value of the closest point
+     */
+    public double projectOnto(Point point, double guess) {
+        double x = point.getX();
+        double y = point.getY();
+
+        int index = getSegmentIndex(guess);
+        double guessS = Math.max(0.0, Math.min(globalToLocal(index, guess), 1.0));
+        QuinticSplineSegment segment = segments.get(index);
+        double s = segment.refineProjection(x, y, guessS, 0.0, 1.0);
+        return closestAfter(x, y, index, s, segment.distanceSquared(s, x, y));
+    }
+
+    /**
+     * Checks the segments other than one which has already been searched for a
+     * point closer than the closest point found so far.
+     *
+     * @return Global parameter value of the closest point
+     */
+    private double closestAfter(double x, double y, int bestIndex, double bestS, double bestDistance) {
+        int searched = bestIndex;
+        for (int i = 0; i < segments.size(); i++) {
+            QuinticSplineSegment segment = segments.get(i);
+            if (i == searched || segment.boxDistanceSquared(x, y) >= bestDistance) {
+                continue;
+            }
+            double s = segment.project(x, y);
+            double distance = segment.distanceSquared(s, x, y);
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                bestS = s;
+                bestIndex = i;
+            }
+        }
+
+        double startKnot = knots.get(bestIndex);
+        return startKnot + bestS * (knots.get(bestIndex + 1) - startKnot);
+    }
+
+    /**
+     * Adds the vertices of a polyline approximating this spline to a buffer, for
+     * plotting, sending to a dashboard, or checking against obstacles. No point of
+     * the spline is further than the tolerance from the polyline. Each segment is
+     * halved until every part is within the tolerance, so straight parts need few
+     * vertices and tight curves get more. This uses far fewer vertices than
+     * sampling evenly, though not the fewest possible. The buffer isn't cleared
+     * first.
+     *
+     * @param tolerance Maximum distance from the spline to the polyline
+     * @param buffer    Buffer to add the vertices to
+     */
+    public void flatten(double tolerance, PointBuffer buffer) {
+        if (tolerance <= 0.0) {
+            throw new IllegalArgumentException("Flattening tolerance must be greater than zero");
+        }
+        Point start = segments.get(0).start;
+        buffer.add(start.getX(), start.getY());
+        for (QuinticSplineSegment segment : segments) {
+            segment.flatten(tolerance, buffer);
+        }
+    }
+
+    /**
+     * Gets the tightest box containing this spline.
+     *
+     * @return The bounding box
+     */
+    public BoundingBox getBounds() {
+        return bvh.getBounds();
+    }
+
+    /**
+     * Gets the tightest box containing one segment of this spline.
+     *
+     * @param index Index of the segment
+     * @return The bounding box
+     */
+    public BoundingBox getSegmentBounds(int index) {
+        return segments.get(index).getBounds();
+    }
+
+    /**
+     * Checks whether this spline passes through an obstacle. Paths which pass
+     * within a millimeter of the obstacle count as touching it.
+     *
+     * @param obstacle The obstacle to check
+     * @return Whether the spline intersects the obstacle
+     */
+    public boolean intersects(BoundingBox obstacle) {
+        return bvh.intersects(obstacle, 0.0, 0.0);
+    }
+
+    /**
+     * Checks whether a point on the robot, such as a wheel or a corner of the
+     * frame, passes through an obstacle while the robot follows this spline. Check
+     * each corner of the robot to check its whole footprint against obstacles
+     * larger than the robot.
+     *
+     * @param obstacle The obstacle to check
+     * @param wheelX   The x offset of the point from the center of the robot, as
+     *                 for getWheel
+     * @param wheelY   The y offset of the point from the center of the robot, as
+     *                 for getWheel
+     * @return Whether the point's path intersects the obstacle
+     */
+    public boolean intersects(BoundingBox obstacle, double wheelX, double wheelY) {
+        return bvh.intersects(obstacle, wheelX, wheelY);
+    }
+
+    /**
+     * Checks whether this spline crosses or touches itself. Paths which come back
+     * within a millimeter of themselves count as touching.
+     *
+     * @return Whether the spline intersects itself
+     */
+    public boolean intersectsItself() {
+        return bvh.intersectsItself();
+    }
+
     /**
      * Gets the knot length of this spline. This is the maximum parameter value of
      * this spline.
@@ -205,7 +416,7 @@ public class QuinticSpline {
         ArrayList<Double> headingChunks = new ArrayList<>();
 
         curvatureChunks.add(segments.get(0).getCurvature(0.0));
-        headingChunks.add(segments.get(0).getCurvature(0.0));
+        headingChunks.add(segments.get(0).getHeading(0.0));
 
         double initialArcLength = 0.0;
         for (QuinticSplineSegment segment : segments) {
@@ -218,6 +429,44 @@ public class QuinticSpline {
         return new SplineChunks(curvatureChunks, headingChunks, 0.0);
     }
 
+    /**
+     * Computes the heading and curvature at the end of each chunk of uniform length
+     * along a single segment of the spline. Chunking each segment in turn, passing
+     * in the remaining arc length of the previous segment, gives the same chunks
+     * as computeSplineChunks, so the chunks of each segment can be cached along
+     * with the arc length they started from.
+     *
+     * @param segmentIndex     Index of the segment to compute chunks for
+     * @param chunkLength      The length each chunk should be
+     * @param initialArcLength Arc length left over from the previous segment, or
+     *                         zero for the start of the spline
+     * @return The curvature and heading at the end of each chunk, and the arc
+     *         length left over at the end of the segment
+     */
+    public SplineChunks computeSegmentChunks(int segmentIndex, double chunkLength, double initialArcLength) {
+        return segments.get(segmentIndex).getSplineChunks(chunkLength, initialArcLength);
+    }
+
+    /**
+     * Gets the number of segments this spline has.
+     *
+     * @return Number of segments
+     */
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Gets the knot at the start of a segment. The knot after the last segment is
+     * the end of the spline.
+     *
+     * @param index Index of the knot
+     * @return Global parameter value of the knot
+     */
+    public double getKnot(int index) {
+        return knots.get(index);
+    }
+
     /**
      * Gets the number of segment start/end points this spline has, including the
      * very start and end.
@@ -1,20 +1,49 @@
 package frc.robot.spline;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
+import frc.robot.utils.BoundingBox;
 import frc.robot.utils.Point;
+import frc.robot.utils.PointBuffer;
 import frc.robot.utils.Vector;
 
 /**
  * A single segment of a quintic Hermite spline.
  */
 class QuinticSplineSegment {
+    // Samples used to find the closest local minimum when projecting a point
+    private static final int PROJECTION_SAMPLES = 8;
+    private static final int PROJECTION_ITERATIONS = 40;
+    private static final double PROJECTION_TOLERANCE = 1e-12;
+    // Limits how finely a segment is split when flattening, to 2^20 parts
+    private static final int MAX_FLATTEN_DEPTH = 20;
+    // Converts the power basis coefficients of a quintic on [0, 1] to Bernstein
+    // control points: BERNSTEIN[i][k] = C(i, k) / C(5, k)
+    private static final double[][] BERNSTEIN = new double[6][6];
+
+    static {
+        for (int i = 0; i < 6; i++) {
+            for (int k = 0; k <= i; k++) {
+                BERNSTEIN[i][k] = binomial(i, k) / binomial(5, k);
+            }
+        }
+    }
+
     Point start, end;
     Vector startDerivative, endDerivative;
     Vector startSecondDerivative, endSecondDerivative;
 
     private ArrayList<Double> xCoefs;
     private ArrayList<Double> yCoefs;
+    // Copies of the coefficients, to evaluate without unboxing
+    private final double[] xCoefficients = new double[6];
+    private final double[] yCoefficients = new double[6];
+
+    // Tightest box containing the whole segment
+    private double minX, minY, maxX, maxY;
+    // Where x or y is at a local minimum or maximum
+    private double[] criticalPoints;
 
     private double arcLength;
 
@@ -44,6 +73,11 @@ class QuinticSplineSegment {
         yCoefs = new ArrayList<>();
 
         calculateCoefficients();
+        for (int i = 0; i < xCoefficients.length; i++) {
+            xCoefficients[i] = xCoefs.get(i);
+            yCoefficients[i] = yCoefs.get(i);
+        }
+        calculateBounds();
 
         arcLength = calculateArcLength();
     }
@@ -73,6 +107,316 @@ class QuinticSplineSegment {
                 - 0.5 * startSecondDerivative.getY() + 0.5 * endSecondDerivative.getY());
     }
 
+    /**
+     * Calculates the tightest box containing the segment. Each coordinate is
+     * extreme either at the ends of the segment or where its derivative is zero,
+     * so only those points need to be included.
+     */
+    private void calculateBounds() {
+        double[] xCriticalPoints = Polynomials.roots(Polynomials.derivative(xCoefficients), 0.0, 1.0);
+        double[] yCriticalPoints = Polynomials.roots(Polynomials.derivative(yCoefficients), 0.0, 1.0);
+
+        minX = Math.min(start.getX(), end.getX());
+        maxX = Math.max(start.getX(), end.getX());
+        for (double s : xCriticalPoints) {
+            double x = getX(s);
+            minX = Math.min(minX, x);
+            maxX = Math.max(maxX, x);
+        }
+
+        minY = Math.min(start.getY(), end.getY());
+        maxY = Math.max(start.getY(), end.getY());
+        for (double s : yCriticalPoints) {
+            double y = getY(s);
+            minY = Math.min(minY, y);
+            maxY = Math.max(maxY, y);
+        }
+
+        criticalPoints = merge(xCriticalPoints, yCriticalPoints);
+    }
+
+    // Merges two sorted arrays of critical points, dropping the ends of the
+    // segment and duplicates
+    private static double[] merge(double[] first, double[] second) {
+        double[] merged = new double[first.length + second.length];
+        int count = 0;
+        int i = 0, j = 0;
+        while (i < first.length || j < second.length) {
+            double next = (j >= second.length || (i < first.length && first[i] < second[j])) ? first[i++]
+                    : second[j++];
+            if (next > 0.0 && next < 1.0 && (count == 0 || next > merged[count - 1])) {
+                merged[count++] = next;
+            }
+        }
+        return Arrays.copyOf(merged, count);
+    }
+
+    /**
+     * Gets the tightest box containing this segment.
+     * 
+     * @return The bounding box
+     */
+    protected BoundingBox getBounds() {
+        return new BoundingBox(minX, minY, maxX, maxY);
+    }
+
+    /**
+     * Gets the local parameter values strictly between the ends of the segment, in
+     * increasing order, where either x or y is at a local minimum or maximum.
+     * Between them, the segment only moves one way along each axis.
+     * 
+     * @return Parameter values where the x or y derivative is zero
+     */
+    protected double[] getCriticalPoints() {
+        return criticalPoints;
+    }
+
+    /**
+     * Adds vertices of a polyline approximating this segment to a buffer, so that
+     * no point of the segment is further than the tolerance from the polyline.
+     * Each part of the segment is split in half until it is flat enough, so
+     * straight parts need few vertices and tight curves get more. The start of the
+     * segment isn't added, since it is the end of the previous segment.
+     * 
+     * @param tolerance Maximum distance from the segment to the polyline
+     * @param buffer    Buffer to add the vertices to
+     */
+    protected void flatten(double tolerance, PointBuffer buffer) {
+        flatten(0.0, getX(0.0), getY(0.0), 1.0, getX(1.0), getY(1.0), tolerance * tolerance, 0, new double[12],
+                buffer);
+    }
+
+    private void flatten(double startS, double startX, double startY, double endS, double endX, double endY,
+            double toleranceSquared, int depth, double[] controlPoints, PointBuffer buffer) {
+        if (depth >= MAX_FLATTEN_DEPTH || chordDeviationSquared(startS, startX, startY, endS, endX, endY,
+                controlPoints) <= toleranceSquared) {
+            buffer.add(endX, endY);
+            return;
+        }
+
+        double middleS = 0.5 * (startS + endS);
+        double middleX = getX(middleS);
+        double middleY = getY(middleS);
+        flatten(startS, startX, startY, middleS, middleX, middleY, toleranceSquared, depth + 1, controlPoints,
+                buffer);
+        flatten(middleS, middleX, middleY, endS, endX, endY, toleranceSquared, depth + 1, controlPoints, buffer);
+    }
+
+    /**
+     * Bounds how far part of the segment strays from the chord between its ends.
+     * The part lies within the convex hull of its Bernstein control points, and
+     * distance from the chord is largest at a corner of the hull, so no point of
+     * the part is further from the chord than the furthest control point.
+     * 
+     * @param controlPoints Scratch array of at least 12 values
+     */
+    private double chordDeviationSquared(double startS, double startX, double startY, double endS, double endX,
+            double endY, double[] controlPoints) {
+        bernsteinControlPoints(xCoefficients, startS, endS, controlPoints, 0);
+        bernsteinControlPoints(yCoefficients, startS, endS, controlPoints, 6);
+
+        // The first and last control points are the ends of the chord
+        double deviation = 0.0;
+        for (int i = 1; i < 5; i++) {
+            deviation = Math.max(deviation,
+                    segmentDistanceSquared(controlPoints[i], controlPoints[6 + i], startX, startY, endX, endY));
+        }
+        return deviation;
+    }
+
+    /**
+     * Calculates the Bernstein control points of a quintic between two parameter
+     * values.
+     * 
+     * @param coefficients Power basis coefficients of the quintic
+     * @param result       Array to store the six control points in, from offset
+     */
+    private static void bernsteinControlPoints(double[] coefficients, double startS, double endS, double[] result,
+            int offset) {
+        System.arraycopy(coefficients, 0, result, offset, 6);
+
+        // Shift the polynomial to start at startS, by repeated synthetic division
+        for (int i = 0; i < 5; i++) {
+            for (int j = 4; j >= i; j--) {
+                result[offset + j] += startS * result[offset + j + 1];
+            }
+        }
+        // Scale it to reach endS at 1
+        double scale = 1.0;
+        for (int k = 1; k < 6; k++) {
+            scale *= endS - startS;
+            result[offset + k] *= scale;
+        }
+
+        // Convert to the Bernstein basis in place, from the last control point
+        // down, since each only uses coefficients up to its own index
+        for (int i = 5; i >= 0; i--) {
+            double point = 0.0;
+            for (int k = 0; k <= i; k++) {
+                point += BERNSTEIN[i][k] * result[offset + k];
+            }
+            result[offset + i] = point;
+        }
+    }
+
+    private static double binomial(int n, int k) {
+        double result = 1.0;
+        for (int i = 1; i <= k; i++) {
+            result = result * (n - k + i) / i;
+        }
+        return result;
+    }
+
+    // Squared distance from a point to the line segment between two points
+    private static double segmentDistanceSquared(double x, double y, double startX, double startY, double endX,
+            double endY) {
+        double dx = endX - startX;
+        double dy = endY - startY;
+        double lengthSquared = dx * dx + dy * dy;
+        double fraction = (lengthSquared > 0.0) ? ((x - startX) * dx + (y - startY) * dy) / lengthSquared : 0.0;
+        fraction = Math.max(0.0, Math.min(fraction, 1.0));
+        double errorX = startX + fraction * dx - x;
+        double errorY = startY + fraction * dy - y;
+        return errorX * errorX + errorY * errorY;
+    }
+
+    protected double getX(double s) {
+        return evaluate(xCoefficients, s);
+    }
+
+    protected double getY(double s) {
+        return evaluate(yCoefficients, s);
+    }
+
+    protected double getXDerivative(double s) {
+        double result = 0.0;
+        for (int k = xCoefficients.length - 1; k >= 1; k--) {
+            result = result * s + k * xCoefficients[k];
+        }
+        return result;
+    }
+
+    protected double getYDerivative(double s) {
+        double result = 0.0;
+        for (int k = yCoefficients.length - 1; k >= 1; k--) {
+            result = result * s + k * yCoefficients[k];
+        }
+        return result;
+    }
+
+    /**
+     * Calculates the squared distance from a point to the closest point of this
+     * segment's bounding box, which is never more than the squared distance to
+     * any point of the segment.
+     */
+    protected double boxDistanceSquared(double x, double y) {
+        double dx = Math.max(Math.max(minX - x, x - maxX), 0.0);
+        double dy = Math.max(Math.max(minY - y, y - maxY), 0.0);
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Calculates the squared distance from a point to the segment at the specified
+     * local parameter value.
+     */
+    protected double distanceSquared(double s, double x, double y) {
+        double dx = getX(s) - x;
+        double dy = getY(s) - y;
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Finds the local parameter value of the point on this segment closest to a
+     * point. The segment is sampled, and each sample closer than its neighbors is
+     * refined to a local minimum of the distance.
+     * 
+     * @return Local parameter value of the closest point
+     */
+    protected double project(double x, double y) {
+        double step = 1.0 / PROJECTION_SAMPLES;
+        double bestS = 0.0;
+        double bestDistance = Double.POSITIVE_INFINITY;
+
+        double previous = Double.POSITIVE_INFINITY;
+        double current = distanceSquared(0.0, x, y);
+        for (int i = 0; i <= PROJECTION_SAMPLES; i++) {
+            double next = (i < PROJECTION_SAMPLES) ? distanceSquared((i + 1) * step, x, y) : Double.POSITIVE_INFINITY;
+            if (current <= previous && current <= next) {
+                double sample = i * step;
+                double s = refineProjection(x, y, sample, Math.max(sample - step, 0.0), Math.min(sample + step, 1.0));
+                double distance = distanceSquared(s, x, y);
+                if (distance < bestDistance) {
+                    bestDistance = distance;
+                    bestS = s;
+                }
+            }
+            previous = current;
+            current = next;
+        }
+        return bestS;
+    }
+
+    /**
+     * Refines a guess of the local parameter value of the point closest to a point,
+     * using Newton's method on the derivative of the squared distance. Steps that
+     * would leave the bracket around the minimum bisect it instead, so this
+     * converges even where Newton's method alone wouldn't.
+     * 
+     * @param x     X of the point
+     * @param y     Y of the point
+     * @param s     Initial guess
+     * @param lower Lower end of the bracket to search within
+     * @param upper Upper end of the bracket to search within
+     * @return Local parameter value of the closest point within the bracket
+     */
+    protected double refineProjection(double x, double y, double s, double lower, double upper) {
+        for (int i = 0; i < PROJECTION_ITERATIONS; i++) {
+            double px = 0.0, dx = 0.0, ddx = 0.0;
+            double py = 0.0, dy = 0.0, ddy = 0.0;
+            // Horner's method for the value and first two derivatives
+            for (int k = 5; k >= 0; k--) {
+                ddx = ddx * s + dx;
+                dx = dx * s + px;
+                px = px * s + xCoefficients[k];
+                ddy = ddy * s + dy;
+                dy = dy * s + py;
+                py = py * s + yCoefficients[k];
+            }
+            ddx *= 2.0;
+            ddy *= 2.0;
+
+            double errorX = px - x;
+            double errorY = py - y;
+            // Half the first and second derivatives of the squared distance
+            double gradient = errorX * dx + errorY * dy;
+            double curvature = dx * dx + dy * dy + errorX * ddx + errorY * ddy;
+
+            if (gradient > 0.0) {
+                upper = s;
+            } else {
+                lower = s;
+            }
+
+            double next = (curvature > 0.0) ? s - gradient / curvature : 0.5 * (lower + upper);
+            if (next <= lower || next >= upper) {
+                next = 0.5 * (lower + upper);
+            }
+            if (Math.abs(next - s) < PROJECTION_TOLERANCE) {
+                return next;
+            }
+            s = next;
+        }
+        return s;
+    }
+
+    private static double evaluate(double[] coefficients, double s) {
+        double result = 0.0;
+        for (int k = coefficients.length - 1; k >= 0; k--) {
+            result = result * s + coefficients[k];
+        }
+        return result;
+    }
+
     /**
      * Calculates the position of a robot's wheel at the specified local parameter
      * variable value as it drives along this segment.
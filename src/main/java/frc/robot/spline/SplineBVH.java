@@ -0,0 +1,315 @@
+package frc.robot.spline;
+
+import java.util.ArrayList;
+
+import frc.robot.utils.BoundingBox;
+
+/**
+ * A bounding volume hierarchy over a spline, for checking paths against
+ * obstacles and against themselves.
+ *
+ * Each segment is split where x or y is at a local minimum or maximum, so
+ * within each piece both coordinates only increase or only decrease. The box
+ * around any part of a piece is then just the box around the ends of that part,
+ * which makes subdividing pieces cheap, and a piece can never cross itself. The
+ * pieces' boxes are arranged in a binary tree, so most pieces can be skipped by
+ * testing a few boxes.
+ *
+ * Intersections are found to within TOLERANCE. Pieces are subdivided until they
+ * are smaller than that, so a path passing closer than that to an obstacle or
+ * itself counts as touching it.
+ */
+class SplineBVH {
+    static final double TOLERANCE = 1e-3;
+
+    // Pieces of the spline, in order along it
+    private final QuinticSplineSegment[] pieceSegments;
+    private final double[] pieceStarts, pieceEnds;
+    // Sign of the x and y derivatives within each piece, or zero if constant
+    private final int[] xSigns, ySigns;
+
+    // Tree nodes, with the root at index 0. Leaves have no children, and store
+    // the index of their piece in nodePieces.
+    private final double[] nodeMinX, nodeMinY, nodeMaxX, nodeMaxY;
+    private final int[] nodeLeft, nodeRight, nodePieces;
+    private int nodeCount = 0;
+
+    SplineBVH(ArrayList<QuinticSplineSegment> segments) {
+        ArrayList<QuinticSplineSegment> pieceSegmentList = new ArrayList<>();
+        ArrayList<double[]> pieceRanges = new ArrayList<>();
+        for (QuinticSplineSegment segment : segments) {
+            double[] splits = segment.getCriticalPoints();
+            double start = 0.0;
+            for (int i = 0; i <= splits.length; i++) {
+                double end = (i < splits.length) ? splits[i] : 1.0;
+                if (end > start) {
+                    pieceSegmentList.add(segment);
+                    pieceRanges.add(new double[] { start, end });
+                    start = end;
+                }
+            }
+        }
+
+        int pieceCount = pieceSegmentList.size();
+        pieceSegments = pieceSegmentList.toArray(new QuinticSplineSegment[pieceCount]);
+        pieceStarts = new double[pieceCount];
+        pieceEnds = new double[pieceCount];
+        xSigns = new int[pieceCount];
+        ySigns = new int[pieceCount];
+        for (int i = 0; i < pieceCount; i++) {
+            pieceStarts[i] = pieceRanges.get(i)[0];
+            pieceEnds[i] = pieceRanges.get(i)[1];
+            double middle = 0.5 * (pieceStarts[i] + pieceEnds[i]);
+            xSigns[i] = (int) Math.signum(pieceSegments[i].getXDerivative(middle));
+            ySigns[i] = (int) Math.signum(pieceSegments[i].getYDerivative(middle));
+        }
+
+        int maxNodes = 2 * pieceCount - 1;
+        nodeMinX = new double[maxNodes];
+        nodeMinY = new double[maxNodes];
+        nodeMaxX = new double[maxNodes];
+        nodeMaxY = new double[maxNodes];
+        nodeLeft = new int[maxNodes];
+        nodeRight = new int[maxNodes];
+        nodePieces = new int[maxNodes];
+
+        int[] pieces = new int[pieceCount];
+        for (int i = 0; i < pieceCount; i++) {
+            pieces[i] = i;
+        }
+        build(pieces, 0, pieceCount);
+    }
+
+    /**
+     * Builds the subtree over a range of pieces, splitting them at the median
+     * along the longest axis of their box.
+     *
+     * @return Index of the subtree's root node
+     */
+    private int build(int[] pieces, int from, int to) {
+        int node = nodeCount++;
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (int i = from; i < to; i++) {
+            int piece = pieces[i];
+            double startX = getX(piece, pieceStarts[piece]), endX = getX(piece, pieceEnds[piece]);
+            double startY = getY(piece, pieceStarts[piece]), endY = getY(piece, pieceEnds[piece]);
+            minX = Math.min(minX, Math.min(startX, endX));
+            maxX = Math.max(maxX, Math.max(startX, endX));
+            minY = Math.min(minY, Math.min(startY, endY));
+            maxY = Math.max(maxY, Math.max(startY, endY));
+        }
+        nodeMinX[node] = minX;
+        nodeMinY[node] = minY;
+        nodeMaxX[node] = maxX;
+        nodeMaxY[node] = maxY;
+
+        if (to - from == 1) {
+            nodeLeft[node] = -1;
+            nodeRight[node] = -1;
+            nodePieces[node] = pieces[from];
+            return node;
+        }
+
+        // Sort by the center of each piece along the longest axis. There are only
+        // a few pieces per segment, so insertion sort is fast enough.
+        boolean alongX = maxX - minX >= maxY - minY;
+        for (int i = from + 1; i < to; i++) {
+            int piece = pieces[i];
+            double key = center(piece, alongX);
+            int j = i - 1;
+            while (j >= from && center(pieces[j], alongX) > key) {
+                pieces[j + 1] = pieces[j];
+                j--;
+            }
+            pieces[j + 1] = piece;
+        }
+
+        int middle = (from + to) / 2;
+        nodePieces[node] = -1;
+        nodeLeft[node] = build(pieces, from, middle);
+        nodeRight[node] = build(pieces, middle, to);
+        return node;
+    }
+
+    private double center(int piece, boolean alongX) {
+        double middle = 0.5 * (pieceStarts[piece] + pieceEnds[piece]);
+        return alongX ? getX(piece, middle) : getY(piece, middle);
+    }
+
+    private double getX(int piece, double s) {
+        return pieceSegments[piece].getX(s);
+    }
+
+    private double getY(int piece, double s) {
+        return pieceSegments[piece].getY(s);
+    }
+
+    int getPieceCount() {
+        return pieceSegments.length;
+    }
+
+    BoundingBox getBounds() {
+        return new BoundingBox(nodeMinX[0], nodeMinY[0], nodeMaxX[0], nodeMaxY[0]);
+    }
+
+    /**
+     * Checks whether a point offset from the spline, such as a wheel or a corner of
+     * the robot's frame, passes through an obstacle as the robot follows the
+     * spline.
+     *
+     * @param obstacle Obstacle to check
+     * @param offsetX  Offset of the point from the center of the robot, as passed
+     *                 to getWheel
+     * @param offsetY  Offset of the point from the center of the robot, as passed
+     *                 to getWheel
+     * @return Whether the point comes within TOLERANCE of the obstacle
+     */
+    boolean intersects(BoundingBox obstacle, double offsetX, double offsetY) {
+        // The offset point is never further than this from the center
+        double radius = Math.hypot(offsetX, offsetY);
+        return intersects(0, obstacle, offsetX, offsetY, radius);
+    }
+
+    private boolean intersects(int node, BoundingBox obstacle, double offsetX, double offsetY, double radius) {
+        if (!obstacle.intersects(nodeMinX[node], nodeMinY[node], nodeMaxX[node], nodeMaxY[node],
+                radius + TOLERANCE)) {
+            return false;
+        }
+        int piece = nodePieces[node];
+        if (piece >= 0) {
+            return intersects(piece, pieceStarts[piece], pieceEnds[piece], obstacle, offsetX, offsetY, radius);
+        }
+        return intersects(nodeLeft[node], obstacle, offsetX, offsetY, radius)
+                || intersects(nodeRight[node], obstacle, offsetX, offsetY, radius);
+    }
+
+    private boolean intersects(int piece, double start, double end, BoundingBox obstacle, double offsetX,
+            double offsetY, double radius) {
+        double startX = getX(piece, start), endX = getX(piece, end);
+        double startY = getY(piece, start), endY = getY(piece, end);
+        double minX = Math.min(startX, endX), maxX = Math.max(startX, endX);
+        double minY = Math.min(startY, endY), maxY = Math.max(startY, endY);
+        if (!obstacle.intersects(minX, minY, maxX, maxY, radius + TOLERANCE)) {
+            return false;
+        }
+
+        double middle = 0.5 * (start + end);
+        double size = Math.max(maxX - minX, maxY - minY);
+        if (radius == 0.0) {
+            if (obstacle.contains(minX, minY) && obstacle.contains(maxX, maxY)) {
+                return true;
+            }
+            if (size < TOLERANCE) {
+                return true;
+            }
+        } else {
+            // Same offset as QuinticSplineSegment.getWheel
+            QuinticSplineSegment segment = pieceSegments[piece];
+            double heading = Math.atan2(segment.getYDerivative(middle), segment.getXDerivative(middle));
+            double cos = Math.cos(heading), sin = Math.sin(heading);
+            double x = segment.getX(middle) + offsetY * cos + offsetX * sin;
+            double y = segment.getY(middle) + offsetY * sin - offsetX * cos;
+            if (obstacle.contains(x, y)) {
+                return true;
+            }
+            if (size < TOLERANCE) {
+                // The offset point moves about as far as the center over a piece
+                // this small, unless the robot turns sharply in place
+                return obstacle.intersects(x, y, x, y, size + TOLERANCE);
+            }
+        }
+
+        return intersects(piece, start, middle, obstacle, offsetX, offsetY, radius)
+                || intersects(piece, middle, end, obstacle, offsetX, offsetY, radius);
+    }
+
+    /**
+     * Checks whether the spline crosses or touches itself anywhere other than
+     * where consecutive pieces join.
+     *
+     * @return Whether the spline intersects itself
+     */
+    boolean intersectsItself() {
+        return intersectsItself(0, 0);
+    }
+
+    private boolean intersectsItself(int first, int second) {
+        if (!boxesOverlap(first, second)) {
+            return false;
+        }
+
+        int firstPiece = nodePieces[first], secondPiece = nodePieces[second];
+        if (firstPiece >= 0 && secondPiece >= 0) {
+            if (firstPiece == secondPiece) {
+                // A piece which only moves one way along each axis can't cross itself
+                return false;
+            }
+            // Keep the pieces in order along the spline
+            int earlier = Math.min(firstPiece, secondPiece), later = Math.max(firstPiece, secondPiece);
+            return piecesIntersect(earlier, pieceStarts[earlier], pieceEnds[earlier], later, pieceStarts[later],
+                    pieceEnds[later], later == earlier + 1);
+        }
+
+        if (first == second) {
+            int left = nodeLeft[first], right = nodeRight[first];
+            return intersectsItself(left, left) || intersectsItself(right, right) || intersectsItself(left, right);
+        }
+        if (secondPiece >= 0 || (firstPiece < 0 && area(first) >= area(second))) {
+            return intersectsItself(nodeLeft[first], second) || intersectsItself(nodeRight[first], second);
+        }
+        return intersectsItself(first, nodeLeft[second]) || intersectsItself(first, nodeRight[second]);
+    }
+
+    private boolean boxesOverlap(int first, int second) {
+        return nodeMinX[first] <= nodeMaxX[second] && nodeMaxX[first] >= nodeMinX[second]
+                && nodeMinY[first] <= nodeMaxY[second] && nodeMaxY[first] >= nodeMinY[second];
+    }
+
+    private double area(int node) {
+        return (nodeMaxX[node] - nodeMinX[node]) * (nodeMaxY[node] - nodeMinY[node]);
+    }
+
+    /**
+     * Checks whether part of one piece intersects a later part of another piece.
+     *
+     * @param joined Whether the end of the first part is the start of the second
+     */
+    private boolean piecesIntersect(int first, double firstStart, double firstEnd, int second, double secondStart,
+            double secondEnd, boolean joined) {
+        // Joined parts which together only move one way along an axis can only meet
+        // where they join
+        if (joined && ((xSigns[first] != 0 && xSigns[first] == xSigns[second])
+                || (ySigns[first] != 0 && ySigns[first] == ySigns[second]))) {
+            return false;
+        }
+
+        double firstStartX = getX(first, firstStart), firstEndX = getX(first, firstEnd);
+        double firstStartY = getY(first, firstStart), firstEndY = getY(first, firstEnd);
+        double secondStartX = getX(second, secondStart), secondEndX = getX(second, secondEnd);
+        double secondStartY = getY(second, secondStart), secondEndY = getY(second, secondEnd);
+
+        if (Math.min(firstStartX, firstEndX) > Math.max(secondStartX, secondEndX)
+                || Math.max(firstStartX, firstEndX) < Math.min(secondStartX, secondEndX)
+                || Math.min(firstStartY, firstEndY) > Math.max(secondStartY, secondEndY)
+                || Math.max(firstStartY, firstEndY) < Math.min(secondStartY, secondEndY)) {
+            return false;
+        }
+
+        double firstSize = Math.max(Math.abs(firstEndX - firstStartX), Math.abs(firstEndY - firstStartY));
+        double secondSize = Math.max(Math.abs(secondEndX - secondStartX), Math.abs(secondEndY - secondStartY));
+        if (firstSize < TOLERANCE && secondSize < TOLERANCE) {
+            // Parts this small next to each other are just the join
+            return !joined;
+        }
+
+        if (firstSize >= secondSize) {
+            double middle = 0.5 * (firstStart + firstEnd);
+            return piecesIntersect(first, firstStart, middle, second, secondStart, secondEnd, false)
+                    || piecesIntersect(first, middle, firstEnd, second, secondStart, secondEnd, joined);
+        }
+        double middle = 0.5 * (secondStart + secondEnd);
+        return piecesIntersect(first, firstStart, firstEnd, second, secondStart, middle, joined)
+                || piecesIntersect(first, firstStart, firstEnd, second, middle, secondEnd, false);
+    }
+}
@@ -0,0 +1,166 @@
+package frc.robot.statespace;
+
+import frc.robot.utils.Bounds;
+
+/**
+ * A linear quadratic regulator for a linear system dx/dt = Ax + Bu. The gain
+ * matrix K is found once, when the controller is constructed, by solving the
+ * discrete algebraic Riccati equation. Each update is then just u = K(r - x),
+ * a fixed size matrix-vector multiply which allocates nothing.
+ *
+ * Q and R weigh how much state error and control effort cost. brysonsRule is a
+ * good starting point for choosing them.
+ */
+public class LQR {
+    private static final int MAX_ITERATIONS = 10000;
+    private static final double TOLERANCE = 1e-10;
+
+    private final double[][] K;
+    private final Bounds outputBounds;
+
+    // Reused to avoid allocating in calculate
+    private final double[] error;
+
+    /**
+     * Constructs an LQR for a continuous time system, which is discretized
+     * assuming the input is held constant over each period.
+     *
+     * @param A            Continuous system matrix, states by states
+     * @param B            Continuous input matrix, states by inputs
+     * @param Q            State cost matrix, states by states
+     * @param R            Input cost matrix, inputs by inputs
+     * @param period       Time between updates in seconds
+     * @param outputBounds Bounds every input is clamped within
+     */
+    public LQR(double[][] A, double[][] B, double[][] Q, double[][] R, double period, Bounds outputBounds) {
+        double[][][] discrete = discretize(A, B, period);
+        this.K = calculateGain(discrete[0], discrete[1], Q, R);
+        this.outputBounds = outputBounds;
+        this.error = new double[A.length];
+    }
+
+    /**
+     * Calculates the output to drive the system towards a reference state.
+     *
+     * @param state     Current state
+     * @param reference Desired state
+     * @param output    Array to store the clamped inputs to apply in
+     */
+    public void calculate(double[] state, double[] reference, double[] output) {
+        for (int i = 0; i < error.length; i++) {
+            error[i] = reference[i] - state[i];
+        }
+        Matrices.multiply(K, error, output);
+        for (int i = 0; i < output.length; i++) {
+            output[i] = outputBounds.clamp(output[i]);
+        }
+    }
+
+    /**
+     * Gets the gain matrix.
+     *
+     * @return K, inputs by states
+     */
+    public double[][] getK() {
+        return Matrices.copy(K);
+    }
+
+    /**
+     * Creates a diagonal cost matrix from the largest acceptable value of each
+     * state or input, so that reaching that value costs one.
+     *
+     * @param maxValues Largest acceptable value of each state or input
+     * @return Cost matrix
+     */
+    public static double[][] brysonsRule(double... maxValues) {
+        double[] costs = new double[maxValues.length];
+        for (int i = 0; i < maxValues.length; i++) {
+            costs[i] = 1.0 / (maxValues[i] * maxValues[i]);
+        }
+        return Matrices.diagonal(costs);
+    }
+
+    /**
+     * Discretizes a continuous time system with a zero order hold, by taking the
+     * exponential of [[A, B], [0, 0]] * period.
+     *
+     * @param A      Continuous system matrix
+     * @param B      Continuous input matrix
+     * @param period Time step in seconds
+     * @return The discrete system and input matrices, in that order
+     */
+    public static double[][][] discretize(double[][] A, double[][] B, double period) {
+        int states = A.length;
+        int inputs = B[0].length;
+
+        double[][] combined = new double[states + inputs][states + inputs];
+        for (int i = 0; i < states; i++) {
+            for (int j = 0; j < states; j++) {
+                combined[i][j] = A[i][j] * period;
+            }
+            for (int j = 0; j < inputs; j++) {
+                combined[i][states + j] = B[i][j] * period;
+            }
+        }
+
+        double[][] exponential = Matrices.exp(combined);
+
+        double[][] discreteA = new double[states][states];
+        double[][] discreteB = new double[states][inputs];
+        for (int i = 0; i < states; i++) {
+            System.arraycopy(exponential[i], 0, discreteA[i], 0, states);
+            System.arraycopy(exponential[i], states, discreteB[i], 0, inputs);
+        }
+        return new double[][][] { discreteA, discreteB };
+    }
+
+    /**
+     * Calculates the optimal gain for a discrete time system by iterating the
+     * discrete Riccati equation until it converges.
+     *
+     * @param A Discrete system matrix
+     * @param B Discrete input matrix
+     * @param Q State cost matrix
+     * @param R Input cost matrix
+     * @return K, such that u = -Kx minimizes the cost
+     */
+    public static double[][] calculateGain(double[][] A, double[][] B, double[][] Q, double[][] R) {
+        double[][] At = Matrices.transpose(A);
+        double[][] Bt = Matrices.transpose(B);
+
+        double[][] P = Matrices.copy(Q);
+        for (int i = 0; i < MAX_ITERATIONS; i++) {
+            double[][] K = gain(A, B, Bt, R, P);
+            // P = Q + A'P(A - BK)
+            double[][] next = Matrices.add(Q,
+                    Matrices.multiply(Matrices.multiply(At, P), Matrices.subtract(A, Matrices.multiply(B, K))));
+            // Keep P symmetric despite rounding
+            next = Matrices.scale(Matrices.add(next, Matrices.transpose(next)), 0.5);
+
+            double change = Matrices.maxDifference(next, P);
+            P = next;
+            if (change < TOLERANCE * Math.max(1.0, maxAbs(P))) {
+                return gain(A, B, Bt, R, P);
+            }
+        }
+
+        throw new IllegalArgumentException("Riccati equation did not converge, the system may not be stabilizable");
+    }
+
+    // K = (R + B'PB)^-1 B'PA
+    private static double[][] gain(double[][] A, double[][] B, double[][] Bt, double[][] R, double[][] P) {
+        double[][] BtP = Matrices.multiply(Bt, P);
+        double[][] inverse = Matrices.inverse(Matrices.add(R, Matrices.multiply(BtP, B)));
+        return Matrices.multiply(inverse, Matrices.multiply(BtP, A));
+    }
+
+    private static double maxAbs(double[][] a) {
+        double max = 0.0;
+        for (double[] row : a) {
+            for (double value : row) {
+                max = Math.max(max, Math.abs(value));
+            }
+        }
+        return max;
+    }
+}
@@ -0,0 +1,244 @@
+package frc.robot.statespace;
+
+/**
+ * A small set of dense matrix operations on primitive arrays, indexed as
+ * matrix[row][column]. These are intended for computing controller gains once
+ * at startup, so most of them allocate a new matrix for their result. Only
+ * multiply with an output vector avoids allocating, for use in control loops.
+ */
+public class Matrices {
+    private Matrices() {
+    }
+
+    /**
+     * Creates an identity matrix.
+     *
+     * @param size Number of rows and columns
+     * @return The identity matrix
+     */
+    public static double[][] identity(int size) {
+        double[][] result = new double[size][size];
+        for (int i = 0; i < size; i++) {
+            result[i][i] = 1.0;
+        }
+        return result;
+    }
+
+    /**
+     * Creates a square matrix with the specified values along the diagonal.
+     *
+     * @param values Diagonal values
+     * @return The diagonal matrix
+     */
+    public static double[][] diagonal(double... values) {
+        double[][] result = new double[values.length][values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i][i] = values[i];
+        }
+        return result;
+    }
+
+    public static double[][] copy(double[][] a) {
+        double[][] result = new double[a.length][];
+        for (int i = 0; i < a.length; i++) {
+            result[i] = a[i].clone();
+        }
+        return result;
+    }
+
+    public static double[][] transpose(double[][] a) {
+        double[][] result = new double[a[0].length][a.length];
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < a[0].length; j++) {
+                result[j][i] = a[i][j];
+            }
+        }
+        return result;
+    }
+
+    public static double[][] add(double[][] a, double[][] b) {
+        checkSameSize(a, b);
+        double[][] result = new double[a.length][a[0].length];
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < a[0].length; j++) {
+                result[i][j] = a[i][j] + b[i][j];
+            }
+        }
+        return result;
+    }
+
+    public static double[][] subtract(double[][] a, double[][] b) {
+        checkSameSize(a, b);
+        double[][] result = new double[a.length][a[0].length];
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < a[0].length; j++) {
+                result[i][j] = a[i][j] - b[i][j];
+            }
+        }
+        return result;
+    }
+
+    public static double[][] scale(double[][] a, double scalar) {
+        double[][] result = new double[a.length][a[0].length];
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < a[0].length; j++) {
+                result[i][j] = scalar * a[i][j];
+            }
+        }
+        return result;
+    }
+
+    public static double[][] multiply(double[][] a, double[][] b) {
+        if (a[0].length != b.length) {
+            throw new IllegalArgumentException("Matrix dimensions do not agree");
+        }
+        double[][] result = new double[a.length][b[0].length];
+        for (int i = 0; i < a.length; i++) {
+            for (int k = 0; k < b.length; k++) {
+                double value = a[i][k];
+                for (int j = 0; j < b[0].length; j++) {
+                    result[i][j] += value * b[k][j];
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Multiplies a matrix by a vector without allocating.
+     *
+     * @param a      Matrix
+     * @param x      Vector with one entry per column of a
+     * @param result Vector with one entry per row of a to store the product in,
+     *               which must not be x
+     */
+    public static void multiply(double[][] a, double[] x, double[] result) {
+        for (int i = 0; i < a.length; i++) {
+            double[] row = a[i];
+            double sum = 0.0;
+            for (int j = 0; j < row.length; j++) {
+                sum += row[j] * x[j];
+            }
+            result[i] = sum;
+        }
+    }
+
+    /**
+     * Inverts a square matrix using Gauss-Jordan elimination with partial
+     * pivoting.
+     *
+     * @param a Matrix to invert
+     * @return The inverse
+     */
+    public static double[][] inverse(double[][] a) {
+        int size = a.length;
+        if (a[0].length != size) {
+            throw new IllegalArgumentException("Only square matrices can be inverted");
+        }
+
+        double[][] work = copy(a);
+        double[][] result = identity(size);
+
+        for (int column = 0; column < size; column++) {
+            int pivot = column;
+            for (int row = column + 1; row < size; row++) {
+                if (Math.abs(work[row][column]) > Math.abs(work[pivot][column])) {
+                    pivot = row;
+                }
+            }
+            if (work[pivot][column] == 0.0) {
+                throw new IllegalArgumentException("Matrix is singular");
+            }
+            swapRows(work, column, pivot);
+            swapRows(result, column, pivot);
+
+            double scale = 1.0 / work[column][column];
+            for (int j = 0; j < size; j++) {
+                work[column][j] *= scale;
+                result[column][j] *= scale;
+            }
+
+            for (int row = 0; row < size; row++) {
+                double factor = work[row][column];
+                if (row == column || factor == 0.0) {
+                    continue;
+                }
+                for (int j = 0; j < size; j++) {
+                    work[row][j] -= factor * work[column][j];
+                    result[row][j] -= factor * result[column][j];
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Calculates the matrix exponential using scaling and squaring of a Taylor
+     * series.
+     *
+     * @param a Square matrix
+     * @return e to the power of a
+     */
+    public static double[][] exp(double[][] a) {
+        // Scale a down until its norm is small enough for the series to converge
+        // quickly, then square the result back up
+        double norm = maxAbsRowSum(a);
+        int squarings = 0;
+        while (norm > 0.5) {
+            norm /= 2.0;
+            squarings++;
+        }
+        double[][] scaled = scale(a, Math.pow(2.0, -squarings));
+
+        double[][] result = identity(a.length);
+        double[][] term = identity(a.length);
+        for (int k = 1; k <= 20; k++) {
+            term = scale(multiply(term, scaled), 1.0 / k);
+            result = add(result, term);
+        }
+
+        for (int i = 0; i < squarings; i++) {
+            result = multiply(result, result);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the largest absolute difference between corresponding elements.
+     */
+    public static double maxDifference(double[][] a, double[][] b) {
+        checkSameSize(a, b);
+        double max = 0.0;
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < a[0].length; j++) {
+                max = Math.max(max, Math.abs(a[i][j] - b[i][j]));
+            }
+        }
+        return max;
+    }
+
+    private static double maxAbsRowSum(double[][] a) {
+        double max = 0.0;
+        for (double[] row : a) {
+            double sum = 0.0;
+            for (double value : row) {
+                sum += Math.abs(value);
+            }
+            max = Math.max(max, sum);
+        }
+        return max;
+    }
+
+    private static void swapRows(double[][] a, int first, int second) {
+        double[] row = a[first];
+        a[first] = a[second];
+        a[second] = row;
+    }
+
+    private static void checkSameSize(double[][] a, double[][] b) {
+        if (a.length != b.length || a[0].length != b[0].length) {
+            throw new IllegalArgumentException("Matrix dimensions do not agree");
+        }
+    }
+}
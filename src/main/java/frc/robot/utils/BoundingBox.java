@@ -0,0 +1,73 @@
+package frc.robot.utils;
+
+/**
+ * An axis-aligned rectangle, such as an obstacle on the field or the region
+ * containing part of a path.
+ */
+public class BoundingBox {
+    private final double minX, minY, maxX, maxY;
+
+    public BoundingBox(double minX, double minY, double maxX, double maxY) {
+        if (minX > maxX || minY > maxY) {
+            throw new IllegalArgumentException("BoundingBox minimum must not be greater than maximum");
+        }
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = maxX;
+        this.maxY = maxY;
+    }
+
+    public double minX() {
+        return minX;
+    }
+
+    public double minY() {
+        return minY;
+    }
+
+    public double maxX() {
+        return maxX;
+    }
+
+    public double maxY() {
+        return maxY;
+    }
+
+    public boolean contains(double x, double y) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY;
+    }
+
+    /**
+     * Checks whether this box overlaps another box, or would if it were larger.
+     * 
+     * @param minX   Minimum x of the other box
+     * @param minY   Minimum y of the other box
+     * @param maxX   Maximum x of the other box
+     * @param maxY   Maximum y of the other box
+     * @param margin Distance to grow this box by on every side
+     * @return Whether the boxes overlap, including touching edges
+     */
+    public boolean intersects(double minX, double minY, double maxX, double maxY, double margin) {
+        return minX <= this.maxX + margin && maxX >= this.minX - margin && minY <= this.maxY + margin
+                && maxY >= this.minY - margin;
+    }
+
+    public boolean intersects(BoundingBox other) {
+        return intersects(other.minX, other.minY, other.maxX, other.maxY, 0.0);
+    }
+
+    /**
+     * Creates a box larger than this one by a margin on every side.
+     * 
+     * @param margin Distance to grow by
+     * @return The larger box
+     */
+    public BoundingBox grow(double margin) {
+        return new BoundingBox(minX - margin, minY - margin, maxX + margin, maxY + margin);
+    }
+
+    @Override
+    public String toString() {
+        return "BoundingBox(" + minX + ", " + minY + ", " + maxX + ", " + maxY + ")";
+    }
+}
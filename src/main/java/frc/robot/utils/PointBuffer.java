@@ -0,0 +1,67 @@
+package frc.robot.utils;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of points stored as primitive coordinates, so adding points
+ * doesn't allocate a Point for each one. Clearing keeps the storage, so a
+ * buffer can be reused without allocating once it is large enough.
+ */
+public class PointBuffer {
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private double[] xs;
+    private double[] ys;
+    private int size = 0;
+
+    public PointBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a PointBuffer.
+     * 
+     * @param capacity Number of points to make room for initially
+     */
+    public PointBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("PointBuffer capacity must be at least one");
+        }
+        xs = new double[capacity];
+        ys = new double[capacity];
+    }
+
+    public void add(double x, double y) {
+        if (size == xs.length) {
+            xs = Arrays.copyOf(xs, 2 * size);
+            ys = Arrays.copyOf(ys, 2 * size);
+        }
+        xs[size] = x;
+        ys[size] = y;
+        size++;
+    }
+
+    public double getX(int index) {
+        checkIndex(index);
+        return xs[index];
+    }
+
+    public double getY(int index) {
+        checkIndex(index);
+        return ys[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+    }
+}
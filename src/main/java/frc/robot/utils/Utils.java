@@ -23,6 +23,29 @@ public class Utils {
         return _binarySearch(data, target, lowIndex, highIndex);
     }
 
+    public static int binarySearch(double[] data, double target) {
+        return binarySearch(data, data.length, target);
+    }
+
+    /**
+     * Finds the index of the interval containing target within the first length
+     * entries of data, which must be sorted in ascending order.
+     */
+    public static int binarySearch(double[] data, int length, double target) {
+        int lowIndex = 0;
+        int highIndex = length - 1;
+
+        while (highIndex - lowIndex > 1) {
+            int mid = (lowIndex + highIndex) / 2;
+            if (data[mid] < target) {
+                lowIndex = mid;
+            } else {
+                highIndex = mid;
+            }
+        }
+        return lowIndex;
+    }
+
     private static int _binarySearch(ArrayList<Double> data, double target, int lowIndex, int highIndex) {
         if (highIndex - lowIndex == 1) {
             return lowIndex;
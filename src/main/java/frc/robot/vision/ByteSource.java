@@ -0,0 +1,25 @@
+package frc.robot.vision;
+
+/**
+ * A stream of bytes, such as a serial port. Reads never block, but await can be
+ * used to wait for bytes to arrive.
+ */
+public interface ByteSource {
+    /**
+     * Reads bytes which have already been received, without waiting for more.
+     * 
+     * @param buffer Array to store the bytes in
+     * @param offset Index in buffer to store the first byte at
+     * @param length Maximum number of bytes to read
+     * @return Number of bytes read, which is 0 if none were available
+     */
+    public int read(byte[] buffer, int offset, int length);
+
+    /**
+     * Waits until bytes are available to read.
+     * 
+     * @param timeout Maximum time to wait in seconds
+     * @return Whether bytes are available
+     */
+    public boolean await(double timeout);
+}
@@ -0,0 +1,33 @@
+package frc.robot.vision;
+
+import frc.robot.Vision.Color;
+
+/**
+ * Decodes ball colors from the bytes sent by the vision coprocessor. Decoders
+ * keep any partially received message between calls, so messages may be split
+ * across reads.
+ */
+public interface ColorDecoder {
+    /**
+     * Reads and decodes everything the source has available.
+     * 
+     * @param source Source to read from
+     * @return The last color decoded, or null if no complete message was read
+     */
+    public Color read(ByteSource source);
+
+    /**
+     * Decodes bytes, continuing any message left incomplete by previous bytes.
+     * 
+     * @param bytes  Array containing the bytes
+     * @param offset Index of the first byte to decode
+     * @param length Number of bytes to decode
+     * @return The last color decoded, or null if no message was completed
+     */
+    public Color parse(byte[] bytes, int offset, int length);
+
+    /**
+     * Forgets any partially received message, such as after reconnecting.
+     */
+    public void reset();
+}
@@ -0,0 +1,103 @@
+package frc.robot.vision;
+
+import frc.robot.Vision.Color;
+
+/**
+ * Decodes the text protocol, by finding RED, BLUE and NONE tokens in a stream
+ * of bytes. Each token has its own matcher which remembers how much of the
+ * token it has seen, so tokens split across reads are still found without
+ * keeping any unparsed input around. Bytes are read into a fixed buffer, so
+ * parsing uses constant memory and never allocates.
+ */
+public class ColorParser implements ColorDecoder {
+    private static final Color[] COLORS = { Color.RED, Color.BLUE, Color.NONE };
+    private static final byte[][] TOKENS = { ascii("RED"), ascii("BLUE"), ascii("NONE") };
+    // For each token and number of matched bytes, the length of the longest
+    // proper prefix of the token which is also a suffix of the matched bytes,
+    // so a failed match can continue from a partial match, as in Knuth-Morris-Pratt
+    private static final int[][] FALLBACKS = new int[TOKENS.length][];
+
+    static {
+        for (int t = 0; t < TOKENS.length; t++) {
+            byte[] token = TOKENS[t];
+            int[] fallback = new int[token.length + 1];
+            int length = 0;
+            for (int i = 1; i < token.length; i++) {
+                while (length > 0 && token[i] != token[length]) {
+                    length = fallback[length];
+                }
+                if (token[i] == token[length]) {
+                    length++;
+                }
+                fallback[i + 1] = length;
+            }
+            FALLBACKS[t] = fallback;
+        }
+    }
+
+    private final byte[] buffer;
+    // Number of bytes of each token matched so far
+    private final int[] matched = new int[TOKENS.length];
+
+    /**
+     * Constructs a ColorParser.
+     * 
+     * @param bufferSize Maximum number of bytes to read from the source at once
+     */
+    public ColorParser(int bufferSize) {
+        buffer = new byte[bufferSize];
+    }
+
+    private static byte[] ascii(String token) {
+        byte[] bytes = new byte[token.length()];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) token.charAt(i);
+        }
+        return bytes;
+    }
+
+    @Override
+    public Color read(ByteSource source) {
+        Color color = null;
+        int count;
+        do {
+            count = source.read(buffer, 0, buffer.length);
+            Color parsed = parse(buffer, 0, count);
+            if (parsed != null) {
+                color = parsed;
+            }
+        } while (count == buffer.length);
+        return color;
+    }
+
+    @Override
+    public Color parse(byte[] bytes, int offset, int length) {
+        Color color = null;
+        for (int i = offset; i < offset + length; i++) {
+            byte b = bytes[i];
+            for (int t = 0; t < TOKENS.length; t++) {
+                byte[] token = TOKENS[t];
+                int count = matched[t];
+                while (count > 0 && token[count] != b) {
+                    count = FALLBACKS[t][count];
+                }
+                if (token[count] == b) {
+                    count++;
+                }
+                if (count == token.length) {
+                    color = COLORS[t];
+                    count = 0;
+                }
+                matched[t] = count;
+            }
+        }
+        return color;
+    }
+
+    @Override
+    public void reset() {
+        for (int t = 0; t < TOKENS.length; t++) {
+            matched[t] = 0;
+        }
+    }
+}
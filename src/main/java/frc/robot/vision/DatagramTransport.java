@@ -0,0 +1,96 @@
+package frc.robot.vision;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+
+/**
+ * Receives UDP datagrams sent by a coprocessor. There is no connection to lose,
+ * so this only reconnects if the socket fails. Each datagram is received into
+ * the same buffer, and read out of it in order.
+ */
+public class DatagramTransport implements VisionTransport {
+    private static final int MAX_DATAGRAM_SIZE = 512;
+
+    private final int port;
+    private final DatagramPacket packet;
+
+    private DatagramSocket socket;
+    // Part of the last datagram which hasn't been read yet
+    private int position = 0;
+    private int length = 0;
+
+    /**
+     * Constructs a DatagramTransport, which starts listening when connected.
+     * 
+     * @param port UDP port to listen on
+     */
+    public DatagramTransport(int port) {
+        this.port = port;
+        this.packet = new DatagramPacket(new byte[MAX_DATAGRAM_SIZE], MAX_DATAGRAM_SIZE);
+    }
+
+    @Override
+    public boolean connect() {
+        if (socket == null) {
+            try {
+                socket = new DatagramSocket(port);
+                position = 0;
+                length = 0;
+            } catch (SocketException e) {
+                socket = null;
+            }
+        }
+        return socket != null;
+    }
+
+    @Override
+    public boolean isConnected() {
+        return socket != null;
+    }
+
+    @Override
+    public void close() {
+        if (socket != null) {
+            socket.close();
+            socket = null;
+        }
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) {
+        int count = Math.min(length, this.length - position);
+        if (count <= 0) {
+            return 0;
+        }
+        System.arraycopy(packet.getData(), position, buffer, offset, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public boolean await(double timeout) {
+        if (position < length) {
+            return true;
+        }
+        if (socket == null) {
+            return false;
+        }
+
+        try {
+            socket.setSoTimeout(Math.max(1, (int) (timeout * 1000)));
+            packet.setLength(MAX_DATAGRAM_SIZE);
+            socket.receive(packet);
+            position = 0;
+            length = packet.getLength();
+            return length > 0;
+        } catch (SocketTimeoutException e) {
+            return false;
+        } catch (IOException e) {
+            close();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package frc.robot.vision;
+
+import frc.robot.Vision.Color;
+
+/**
+ * Decodes the binary protocol, which is more compact than the text protocol
+ * and detects corrupted messages. Each frame is laid out as:
+ * 
+ * <pre>
+ * SYNC (0xA5) | LENGTH | PAYLOAD (LENGTH bytes) | CHECKSUM (2 bytes)
+ * </pre>
+ * 
+ * The payload starts with a message type. A color message is TYPE_COLOR
+ * followed by the color's ordinal. The checksum is a Fletcher-16 checksum of
+ * the length and payload. Frames with a bad checksum or length are dropped, and
+ * decoding resumes at the byte after the dropped frame's sync byte, so a
+ * corrupted or spurious sync byte can't swallow the frames behind it. Unknown
+ * message types are skipped, so new messages can be added without breaking
+ * older decoders.
+ */
+public class FrameDecoder implements ColorDecoder {
+    public static final byte SYNC = (byte) 0xA5;
+    public static final byte TYPE_COLOR = 0x01;
+    public static final int MAX_PAYLOAD = 32;
+
+    private static final Color[] COLORS = Color.values();
+
+    private enum State {
+        SYNC, LENGTH, PAYLOAD, CHECKSUM_HIGH, CHECKSUM_LOW,
+    }
+
+    private final byte[] buffer;
+    private final byte[] payload = new byte[MAX_PAYLOAD];
+    // Bytes from the sync byte of the frame being decoded onwards, kept so that
+    // they can be scanned again if the frame is dropped
+    private final byte[] window = new byte[MAX_PAYLOAD + 4];
+    private int windowLength = 0;
+    // Number of bytes in the window which have been decoded
+    private int scanned = 0;
+
+    private State state = State.SYNC;
+    private int length;
+    private int received;
+    private int checksumHigh;
+
+    private long frames = 0;
+    private long errors = 0;
+
+    /**
+     * Constructs a FrameDecoder.
+     * 
+     * @param bufferSize Maximum number of bytes to read from the source at once
+     */
+    public FrameDecoder(int bufferSize) {
+        buffer = new byte[bufferSize];
+    }
+
+    /**
+     * Encodes a color message as a frame.
+     * 
+     * @param color  Color to encode
+     * @param frame  Array to store the frame in
+     * @param offset Index to store the frame at
+     * @return Length of the frame
+     */
+    public static int encodeColor(Color color, byte[] frame, int offset) {
+        frame[offset] = SYNC;
+        frame[offset + 1] = 2;
+        frame[offset + 2] = TYPE_COLOR;
+        frame[offset + 3] = (byte) color.ordinal();
+        int checksum = fletcher16(frame, offset + 1, 3);
+        frame[offset + 4] = (byte) (checksum >> 8);
+        frame[offset + 5] = (byte) checksum;
+        return 6;
+    }
+
+    /**
+     * Calculates a Fletcher-16 checksum.
+     * 
+     * @param bytes  Array containing the bytes
+     * @param offset Index of the first byte
+     * @param length Number of bytes
+     * @return Checksum, with the second sum in the high byte
+     */
+    public static int fletcher16(byte[] bytes, int offset, int length) {
+        int first = 0;
+        int second = 0;
+        for (int i = offset; i < offset + length; i++) {
+            first = (first + (bytes[i] & 0xFF)) % 255;
+            second = (second + first) % 255;
+        }
+        return (second << 8) | first;
+    }
+
+    @Override
+    public Color read(ByteSource source) {
+        Color color = null;
+        int count;
+        do {
+            count = source.read(buffer, 0, buffer.length);
+            Color parsed = parse(buffer, 0, count);
+            if (parsed != null) {
+                color = parsed;
+            }
+        } while (count == buffer.length);
+        return color;
+    }
+
+    @Override
+    public Color parse(byte[] bytes, int offset, int length) {
+        Color color = null;
+        for (int i = offset; i < offset + length; i++) {
+            Color decoded = decode(bytes[i]);
+            if (decoded != null) {
+                color = decoded;
+            }
+        }
+        return color;
+    }
+
+    private Color decode(byte b) {
+        window[windowLength++] = b;
+
+        // Dropping a frame rewinds to scan the bytes after its sync byte again
+        Color color = null;
+        while (scanned < windowLength) {
+            Color decoded = step(window[scanned++]);
+            if (decoded != null) {
+                color = decoded;
+            }
+        }
+        return color;
+    }
+
+    private Color step(byte b) {
+        switch (state) {
+        case SYNC:
+            if (b == SYNC) {
+                // Keep the frame from its sync byte onwards
+                discard(scanned - 1);
+                state = State.LENGTH;
+            } else {
+                discard(scanned);
+            }
+            return null;
+        case LENGTH:
+            length = b & 0xFF;
+            if (length == 0 || length > MAX_PAYLOAD) {
+                errors++;
+                drop();
+            } else {
+                received = 0;
+                state = State.PAYLOAD;
+            }
+            return null;
+        case PAYLOAD:
+            payload[received++] = b;
+            if (received == length) {
+                state = State.CHECKSUM_HIGH;
+            }
+            return null;
+        case CHECKSUM_HIGH:
+            checksumHigh = b & 0xFF;
+            state = State.CHECKSUM_LOW;
+            return null;
+        case CHECKSUM_LOW:
+            int checksum = (checksumHigh << 8) | (b & 0xFF);
+            if (checksum != payloadChecksum()) {
+                errors++;
+                drop();
+                return null;
+            }
+            discard(scanned);
+            state = State.SYNC;
+            frames++;
+            return decodePayload();
+        default:
+            reset();
+            return null;
+        }
+    }
+
+    // Drops the frame being decoded, and scans again from the byte after its sync
+    // byte
+    private void drop() {
+        discard(1);
+        scanned = 0;
+        state = State.SYNC;
+    }
+
+    // Removes bytes from the start of the window
+    private void discard(int count) {
+        System.arraycopy(window, count, window, 0, windowLength - count);
+        windowLength -= count;
+        scanned -= count;
+    }
+
+    // Checksum of the length byte followed by the payload
+    private int payloadChecksum() {
+        int first = length % 255;
+        int second = first;
+        for (int i = 0; i < length; i++) {
+            first = (first + (payload[i] & 0xFF)) % 255;
+            second = (second + first) % 255;
+        }
+        return (second << 8) | first;
+    }
+
+    private Color decodePayload() {
+        if (payload[0] == TYPE_COLOR && length >= 2) {
+            int ordinal = payload[1] & 0xFF;
+            if (ordinal < COLORS.length) {
+                return COLORS[ordinal];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the number of frames received with a valid checksum.
+     * 
+     * @return Number of valid frames
+     */
+    public long getFrameCount() {
+        return frames;
+    }
+
+    /**
+     * Gets the number of frames dropped for a bad length or checksum.
+     * 
+     * @return Number of bad frames
+     */
+    public long getErrorCount() {
+        return errors;
+    }
+
+    @Override
+    public void reset() {
+        state = State.SYNC;
+        windowLength = 0;
+        scanned = 0;
+    }
+}
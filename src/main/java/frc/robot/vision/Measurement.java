@@ -0,0 +1,52 @@
+package frc.robot.vision;
+
+/**
+ * A value measured at a specific time. A MeasurementQueue copies measurements
+ * out into Measurement objects owned by the reader, so a reader can reuse one
+ * object for every query without allocating.
+ */
+public class Measurement<T> {
+    private T value;
+    private double timestamp;
+    private long sequence;
+
+    /**
+     * Constructs an empty Measurement, for a MeasurementQueue to copy into.
+     */
+    public Measurement() {
+        this(null, 0.0, -1);
+    }
+
+    public Measurement(T value, double timestamp, long sequence) {
+        set(value, timestamp, sequence);
+    }
+
+    void set(T value, double timestamp, long sequence) {
+        this.value = value;
+        this.timestamp = timestamp;
+        this.sequence = sequence;
+    }
+
+    public T getValue() {
+        return value;
+    }
+
+    /**
+     * Gets the time the measurement was taken.
+     * 
+     * @return Timestamp in seconds
+     */
+    public double getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Gets the measurement's sequence number, which starts at 0 and increases by
+     * one for each measurement, so that gaps show dropped measurements.
+     * 
+     * @return Sequence number
+     */
+    public long getSequence() {
+        return sequence;
+    }
+}
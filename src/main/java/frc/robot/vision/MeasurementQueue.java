@@ -0,0 +1,241 @@
+package frc.robot.vision;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Keeps the most recent timestamped measurements from a single producer, such
+ * as a sensor thread, in a fixed size ring buffer. Any number of threads can
+ * query the history without locking.
+ *
+ * Slots are preallocated and overwritten in place, so adding a measurement
+ * never allocates. Each slot records the sequence number of the measurement in
+ * it, which is cleared while the slot is being written. A reader checks the
+ * sequence number before and after copying a slot, and retries or treats the
+ * measurement as no longer available if it changed. Readers copy into their own
+ * Measurement, or can use the methods which return a new one.
+ */
+public class MeasurementQueue<T> {
+    private final AtomicReferenceArray<T> values;
+    // Raw bits of each timestamp
+    private final AtomicLongArray timestamps;
+    // Sequence number of the measurement in each slot, or -1 while writing it
+    private final AtomicLongArray sequences;
+    // Sequence number of the next measurement, written only by the producer
+    private volatile long nextSequence = 0;
+
+    /**
+     * Constructs a MeasurementQueue.
+     * 
+     * @param capacity Number of measurements to keep
+     */
+    public MeasurementQueue(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("MeasurementQueue capacity must be at least one");
+        }
+        values = new AtomicReferenceArray<>(capacity);
+        timestamps = new AtomicLongArray(capacity);
+        sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, -1);
+        }
+    }
+
+    /**
+     * Adds a measurement. Only one thread may add measurements, and timestamps
+     * must not decrease.
+     * 
+     * @param value     Measured value
+     * @param timestamp Time the value was measured, in seconds
+     * @return Sequence number of the new measurement
+     */
+    public long add(T value, double timestamp) {
+        long sequence = nextSequence;
+        int index = index(sequence);
+
+        sequences.set(index, -1);
+        values.set(index, value);
+        timestamps.set(index, Double.doubleToRawLongBits(timestamp));
+        sequences.set(index, sequence);
+
+        nextSequence = sequence + 1;
+        return sequence;
+    }
+
+    /**
+     * Copies the most recent measurement.
+     * 
+     * @param result Measurement to copy into
+     * @return Whether there are any measurements
+     */
+    public boolean getLatest(Measurement<T> result) {
+        while (true) {
+            long sequence = nextSequence - 1;
+            if (sequence < 0) {
+                return false;
+            }
+            // Only fails if the producer wrapped around while copying, in which case
+            // there is a newer measurement to copy instead
+            if (get(sequence, result)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gets the most recent measurement.
+     * 
+     * @return The latest measurement, or null if there are none
+     */
+    public Measurement<T> getLatest() {
+        Measurement<T> result = new Measurement<>();
+        return getLatest(result) ? result : null;
+    }
+
+    /**
+     * Copies the most recent measurement if it was taken after a specific time.
+     * 
+     * @param time   Time in seconds
+     * @param result Measurement to copy into
+     * @return Whether there is a measurement newer than time
+     */
+    public boolean getLatestSince(double time, Measurement<T> result) {
+        return getLatest(result) && result.getTimestamp() > time;
+    }
+
+    /**
+     * Gets the most recent measurement if it was taken after a specific time.
+     * 
+     * @param time Time in seconds
+     * @return The latest measurement, or null if there are none newer than time
+     */
+    public Measurement<T> getLatestSince(double time) {
+        Measurement<T> result = new Measurement<>();
+        return getLatestSince(time, result) ? result : null;
+    }
+
+    /**
+     * Copies the most recent measurement if it is newer than a previously seen
+     * measurement.
+     * 
+     * @param sequence Sequence number of the last measurement seen
+     * @param result   Measurement to copy into
+     * @return Whether there is a newer measurement
+     */
+    public boolean getLatestSince(long sequence, Measurement<T> result) {
+        return getLatest(result) && result.getSequence() > sequence;
+    }
+
+    /**
+     * Gets the most recent measurement if it is newer than a previously seen
+     * measurement.
+     * 
+     * @param sequence Sequence number of the last measurement seen
+     * @return The latest measurement, or null if there are none newer
+     */
+    public Measurement<T> getLatestSince(long sequence) {
+        Measurement<T> result = new Measurement<>();
+        return getLatestSince(sequence, result) ? result : null;
+    }
+
+    /**
+     * Copies the measurement that was current at a specific time, which is the
+     * last measurement taken at or before that time.
+     * 
+     * @param time   Time in seconds
+     * @param result Measurement to copy into
+     * @return Whether there is a stored measurement at or before time
+     */
+    public boolean getAt(double time, Measurement<T> result) {
+        while (true) {
+            long newest = nextSequence - 1;
+            long oldest = Math.max(0, newest - values.length() + 1);
+
+            // Binary search for the last measurement at or before time
+            long found = -1;
+            long low = oldest;
+            long high = newest;
+            while (low <= high) {
+                long mid = (low + high) >>> 1;
+                double timestamp = getTimestamp(mid);
+                if (Double.isNaN(timestamp)) {
+                    // Overwritten while searching, so only newer measurements remain
+                    low = mid + 1;
+                } else if (timestamp <= time) {
+                    found = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+
+            if (found < 0) {
+                return false;
+            }
+            // If the measurement was overwritten since it was found, search the
+            // newer measurements again
+            if (get(found, result)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gets the measurement that was current at a specific time, which is the last
+     * measurement taken at or before that time.
+     * 
+     * @param time Time in seconds
+     * @return The measurement, or null if every stored measurement is newer than
+     *         time
+     */
+    public Measurement<T> getAt(double time) {
+        Measurement<T> result = new Measurement<>();
+        return getAt(time, result) ? result : null;
+    }
+
+    /**
+     * Gets the number of measurements which have been added.
+     * 
+     * @return Total number of measurements
+     */
+    public long getCount() {
+        return nextSequence;
+    }
+
+    public int capacity() {
+        return values.length();
+    }
+
+    // Copies a measurement by sequence number, or returns false if it has been
+    // overwritten
+    private boolean get(long sequence, Measurement<T> result) {
+        int index = index(sequence);
+        if (sequences.get(index) != sequence) {
+            return false;
+        }
+        T value = values.get(index);
+        double timestamp = Double.longBitsToDouble(timestamps.get(index));
+        if (sequences.get(index) != sequence) {
+            return false;
+        }
+        result.set(value, timestamp, sequence);
+        return true;
+    }
+
+    // Gets the timestamp of a measurement, or NaN if it has been overwritten
+    private double getTimestamp(long sequence) {
+        int index = index(sequence);
+        if (sequences.get(index) != sequence) {
+            return Double.NaN;
+        }
+        double timestamp = Double.longBitsToDouble(timestamps.get(index));
+        if (sequences.get(index) != sequence) {
+            return Double.NaN;
+        }
+        return timestamp;
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence % values.length());
+    }
+}
@@ -0,0 +1,147 @@
+package frc.robot.vision;
+
+import frc.robot.control.Clock;
+import frc.robot.control.SystemClock;
+
+/**
+ * An in-process pipe, for feeding bytes to a reader from another thread, such
+ * as in tests and benchmarks. Written bytes are stored in a fixed size ring
+ * buffer until they are read, and await blocks until bytes are written rather
+ * than polling.
+ *
+ * The pipe can be disconnected to test how readers handle a lost connection.
+ * While disconnected, written bytes are dropped.
+ *
+ * Await timeouts are measured with a Clock. While waiting, the clock is checked
+ * again at least every few milliseconds, so a SimulatedClock advanced by
+ * another thread times out promptly.
+ */
+public class PipeTransport implements VisionTransport {
+    // Longest real time to wait before checking the clock again, in ms
+    private static final long MAX_WAIT_MILLIS = 5;
+
+    private final byte[] buffer;
+    private final Clock clock;
+    private int start = 0;
+    private int size = 0;
+
+    private boolean connected = false;
+    private boolean reachable = true;
+
+    /**
+     * Constructs a PipeTransport which times awaits in real time.
+     * 
+     * @param capacity Maximum number of unread bytes
+     */
+    public PipeTransport(int capacity) {
+        this(capacity, new SystemClock());
+    }
+
+    /**
+     * Constructs a PipeTransport.
+     * 
+     * @param capacity Maximum number of unread bytes
+     * @param clock    Clock to time awaits with
+     */
+    public PipeTransport(int capacity, Clock clock) {
+        buffer = new byte[capacity];
+        this.clock = clock;
+    }
+
+    /**
+     * Sets whether connecting succeeds, to simulate the other end going away.
+     * Making the pipe unreachable also disconnects it.
+     * 
+     * @param reachable Whether the other end is reachable
+     */
+    public synchronized void setReachable(boolean reachable) {
+        this.reachable = reachable;
+        if (!reachable) {
+            close();
+        }
+    }
+
+    @Override
+    public synchronized boolean connect() {
+        connected = reachable;
+        return connected;
+    }
+
+    @Override
+    public synchronized boolean isConnected() {
+        return connected;
+    }
+
+    @Override
+    public synchronized void close() {
+        connected = false;
+        start = 0;
+        size = 0;
+        notifyAll();
+    }
+
+    /**
+     * Writes bytes into the pipe, blocking while the pipe is full. Bytes are
+     * dropped if the pipe isn't connected.
+     * 
+     * @param bytes  Array containing the bytes
+     * @param offset Index of the first byte to write
+     * @param length Number of bytes to write
+     * @throws InterruptedException If interrupted while waiting for space
+     */
+    public synchronized void write(byte[] bytes, int offset, int length) throws InterruptedException {
+        for (int i = 0; i < length; i++) {
+            while (connected && size == buffer.length) {
+                wait();
+            }
+            if (!connected) {
+                return;
+            }
+            buffer[(start + size) % buffer.length] = bytes[offset + i];
+            size++;
+            notifyAll();
+        }
+    }
+
+    /**
+     * Gets the number of bytes waiting to be read.
+     * 
+     * @return Number of unread bytes
+     */
+    public synchronized int available() {
+        return size;
+    }
+
+    @Override
+    public synchronized int read(byte[] bytes, int offset, int length) {
+        int count = Math.min(length, size);
+        for (int i = 0; i < count; i++) {
+            bytes[offset + i] = buffer[start];
+            start = (start + 1) % buffer.length;
+        }
+        size -= count;
+        if (count > 0) {
+            notifyAll();
+        }
+        return count;
+    }
+
+    @Override
+    public synchronized boolean await(double timeout) {
+        double endTime = clock.getTime() + timeout;
+        while (size == 0 && connected) {
+            double remaining = endTime - clock.getTime();
+            if (remaining <= 0.0) {
+                return false;
+            }
+            try {
+                // Woken early by writes and by closing
+                wait(Math.max(1, Math.min((long) Math.ceil(remaining * 1e3), MAX_WAIT_MILLIS)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return size > 0;
+    }
+}
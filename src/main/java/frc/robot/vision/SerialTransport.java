@@ -0,0 +1,116 @@
+package frc.robot.vision;
+
+import edu.wpi.first.wpilibj.SerialPort;
+import frc.robot.control.Clock;
+
+/**
+ * Reads bytes from a WPILib SerialPort. SerialPort returns a new array from each
+ * read, so this only reads when bytes have been received, and copies them out
+ * immediately.
+ * 
+ * SerialPort can't notify when bytes arrive, so await polls getBytesReceived.
+ * Polls start out close together and back off while nothing arrives, up to a
+ * maximum delay, which bounds how long received bytes can go unnoticed.
+ * 
+ * SerialPort reports errors, such as a USB adapter being unplugged, by
+ * throwing. The port is then closed, so the transport reports that it is
+ * disconnected and the reader reopens it.
+ */
+public class SerialTransport implements VisionTransport {
+    private static final double MIN_DELAY = 0.0002;
+    private static final double MAX_DELAY = 0.001;
+
+    private final int baudRate;
+    private final SerialPort.Port portId;
+    private final Clock clock;
+
+    private SerialPort port;
+    private double delay = MIN_DELAY;
+
+    /**
+     * Constructs a SerialTransport, which opens the port when connected.
+     * 
+     * @param baudRate Baud rate, which must match the coprocessor's
+     * @param port     Serial port to open
+     * @param clock    Clock to time polls with
+     */
+    public SerialTransport(int baudRate, SerialPort.Port port, Clock clock) {
+        this.baudRate = baudRate;
+        this.portId = port;
+        this.clock = clock;
+    }
+
+    @Override
+    public boolean connect() {
+        if (port == null) {
+            try {
+                port = new SerialPort(baudRate, portId);
+            } catch (Exception e) {
+                port = null;
+            }
+        }
+        return port != null;
+    }
+
+    @Override
+    public boolean isConnected() {
+        return port != null;
+    }
+
+    @Override
+    public void close() {
+        if (port != null) {
+            try {
+                port.close();
+            } catch (Exception e) {
+                System.out.println(e.toString());
+            }
+            port = null;
+        }
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) {
+        if (port == null) {
+            return 0;
+        }
+
+        try {
+            int available = Math.min(port.getBytesReceived(), length);
+            if (available <= 0) {
+                return 0;
+            }
+
+            byte[] received = port.read(available);
+            System.arraycopy(received, 0, buffer, offset, received.length);
+            return received.length;
+        } catch (Exception e) {
+            close();
+            return 0;
+        }
+    }
+
+    @Override
+    public boolean await(double timeout) {
+        if (port == null) {
+            return false;
+        }
+
+        double endTime = clock.getTime() + timeout;
+        try {
+            while (port.getBytesReceived() <= 0) {
+                if (clock.getTime() >= endTime || Thread.currentThread().isInterrupted()) {
+                    return false;
+                }
+                clock.delay(delay);
+                delay = Math.min(2.0 * delay, MAX_DELAY);
+            }
+        } catch (Exception e) {
+            close();
+            return false;
+        }
+        // Data is arriving, so poll quickly for the rest of it
+        delay = MIN_DELAY;
+        return true;
+    }
+}
@@ -0,0 +1,130 @@
+package frc.robot.vision;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+
+/**
+ * Reads from a TCP connection to a coprocessor on the robot network, such as a
+ * Raspberry Pi. Connection problems close the socket, so the reader can
+ * reconnect.
+ */
+public class SocketTransport implements VisionTransport {
+    private static final int CONNECT_TIMEOUT_MS = 500;
+
+    private final String host;
+    private final int port;
+
+    private Socket socket;
+    private InputStream input;
+
+    // await blocks by reading a byte, which is held here until the next read
+    private int pendingByte = -1;
+
+    /**
+     * Constructs a SocketTransport, which connects when connect is called.
+     * 
+     * @param host Host name or address of the coprocessor
+     * @param port TCP port the coprocessor is listening on
+     */
+    public SocketTransport(String host, int port) {
+        this.host = host;
+        this.port = port;
+    }
+
+    @Override
+    public boolean connect() {
+        if (socket != null) {
+            return true;
+        }
+        try {
+            Socket newSocket = new Socket();
+            newSocket.setTcpNoDelay(true);
+            newSocket.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MS);
+            input = newSocket.getInputStream();
+            socket = newSocket;
+            pendingByte = -1;
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean isConnected() {
+        return socket != null;
+    }
+
+    @Override
+    public void close() {
+        if (socket != null) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                System.out.println(e.toString());
+            }
+            socket = null;
+            input = null;
+        }
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) {
+        if (socket == null || length <= 0) {
+            return 0;
+        }
+
+        int count = 0;
+        if (pendingByte >= 0) {
+            buffer[offset] = (byte) pendingByte;
+            pendingByte = -1;
+            count = 1;
+        }
+
+        try {
+            int available = Math.min(input.available(), length - count);
+            if (available > 0) {
+                int read = input.read(buffer, offset + count, available);
+                if (read < 0) {
+                    close();
+                } else {
+                    count += read;
+                }
+            }
+        } catch (IOException e) {
+            close();
+        }
+        return count;
+    }
+
+    @Override
+    public boolean await(double timeout) {
+        if (socket == null) {
+            return false;
+        }
+        if (pendingByte >= 0) {
+            return true;
+        }
+
+        try {
+            if (input.available() > 0) {
+                return true;
+            }
+            socket.setSoTimeout(Math.max(1, (int) (timeout * 1000)));
+            pendingByte = input.read();
+            if (pendingByte < 0) {
+                // The coprocessor closed the connection
+                close();
+                return false;
+            }
+            return true;
+        } catch (SocketTimeoutException e) {
+            return false;
+        } catch (IOException e) {
+            close();
+            return false;
+        }
+    }
+}
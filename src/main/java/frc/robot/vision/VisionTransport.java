@@ -0,0 +1,28 @@
+package frc.robot.vision;
+
+/**
+ * A connection to the vision coprocessor. Connecting may fail, for example if
+ * the coprocessor hasn't booted yet, in which case the reader should retry
+ * later. Once connected, the transport is read as a ByteSource.
+ */
+public interface VisionTransport extends ByteSource {
+    /**
+     * Tries to connect, if not already connected.
+     * 
+     * @return Whether the transport is connected
+     */
+    public boolean connect();
+
+    /**
+     * Gets whether the transport is connected. This becomes false if the
+     * connection is lost.
+     * 
+     * @return Whether the transport is connected
+     */
+    public boolean isConnected();
+
+    /**
+     * Closes the connection.
+     */
+    public void close();
+}
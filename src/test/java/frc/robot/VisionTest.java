@@ -0,0 +1,94 @@
+package frc.robot;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import frc.robot.Vision.Color;
+import frc.robot.control.SimulatedClock;
+import frc.robot.control.SystemClock;
+import frc.robot.vision.ColorParser;
+import frc.robot.vision.FrameDecoder;
+import frc.robot.vision.PipeTransport;
+
+public class VisionTest {
+    private static void write(PipeTransport pipe, String data) throws InterruptedException {
+        byte[] bytes = data.getBytes(StandardCharsets.US_ASCII);
+        pipe.write(bytes, 0, bytes.length);
+    }
+
+    // Waits for a color to be published, and returns how long it took in seconds
+    private static double waitFor(Vision vision, Color color) throws InterruptedException {
+        long start = System.nanoTime();
+        while (vision.getBallColor() != color) {
+            Assert.assertTrue("Timed out waiting for " + color, System.nanoTime() - start < 1_000_000_000L);
+            Thread.yield();
+        }
+        return (System.nanoTime() - start) * 1e-9;
+    }
+
+    @Test
+    public void publishTest() throws InterruptedException {
+        PipeTransport pipe = new PipeTransport(64);
+        Vision vision = new Vision(() -> true, pipe, new ColorParser(64), new SystemClock());
+        vision.start();
+
+        try {
+            Assert.assertNull(vision.getBallColor());
+
+            write(pipe, "RED\n");
+            waitFor(vision, Color.RED);
+
+            // Split tokens are published once complete
+            write(pipe, "BL");
+            Thread.sleep(10);
+            Assert.assertEquals(Color.RED, vision.getBallColor());
+            write(pipe, "UE\n");
+            double latency = waitFor(vision, Color.BLUE);
+            // No fixed polling delay, so publishing is nearly immediate
+            Assert.assertTrue(latency < 0.02);
+
+            Assert.assertTrue(vision.getReadTimer().getDurations().getCount() >= 2);
+        } finally {
+            vision.stop();
+        }
+    }
+
+    @Test
+    public void reconnectTest() throws InterruptedException {
+        PipeTransport pipe = new PipeTransport(64);
+        pipe.setReachable(false);
+        SimulatedClock clock = new SimulatedClock(0.0, true);
+        Vision vision = new Vision(() -> true, pipe, new FrameDecoder(64), clock);
+        vision.start();
+
+        try {
+            // Keeps retrying until the coprocessor is reachable
+            while (clock.getTime() < 10.0) {
+                Thread.yield();
+            }
+            pipe.setReachable(true);
+            while (!pipe.isConnected()) {
+                Thread.yield();
+            }
+
+            byte[] frame = new byte[6];
+            FrameDecoder.encodeColor(Color.BLUE, frame, 0);
+            pipe.write(frame, 0, frame.length);
+            waitFor(vision, Color.BLUE);
+
+            // Reconnects after losing the connection
+            pipe.setReachable(false);
+            pipe.setReachable(true);
+            while (!pipe.isConnected()) {
+                Thread.yield();
+            }
+            FrameDecoder.encodeColor(Color.RED, frame, 0);
+            pipe.write(frame, 0, frame.length);
+            waitFor(vision, Color.RED);
+        } finally {
+            vision.stop();
+        }
+    }
+}
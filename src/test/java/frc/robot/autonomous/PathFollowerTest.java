@@ -0,0 +1,123 @@
+package frc.robot.autonomous;
+
+import java.util.ArrayList;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import frc.robot.motion.SplineProfile;
+import frc.robot.spline.QuinticSpline;
+import frc.robot.utils.Point;
+import frc.robot.utils.Vector;
+
+public class PathFollowerTest {
+    private static final double epsilon = 1e-6;
+    private static final double trackWidth = 0.6;
+    private static final double period = 0.005;
+
+    // Robot that drives at exactly the commanded wheel velocities
+    private static class IdealRobot {
+        final double[] pose = new double[3];
+
+        void drive(double left, double right, double time) {
+            double velocity = 0.5 * (left + right);
+            double angularVelocity = (right - left) / trackWidth;
+            double midHeading = pose[2] + 0.5 * angularVelocity * time;
+            pose[0] += velocity * time * Math.cos(midHeading);
+            pose[1] += velocity * time * Math.sin(midHeading);
+            pose[2] += angularVelocity * time;
+        }
+    }
+
+    private static QuinticSpline spline(Point end, Vector startDerivative, Vector endDerivative) {
+        ArrayList<Double> knots = new ArrayList<>();
+        knots.add(0.0);
+        knots.add(1.0);
+
+        ArrayList<Point> points = new ArrayList<>();
+        points.add(new Point(0.0, 0.0));
+        points.add(end);
+
+        ArrayList<Vector> derivatives = new ArrayList<>();
+        derivatives.add(startDerivative);
+        derivatives.add(endDerivative);
+
+        ArrayList<Vector> secondDerivatives = new ArrayList<>();
+        secondDerivatives.add(new Vector(0.0, 0.0));
+        secondDerivatives.add(new Vector(0.0, 0.0));
+
+        return new QuinticSpline(knots, points, derivatives, secondDerivatives);
+    }
+
+    private static double[] follow(PathFollower follower, IdealRobot robot, double duration) {
+        double[] output = new double[2];
+        follower.start();
+        for (double time = 0.0; time < duration; time += period) {
+            follower.update(time);
+            follower.getWheelVelocities(output);
+            robot.drive(output[0], output[1], period);
+        }
+        return robot.pose;
+    }
+
+    @Test
+    public void straightTest() {
+        SplineProfile profile = new SplineProfile(
+                spline(new Point(3.0, 0.0), new Vector(3.0, 0.0), new Vector(3.0, 0.0)), 0.05, 2.0, 2.0,
+                trackWidth);
+        IdealRobot robot = new IdealRobot();
+        PathFollower follower = new PathFollower(profile, pose -> System.arraycopy(robot.pose, 0, pose, 0, 3),
+                trackWidth);
+
+        // Nothing is commanded until the follower is started
+        follower.update(0.0);
+        Assert.assertEquals(0.0, follower.getLeftVelocity(), epsilon);
+
+        // Following exactly, the wheels just follow the profile's velocity
+        double[] pose = follow(follower, robot, 1.0);
+        Assert.assertEquals(profile.getSetpointAtTime(1.0).getVelocity(), follower.getLeftVelocity(), 0.02);
+        Assert.assertEquals(follower.getLeftVelocity(), follower.getRightVelocity(), epsilon);
+        Assert.assertEquals(0.0, pose[1], epsilon);
+    }
+
+    @Test
+    public void ramseteTest() {
+        SplineProfile profile = new SplineProfile(
+                spline(new Point(2.0, 2.0), new Vector(3.0, 0.0), new Vector(0.0, 3.0)), 0.02, 1.5, 2.0, trackWidth);
+        IdealRobot robot = new IdealRobot();
+        PathFollower follower = new PathFollower(profile, pose -> System.arraycopy(robot.pose, 0, pose, 0, 3),
+                trackWidth);
+
+        // Start to the side of the path, pointing the wrong way
+        double[] pose = new double[3];
+        follower.start(0.0, 0.0, -0.3);
+        robot.pose[2] = -0.4;
+        double[] output = new double[2];
+        for (double time = 0.0; time < profile.getDuration() + 1.0; time += period) {
+            follower.calculate(time, output);
+            robot.drive(output[0], output[1], period);
+        }
+        System.arraycopy(robot.pose, 0, pose, 0, 3);
+
+        Assert.assertTrue(follower.isFinished(profile.getDuration()));
+        Assert.assertEquals(2.0, pose[0], 0.05);
+        Assert.assertEquals(1.7, pose[1], 0.05);
+        Assert.assertEquals(0.5 * Math.PI, pose[2], 0.05);
+    }
+
+    @Test
+    public void purePursuitTest() {
+        SplineProfile profile = new SplineProfile(
+                spline(new Point(2.0, 2.0), new Vector(3.0, 0.0), new Vector(0.0, 3.0)), 0.02, 1.5, 2.0, trackWidth);
+        IdealRobot robot = new IdealRobot();
+        PathFollower follower = new PathFollower(profile, pose -> System.arraycopy(robot.pose, 0, pose, 0, 3),
+                trackWidth);
+        follower.setMode(PathFollower.Mode.PURE_PURSUIT);
+        follower.setLookahead(0.3);
+
+        double[] pose = follow(follower, robot, profile.getDuration() + 1.0);
+        // Pure pursuit cuts corners slightly
+        Assert.assertEquals(2.0, pose[0], 0.1);
+        Assert.assertEquals(2.0, pose[1], 0.3);
+    }
+}
@@ -0,0 +1,90 @@
+package frc.robot.control;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ControlLoopTest {
+    @Test
+    public void runsTasks() throws InterruptedException {
+        ControlLoop loop = new ControlLoop(new ExecutorScheduler(), 0.002);
+        AtomicInteger first = new AtomicInteger();
+        AtomicInteger second = new AtomicInteger();
+        loop.addTask(time -> first.incrementAndGet());
+        loop.addTask(time -> {
+            // Tasks run in the order they were added
+            Assert.assertEquals(first.get(), second.incrementAndGet());
+        });
+
+        loop.start();
+        Thread.sleep(100);
+        loop.stop();
+
+        Assert.assertTrue(first.get() > 10);
+        Assert.assertEquals(first.get(), second.get());
+        Assert.assertEquals(first.get(), loop.getIterations());
+    }
+
+    @Test
+    public void detectsOverruns() throws InterruptedException {
+        ControlLoop loop = new ControlLoop(new ExecutorScheduler(), 0.001);
+        loop.addTask(time -> {
+            try {
+                Thread.sleep(3);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        loop.start();
+        Thread.sleep(50);
+        loop.stop();
+
+        Assert.assertTrue(loop.getOverruns() > 0);
+        Assert.assertTrue(loop.getMaxDuration() > 0.001);
+    }
+
+    @Test
+    public void countsExceptions() throws InterruptedException {
+        ControlLoop loop = new ControlLoop(new ExecutorScheduler(), 0.002);
+        AtomicInteger updates = new AtomicInteger();
+        loop.addTask(time -> {
+            throw new IllegalStateException("Task failed");
+        });
+        loop.addTask(time -> updates.incrementAndGet());
+
+        loop.start();
+        Thread.sleep(50);
+        loop.stop();
+
+        // Every iteration throws, and the later task still runs
+        Assert.assertTrue(loop.getExceptions() > 5);
+        Assert.assertEquals(loop.getIterations(), loop.getExceptions());
+        Assert.assertEquals(loop.getIterations(), updates.get());
+    }
+
+    @Test
+    public void exchangesData() throws InterruptedException {
+        ControlLoop loop = new ControlLoop(new ExecutorScheduler(), 0.001);
+        TripleBuffer inputs = new TripleBuffer(1);
+        TripleBuffer outputs = new TripleBuffer(1);
+        double[] input = new double[1];
+
+        // Doubles its input
+        loop.addTask(time -> {
+            inputs.read(input);
+            outputs.getWriteBuffer()[0] = 2.0 * input[0];
+            outputs.publish();
+        });
+
+        inputs.write(new double[] { 4.0 });
+        loop.start();
+        Thread.sleep(50);
+        loop.stop();
+
+        double[] output = new double[1];
+        outputs.read(output);
+        Assert.assertEquals(8.0, output[0], 1e-6);
+    }
+}
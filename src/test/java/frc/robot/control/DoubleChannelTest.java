@@ -0,0 +1,50 @@
+package frc.robot.control;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DoubleChannelTest {
+    private static final double epsilon = 1e-9;
+
+    @Test
+    public void publishTest() {
+        DoubleChannel channel = new DoubleChannel(3);
+        double[] values = new double[3];
+        Assert.assertEquals(0, channel.read(values));
+        Assert.assertEquals(0.0, values[2], epsilon);
+
+        channel.publish(new double[] { 1.0, 2.0, 3.0 });
+        Assert.assertEquals(1, channel.read(values));
+        Assert.assertEquals(1.0, values[0], epsilon);
+        Assert.assertEquals(3.0, values[2], epsilon);
+        Assert.assertEquals(2.0, channel.get(1), epsilon);
+    }
+
+    @Test
+    public void consistencyTest() throws InterruptedException {
+        DoubleChannel channel = new DoubleChannel(8);
+        int count = 100000;
+        Thread writer = new Thread(() -> {
+            double[] values = new double[8];
+            for (int i = 1; i <= count; i++) {
+                for (int j = 0; j < values.length; j++) {
+                    values[j] = i;
+                }
+                channel.publish(values);
+            }
+        });
+        writer.start();
+
+        // Readers never see values from two different publishes
+        double[] values = new double[8];
+        long sequence = 0;
+        while (sequence < count) {
+            sequence = channel.read(values);
+            for (int j = 1; j < values.length; j++) {
+                Assert.assertEquals(values[0], values[j], 0.0);
+            }
+            Assert.assertEquals(sequence, values[0], 0.0);
+        }
+        writer.join();
+    }
+}
@@ -0,0 +1,41 @@
+package frc.robot.control;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SensorChannelTest {
+    @Test
+    public void publishTest() {
+        SensorChannel<String> channel = new SensorChannel<>("initial");
+        Assert.assertEquals("initial", channel.get());
+        Assert.assertEquals(0, channel.getSequence());
+
+        channel.publish("first");
+        channel.publish("second");
+        Assert.assertEquals("second", channel.get());
+        Assert.assertEquals(2, channel.getSequence());
+    }
+
+    @Test
+    public void concurrentTest() throws InterruptedException {
+        SensorChannel<Integer> channel = new SensorChannel<>(0);
+        int count = 100000;
+        Thread writer = new Thread(() -> {
+            for (int i = 1; i <= count; i++) {
+                channel.publish(i);
+            }
+        });
+        writer.start();
+
+        // Values only move forwards, and are at least as new as the sequence number
+        int last = 0;
+        while (last < count) {
+            long sequence = channel.getSequence();
+            int value = channel.get();
+            Assert.assertTrue(value >= last);
+            Assert.assertTrue(value >= sequence);
+            last = value;
+        }
+        writer.join();
+    }
+}
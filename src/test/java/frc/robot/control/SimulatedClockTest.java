@@ -0,0 +1,71 @@
+package frc.robot.control;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SimulatedClockTest {
+    private static final double epsilon = 1e-9;
+
+    @Test
+    public void manualTest() throws InterruptedException {
+        SimulatedClock clock = new SimulatedClock();
+        Assert.assertEquals(0.0, clock.getTime(), epsilon);
+
+        clock.advance(1.5);
+        Assert.assertEquals(1.5, clock.getTime(), epsilon);
+        // Time never moves backwards
+        clock.setTime(1.0);
+        Assert.assertEquals(1.5, clock.getTime(), epsilon);
+
+        Thread waiter = new Thread(() -> clock.delay(2.0));
+        waiter.start();
+        while (waiter.getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+        clock.advance(1.0);
+        waiter.join(50);
+        Assert.assertTrue(waiter.isAlive());
+
+        clock.advance(1.0);
+        waiter.join(1000);
+        Assert.assertFalse(waiter.isAlive());
+    }
+
+    @Test
+    public void delaysAdvanceTest() {
+        SimulatedClock clock = new SimulatedClock(10.0, true);
+        for (int i = 0; i < 1000; i++) {
+            clock.delay(0.034);
+        }
+        Assert.assertEquals(10.0 + 34.0, clock.getTime(), 1e-6);
+    }
+
+    @Test
+    public void schedulerTest() {
+        SimulatedClock clock = new SimulatedClock();
+        SimulatedScheduler scheduler = new SimulatedScheduler(clock);
+        AtomicInteger count = new AtomicInteger();
+        double[] lastTime = { -1.0 };
+
+        // Nothing runs until the loop is started
+        Assert.assertEquals(0, scheduler.runFor(1.0));
+
+        ControlLoop loop = new ControlLoop(scheduler, 0.005);
+        loop.addTask(time -> {
+            count.incrementAndGet();
+            lastTime[0] = time;
+        });
+        loop.start();
+
+        // A 15 second autonomous at 200 Hz, with an iteration at both ends
+        Assert.assertEquals(3001, scheduler.runFor(15.0));
+        Assert.assertEquals(3001, count.get());
+        Assert.assertEquals(16.0, lastTime[0], 1e-6);
+        Assert.assertEquals(16.0, clock.getTime(), epsilon);
+
+        loop.stop();
+        Assert.assertEquals(0, scheduler.runFor(1.0));
+    }
+}
@@ -0,0 +1,20 @@
+package frc.robot.control;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SystemClockTest {
+    @Test
+    public void delayTest() {
+        SystemClock clock = new SystemClock();
+        double start = clock.getTime();
+        clock.delay(0.01);
+        Assert.assertTrue(clock.getTime() - start >= 0.01);
+
+        // Delays which have already passed return immediately, like the other clocks
+        start = clock.getTime();
+        clock.delay(-1.0);
+        clock.delay(0.0);
+        Assert.assertTrue(clock.getTime() - start < 0.5);
+    }
+}
@@ -0,0 +1,65 @@
+package frc.robot.control;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TripleBufferTest {
+    private static final double epsilon = 1e-6;
+
+    @Test
+    public void latestValue() {
+        TripleBuffer buffer = new TripleBuffer(2);
+        double[] values = new double[2];
+
+        Assert.assertFalse(buffer.read(values));
+        Assert.assertEquals(0.0, values[0], epsilon);
+
+        buffer.write(new double[] { 1.0, 2.0 });
+        buffer.write(new double[] { 3.0, 4.0 });
+
+        Assert.assertTrue(buffer.read(values));
+        Assert.assertEquals(3.0, values[0], epsilon);
+        Assert.assertEquals(4.0, values[1], epsilon);
+
+        // Nothing new since the last read
+        Assert.assertFalse(buffer.read(values));
+        Assert.assertEquals(3.0, values[0], epsilon);
+
+        buffer.getWriteBuffer()[0] = 5.0;
+        buffer.getWriteBuffer()[1] = 6.0;
+        buffer.publish();
+        Assert.assertTrue(buffer.update());
+        Assert.assertEquals(5.0, buffer.getReadBuffer()[0], epsilon);
+        Assert.assertEquals(6.0, buffer.getReadBuffer()[1], epsilon);
+    }
+
+    @Test
+    public void concurrentReadsAreNotTorn() throws InterruptedException {
+        final int length = 16;
+        final int writes = 200000;
+        TripleBuffer buffer = new TripleBuffer(length);
+
+        Thread writer = new Thread(() -> {
+            for (int i = 1; i <= writes; i++) {
+                double[] values = buffer.getWriteBuffer();
+                for (int j = 0; j < length; j++) {
+                    values[j] = i;
+                }
+                buffer.publish();
+            }
+        });
+        writer.start();
+
+        double[] values = new double[length];
+        double previous = 0.0;
+        while (previous < writes) {
+            buffer.read(values);
+            for (int j = 1; j < length; j++) {
+                Assert.assertEquals(values[0], values[j], 0.0);
+            }
+            Assert.assertTrue(values[0] >= previous);
+            previous = values[0];
+        }
+        writer.join();
+    }
+}
@@ -0,0 +1,78 @@
+package frc.robot.drivetrain;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import frc.robot.sim.DCMotor;
+import frc.robot.sim.DrivetrainSimulator;
+
+public class OdometryTest {
+    private static final double epsilon = 1e-6;
+
+    @Test
+    public void arcTest() {
+        // Drive a quarter circle of radius 1 m in one update
+        Odometry odometry = new Odometry(null, 10);
+        odometry.update(0.0, 0.0, 0.0, 0.0);
+        double arc = 0.5 * Math.PI;
+        odometry.update(arc * 0.7, arc * 1.3, 0.5 * Math.PI, 0.1);
+
+        double[] pose = new double[3];
+        odometry.getPose(pose);
+        Assert.assertEquals(1.0, pose[0], epsilon);
+        Assert.assertEquals(1.0, pose[1], epsilon);
+        Assert.assertEquals(0.5 * Math.PI, pose[2], epsilon);
+    }
+
+    @Test
+    public void resetTest() {
+        Odometry odometry = new Odometry(null, 10);
+        // Gyro and encoders don't start at zero
+        odometry.update(5.0, 5.0, 1.0, 0.0);
+        odometry.update(6.0, 6.0, 1.0, 0.1);
+
+        double[] pose = new double[4];
+        odometry.getTimedPose(pose);
+        Assert.assertEquals(1.0, pose[0], epsilon);
+        Assert.assertEquals(0.0, pose[1], epsilon);
+        Assert.assertEquals(0.0, pose[2], epsilon);
+        Assert.assertEquals(0.1, pose[3], epsilon);
+
+        odometry.reset(2.0, 3.0, 0.5 * Math.PI);
+        odometry.update(6.0, 6.0, 1.0, 0.2);
+        odometry.update(7.0, 7.0, 1.0, 0.3);
+        odometry.getPose(pose);
+        Assert.assertEquals(2.0, pose[0], epsilon);
+        Assert.assertEquals(4.0, pose[1], epsilon);
+        Assert.assertEquals(0.5 * Math.PI, pose[2], epsilon);
+
+        // History from before the reset is gone
+        Assert.assertFalse(odometry.getPoseAt(0.1, pose));
+        Assert.assertTrue(odometry.getPoseAt(0.25, pose));
+        Assert.assertEquals(3.5, pose[1], epsilon);
+    }
+
+    @Test
+    public void simulatorTest() {
+        DrivetrainSimulator sim = new DrivetrainSimulator(DCMotor.cim(2), 10.0, 0.0762, 0.6, 50.0, 3.0, 0.02, 1.1,
+                4096, 0.001);
+        Odometry odometry = new Odometry(sim, 400);
+
+        // Update at 200 Hz while the simulator steps at 1 kHz, driving a gentle curve
+        double[] pose = new double[3];
+        odometry.update(0.0);
+        for (int i = 0; i < 3000; i++) {
+            sim.step(0.3, 0.4);
+            if (i % 5 == 4) {
+                odometry.update((i + 1) * sim.getTimeStep());
+            }
+        }
+        odometry.getPose(pose);
+
+        Assert.assertEquals(sim.getHeading(), pose[2], epsilon);
+        // Only encoder quantization and the update rate separate odometry from the
+        // true pose, as long as the wheels don't slip
+        Assert.assertEquals(sim.getX(), pose[0], 0.02);
+        Assert.assertEquals(sim.getY(), pose[1], 0.02);
+    }
+}
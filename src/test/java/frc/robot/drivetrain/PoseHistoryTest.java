@@ -0,0 +1,50 @@
+package frc.robot.drivetrain;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PoseHistoryTest {
+    private static final double epsilon = 1e-6;
+
+    @Test
+    public void interpolateTest() {
+        PoseHistory history = new PoseHistory(8);
+        double[] pose = new double[3];
+        Assert.assertFalse(history.getPoseAt(0.0, pose));
+
+        for (int i = 0; i < 5; i++) {
+            history.add(0.1 * i, i, 2.0 * i, 0.1 * i);
+        }
+
+        Assert.assertTrue(history.getPoseAt(0.25, pose));
+        Assert.assertEquals(2.5, pose[0], epsilon);
+        Assert.assertEquals(5.0, pose[1], epsilon);
+        Assert.assertEquals(0.25, pose[2], epsilon);
+
+        Assert.assertTrue(history.getPoseAt(0.4, pose));
+        Assert.assertEquals(4.0, pose[0], epsilon);
+
+        Assert.assertFalse(history.getPoseAt(0.5, pose));
+        Assert.assertFalse(history.getPoseAt(-0.1, pose));
+    }
+
+    @Test
+    public void wrapTest() {
+        PoseHistory history = new PoseHistory(4);
+        double[] pose = new double[3];
+        for (int i = 0; i < 10; i++) {
+            history.add(i, i, 0.0, 0.0);
+        }
+        Assert.assertEquals(10, history.getCount());
+
+        // The oldest kept pose may be overwritten at any time, so it isn't used
+        Assert.assertFalse(history.getPoseAt(6.5, pose));
+        Assert.assertTrue(history.getPoseAt(7.5, pose));
+        Assert.assertEquals(7.5, pose[0], epsilon);
+        Assert.assertTrue(history.getPoseAt(9.0, pose));
+        Assert.assertEquals(9.0, pose[0], epsilon);
+
+        history.clear();
+        Assert.assertFalse(history.getPoseAt(9.0, pose));
+    }
+}
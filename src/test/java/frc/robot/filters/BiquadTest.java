@@ -0,0 +1,38 @@
+package frc.robot.filters;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BiquadTest {
+    private static final double period = 0.005;
+
+    // Amplitude of the filter's steady state response to a sine wave
+    private static double gain(Biquad filter, double frequency) {
+        filter.reset();
+        double max = 0.0;
+        for (int i = 0; i < 4000; i++) {
+            double output = filter.calculate(Math.sin(2.0 * Math.PI * frequency * i * period));
+            if (i > 2000) {
+                max = Math.max(max, Math.abs(output));
+            }
+        }
+        return max;
+    }
+
+    @Test
+    public void lowPassTest() {
+        Biquad filter = Biquad.lowPass(10.0, period, 1.0 / Math.sqrt(2.0));
+
+        Assert.assertEquals(1.0, gain(filter, 0.5), 1e-2);
+        Assert.assertEquals(1.0 / Math.sqrt(2.0), gain(filter, 10.0), 1e-2);
+        Assert.assertTrue(gain(filter, 60.0) < 0.05);
+    }
+
+    @Test
+    public void notchTest() {
+        Biquad filter = Biquad.notch(20.0, period, 2.0);
+
+        Assert.assertEquals(1.0, gain(filter, 1.0), 1e-2);
+        Assert.assertTrue(gain(filter, 20.0) < 1e-2);
+    }
+}
@@ -0,0 +1,54 @@
+package frc.robot.filters;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LinearRegressionDerivativeTest {
+    private static final double epsilon = 1e-6;
+
+    @Test
+    public void rampTest() {
+        LinearRegressionDerivative estimator = new LinearRegressionDerivative(5);
+        Assert.assertEquals(0.0, estimator.calculate(1.0, 0.0), epsilon);
+        for (int i = 1; i < 10; i++) {
+            Assert.assertEquals(3.0, estimator.calculate(1.0 + 3.0 * 0.02 * i, 0.02 * i), epsilon);
+        }
+    }
+
+    @Test
+    public void unevenTimingTest() {
+        LinearRegressionDerivative estimator = new LinearRegressionDerivative(4);
+        double[] times = { 100.0, 100.02, 100.025, 100.06, 100.07, 100.11 };
+        for (double time : times) {
+            estimator.calculate(-2.0 * time, time);
+        }
+        Assert.assertEquals(-2.0, estimator.calculate(-2.0 * 100.12, 100.12), epsilon);
+
+        // Samples at a single time have no slope
+        estimator.reset();
+        estimator.calculate(1.0, 5.0);
+        Assert.assertEquals(0.0, estimator.calculate(2.0, 5.0), epsilon);
+    }
+
+    @Test
+    public void noiseTest() {
+        Random random = new Random(42);
+        LinearRegressionDerivative estimator = new LinearRegressionDerivative(20);
+
+        double regressionError = 0.0;
+        double differenceError = 0.0;
+        double previous = 0.0;
+        for (int i = 0; i < 200; i++) {
+            double value = 2.0 * i * 0.01 + 0.01 * random.nextGaussian();
+            double derivative = estimator.calculate(value, i * 0.01);
+            if (i >= 20) {
+                regressionError = Math.max(regressionError, Math.abs(derivative - 2.0));
+                differenceError = Math.max(differenceError, Math.abs((value - previous) / 0.01 - 2.0));
+            }
+            previous = value;
+        }
+        Assert.assertTrue(regressionError < 0.25 * differenceError);
+    }
+}
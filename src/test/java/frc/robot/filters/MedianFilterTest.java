@@ -0,0 +1,31 @@
+package frc.robot.filters;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MedianFilterTest {
+    private static final double epsilon = 1e-6;
+
+    @Test
+    public void medianTest() {
+        MedianFilter filter = new MedianFilter(3);
+        Assert.assertEquals(1.0, filter.calculate(1.0), epsilon);
+        Assert.assertEquals(1.5, filter.calculate(2.0), epsilon);
+        Assert.assertEquals(2.0, filter.calculate(3.0), epsilon);
+        // Spike is removed
+        Assert.assertEquals(3.0, filter.calculate(100.0), epsilon);
+        Assert.assertEquals(5.0, filter.calculate(5.0), epsilon);
+        Assert.assertEquals(5.0, filter.calculate(4.0), epsilon);
+        Assert.assertEquals(4.0, filter.calculate(-10.0), epsilon);
+    }
+
+    @Test
+    public void duplicatesTest() {
+        MedianFilter filter = new MedianFilter(4);
+        double[] inputs = { 2.0, 2.0, 1.0, 2.0, 3.0, 3.0, 3.0, 1.0 };
+        double[] outputs = { 2.0, 2.0, 2.0, 2.0, 2.0, 2.5, 3.0, 3.0 };
+        for (int i = 0; i < inputs.length; i++) {
+            Assert.assertEquals(outputs[i], filter.calculate(inputs[i]), epsilon);
+        }
+    }
+}
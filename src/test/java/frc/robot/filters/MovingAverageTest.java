@@ -0,0 +1,21 @@
+package frc.robot.filters;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MovingAverageTest {
+    private static final double epsilon = 1e-6;
+
+    @Test
+    public void averageTest() {
+        MovingAverage filter = new MovingAverage(3);
+        Assert.assertEquals(3.0, filter.calculate(3.0), epsilon);
+        Assert.assertEquals(4.5, filter.calculate(6.0), epsilon);
+        Assert.assertEquals(5.0, filter.calculate(6.0), epsilon);
+        Assert.assertEquals(8.0, filter.calculate(12.0), epsilon);
+        Assert.assertEquals(6.0, filter.calculate(0.0), epsilon);
+
+        filter.reset();
+        Assert.assertEquals(-1.0, filter.calculate(-1.0), epsilon);
+    }
+}
@@ -0,0 +1,41 @@
+package frc.robot.filters;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RingBufferTest {
+    private static final double epsilon = 1e-6;
+
+    @Test
+    public void fillTest() {
+        RingBuffer buffer = new RingBuffer(3);
+        Assert.assertTrue(Double.isNaN(buffer.add(1.0)));
+        Assert.assertTrue(Double.isNaN(buffer.add(2.0)));
+        Assert.assertFalse(buffer.isFull());
+        Assert.assertTrue(Double.isNaN(buffer.add(3.0)));
+        Assert.assertTrue(buffer.isFull());
+        Assert.assertEquals(3, buffer.size());
+        Assert.assertEquals(1.0, buffer.get(0), epsilon);
+        Assert.assertEquals(3.0, buffer.getLast(), epsilon);
+    }
+
+    @Test
+    public void overwriteTest() {
+        RingBuffer buffer = new RingBuffer(3);
+        for (int i = 1; i <= 3; i++) {
+            buffer.add(i);
+        }
+        Assert.assertEquals(1.0, buffer.add(4.0), epsilon);
+        Assert.assertEquals(2.0, buffer.add(5.0), epsilon);
+
+        Assert.assertEquals(3, buffer.size());
+        Assert.assertEquals(3.0, buffer.get(0), epsilon);
+        Assert.assertEquals(4.0, buffer.get(1), epsilon);
+        Assert.assertEquals(5.0, buffer.get(2), epsilon);
+
+        buffer.clear();
+        Assert.assertEquals(0, buffer.size());
+        buffer.add(6.0);
+        Assert.assertEquals(6.0, buffer.get(0), epsilon);
+    }
+}
@@ -0,0 +1,24 @@
+package frc.robot.filters;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SinglePoleIIRTest {
+    private static final double epsilon = 1e-6;
+
+    @Test
+    public void stepTest() {
+        SinglePoleIIR filter = new SinglePoleIIR(0.1, 0.01);
+        Assert.assertEquals(0.0, filter.calculate(0.0), epsilon);
+
+        // After one time constant, output should be 63% of the way to the step
+        double output = 0.0;
+        for (int i = 0; i < 10; i++) {
+            output = filter.calculate(1.0);
+        }
+        Assert.assertEquals(1.0 - Math.exp(-1.0), output, epsilon);
+
+        filter.reset();
+        Assert.assertEquals(5.0, filter.calculate(5.0), epsilon);
+    }
+}
@@ -0,0 +1,65 @@
+package frc.robot.instrumentation;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+    private static final double epsilon = 1e-9;
+
+    @Test
+    public void bucketTest() {
+        Assert.assertEquals(0, LatencyHistogram.bucket(0));
+        Assert.assertEquals(0, LatencyHistogram.bucket(999));
+        Assert.assertEquals(1, LatencyHistogram.bucket(1000));
+        Assert.assertEquals(2, LatencyHistogram.bucket(2500));
+        Assert.assertEquals(3, LatencyHistogram.bucket(4000));
+        Assert.assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.bucket(Long.MAX_VALUE));
+
+        Assert.assertEquals(4e-6, LatencyHistogram.bucketUpperBound(2), epsilon);
+    }
+
+    @Test
+    public void snapshotTest() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(1500);
+        }
+        histogram.record(3_000_000);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        Assert.assertEquals(100, snapshot.getCount());
+        Assert.assertEquals(99, snapshot.getBucketCount(1));
+        Assert.assertEquals(0.003, snapshot.getMax(), epsilon);
+        Assert.assertEquals((99 * 1500 + 3_000_000) * 1e-9 / 100, snapshot.getMean(), epsilon);
+        Assert.assertEquals(2e-6, snapshot.getPercentile(50.0), epsilon);
+        Assert.assertEquals(2e-6, snapshot.getPercentile(99.0), epsilon);
+        Assert.assertEquals(0.003, snapshot.getPercentile(100.0), epsilon);
+
+        // Snapshots don't change after being taken
+        histogram.reset();
+        Assert.assertEquals(100, snapshot.getCount());
+        Assert.assertEquals(0, histogram.snapshot().getCount());
+    }
+
+    @Test
+    public void concurrentTest() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            long nanos = (i + 1) * 1000;
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 10000; j++) {
+                    histogram.record(nanos);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        Assert.assertEquals(40000, snapshot.getCount());
+        Assert.assertEquals(4e-6, snapshot.getMax(), epsilon);
+    }
+}
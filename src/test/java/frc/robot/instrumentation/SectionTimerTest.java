@@ -0,0 +1,67 @@
+package frc.robot.instrumentation;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SectionTimerTest {
+    @Test
+    public void overrunTest() {
+        SectionTimer timer = new SectionTimer("test", 0.001);
+        timer.record(500_000);
+        timer.record(2_000_000);
+        timer.record(900_000);
+
+        Assert.assertEquals(1, timer.getOverruns());
+        Assert.assertEquals(3, timer.getDurations().getCount());
+        Assert.assertEquals(0.0009, timer.getLastDuration(), 1e-12);
+        Assert.assertEquals(0.002, timer.getMaxDuration(), 1e-12);
+
+        timer.reset();
+        Assert.assertEquals(0, timer.getOverruns());
+    }
+
+    @Test
+    public void intervalTest() throws InterruptedException {
+        SectionTimer timer = new SectionTimer("test", 1.0);
+        for (int i = 0; i < 3; i++) {
+            long start = timer.start();
+            Thread.sleep(2);
+            timer.stop(start);
+        }
+
+        Assert.assertEquals(3, timer.getDurations().getCount());
+        Assert.assertEquals(2, timer.getIntervals().getCount());
+        Assert.assertTrue(timer.getIntervals().getMax() >= 0.002);
+    }
+
+    @Test
+    public void intervalAfterResetTest() throws InterruptedException {
+        SectionTimer timer = new SectionTimer("test", 1.0);
+        timer.stop(timer.start());
+        timer.reset();
+
+        // Time before the reset isn't counted as an interval
+        Thread.sleep(50);
+        timer.stop(timer.start());
+        Assert.assertEquals(0, timer.getIntervals().getCount());
+
+        timer.stop(timer.start());
+        Assert.assertEquals(1, timer.getIntervals().getCount());
+        Assert.assertTrue(timer.getIntervals().getMax() < 0.05);
+    }
+
+    @Test
+    public void instrumentationTest() {
+        Instrumentation instrumentation = new Instrumentation();
+        SectionTimer first = instrumentation.getTimer("b", 0.01);
+        Assert.assertSame(first, instrumentation.getTimer("b", 0.5));
+        instrumentation.addTimer(new SectionTimer("a", 0.01));
+
+        first.record(20_000_000);
+        Assert.assertEquals("a", instrumentation.getTimers().keySet().iterator().next());
+        Assert.assertTrue(instrumentation.report().contains("overruns=1"));
+
+        instrumentation.reset();
+        Assert.assertEquals(0, first.getOverruns());
+    }
+}
@@ -0,0 +1,95 @@
+package frc.robot.motion;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ChunkBufferTest {
+    private static final double epsilon = 1e-6;
+
+    @Test
+    public void startTimesAndPositions() {
+        ChunkBuffer chunks = new ChunkBuffer(1);
+        chunks.addVelocityTransition(0.0, 4.0, 2.0, 1.0);
+        chunks.addConstantVelocity(4.0, 8.0);
+        chunks.addVelocityTransition(4.0, 0.0, 2.0, 1.0);
+
+        Assert.assertEquals(3, chunks.size());
+        Assert.assertEquals(0.0, chunks.getStartTime(0), epsilon);
+        Assert.assertEquals(2.0, chunks.getStartTime(1), epsilon);
+        Assert.assertEquals(4.0, chunks.getStartTime(2), epsilon);
+        Assert.assertEquals(0.0, chunks.getStartPosition(0), epsilon);
+        Assert.assertEquals(4.0, chunks.getStartPosition(1), epsilon);
+        Assert.assertEquals(12.0, chunks.getStartPosition(2), epsilon);
+
+        Assert.assertEquals(8.0, chunks.getTotalDuration(), epsilon);
+        Assert.assertEquals(20.0, chunks.getTotalDistance(), epsilon);
+
+        chunks.removeLast();
+        Assert.assertEquals(2, chunks.size());
+        Assert.assertEquals(4.0, chunks.getTotalDuration(), epsilon);
+        Assert.assertEquals(12.0, chunks.getTotalDistance(), epsilon);
+    }
+
+    @Test
+    public void find() {
+        ChunkBuffer chunks = new ChunkBuffer();
+        chunks.addVelocityTransition(0.0, 0.0, 2.0, 1.0);
+        chunks.addVelocityTransition(0.0, 4.0, 2.0, 1.0);
+        chunks.addConstantVelocity(4.0, 8.0);
+        chunks.addVelocityTransition(4.0, 0.0, 2.0, 1.0);
+
+        // Chunk with no duration is skipped
+        Assert.assertEquals(1, chunks.find(0.0));
+        Assert.assertEquals(0, chunks.find(-1.0));
+        Assert.assertEquals(1, chunks.find(1.5));
+        Assert.assertEquals(2, chunks.find(2.0));
+        Assert.assertEquals(3, chunks.find(7.0));
+        Assert.assertEquals(3, chunks.find(20.0));
+    }
+
+    @Test
+    public void evaluate() {
+        ChunkBuffer chunks = new ChunkBuffer();
+        int index = chunks.addVelocityDistance(10.0, 2.0, 0.0, 0.0, 2.0, 2.0, 0.0);
+
+        Assert.assertEquals(1.9, chunks.getPosition(index, 1.0), epsilon);
+        Assert.assertEquals(1.8, chunks.getVelocity(index, 1.0), epsilon);
+        Assert.assertEquals(-0.2, chunks.getAcceleration(index), epsilon);
+        Assert.assertEquals(0.2, chunks.getCurvature(index, 1.0), epsilon);
+        Assert.assertEquals(1.8, chunks.getHeading(index, 1.0), epsilon);
+
+        // Time is clamped within the chunk
+        Assert.assertEquals(10.0, chunks.getPosition(index, 20.0), epsilon);
+        Assert.assertEquals(2.0, chunks.getVelocity(index, -1.0), epsilon);
+        Assert.assertEquals(0.0, chunks.getEndVelocity(index), epsilon);
+    }
+
+    @Test
+    public void chunkTypes() {
+        ChunkBuffer chunks = new ChunkBuffer();
+        int accelerating = chunks.addVelocityTransition(1.0, 16.0, 3.0, 5.0);
+        int reversing = chunks.addVelocityTransition(-5.0, -11.0, 2.0, 3.0);
+        int constant = chunks.addConstantVelocity(10.0, 25.0);
+        int distance = chunks.addVelocityDistance(10.0, 2.0, 0.0, 0.0, 0.0, 4.0, -2.0);
+
+        // Speeding up uses the acceleration limit, even when moving backwards
+        Assert.assertEquals(5.0, chunks.getDuration(accelerating), epsilon);
+        Assert.assertEquals(42.5, chunks.getDistance(accelerating), epsilon);
+        Assert.assertEquals(28.0, chunks.getPosition(accelerating, 4.0), epsilon);
+        Assert.assertEquals(3.0, chunks.getDuration(reversing), epsilon);
+        Assert.assertEquals(-24.0, chunks.getDistance(reversing), epsilon);
+        Assert.assertEquals(-2.0, chunks.getAcceleration(reversing), epsilon);
+        Assert.assertEquals(-11.0, chunks.getEndVelocity(reversing), epsilon);
+
+        Assert.assertEquals(2.5, chunks.getDuration(constant), epsilon);
+        Assert.assertEquals(15.0, chunks.getPosition(constant, 1.5), epsilon);
+        Assert.assertEquals(0.0, chunks.getAcceleration(constant), epsilon);
+        Assert.assertEquals(0.0, chunks.getHeading(constant, 1.0), epsilon);
+
+        Assert.assertEquals(10.0, chunks.getDuration(distance), epsilon);
+        Assert.assertEquals(7.5, chunks.getPosition(distance, 5.0), epsilon);
+        Assert.assertEquals(1.0, chunks.getVelocity(distance, 5.0), epsilon);
+        Assert.assertEquals(1.0, chunks.getHeading(distance, 5.0), epsilon);
+        Assert.assertEquals(-2.0, chunks.getHeading(distance, 50.0), epsilon);
+    }
+}
@@ -0,0 +1,73 @@
+package frc.robot.motion;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CompositeProfileTest {
+    private static final double epsilon = 1e-6;
+
+    // 16m in 7s, then back 8m in 6s
+    private static final StaticProfile forward = new StaticProfile(0.0, 0.0, 16.0, 4.0, 2.0, 1.0);
+    private static final StaticProfile backward = new StaticProfile(0.0, 0.0, -8.0, 2.0, 1.0, 1.0);
+
+    @Test
+    public void duration() {
+        CompositeProfile profile = new CompositeProfile(forward, backward);
+        Assert.assertEquals(2, profile.getLegCount());
+        Assert.assertEquals(forward.getDuration() + backward.getDuration(), profile.getDuration(), epsilon);
+        Assert.assertEquals(7.0, profile.getLegStartTime(1), epsilon);
+    }
+
+    @Test
+    public void getSetpoint() {
+        CompositeProfile profile = new CompositeProfile(forward, backward);
+
+        Setpoint sp = profile.getSetpoint(1.5);
+        Assert.assertEquals(2.25, sp.getPosition(), epsilon);
+        Assert.assertEquals(3.0, sp.getVelocity(), epsilon);
+        Assert.assertEquals(2.0, sp.getAcceleration(), epsilon);
+
+        // Second leg is offset to start where the first leg ended
+        sp = profile.getSetpoint(7.0);
+        Assert.assertEquals(16.0, sp.getPosition(), epsilon);
+        Assert.assertEquals(0.0, sp.getVelocity(), epsilon);
+
+        sp = profile.getSetpoint(8.0);
+        Assert.assertEquals(15.5, sp.getPosition(), epsilon);
+        Assert.assertEquals(-1.0, sp.getVelocity(), epsilon);
+        Assert.assertEquals(-1.0, sp.getAcceleration(), epsilon);
+
+        sp = profile.getSetpoint(100.0);
+        Assert.assertEquals(8.0, sp.getPosition(), epsilon);
+        Assert.assertEquals(0.0, sp.getVelocity(), epsilon);
+    }
+
+    @Test
+    public void append() {
+        CompositeProfile profile = new CompositeProfile(forward).append(backward).append(forward);
+        Assert.assertEquals(3, profile.getLegCount());
+        Assert.assertEquals(24.0, profile.getSetpoint(profile.getDuration()).getPosition(), epsilon);
+
+        CompositeProfile nested = new CompositeProfile(forward).append(profile);
+        Assert.assertEquals(4, nested.getLegCount());
+        Assert.assertEquals(40.0, nested.getSetpoint(nested.getDuration()).getPosition(), epsilon);
+    }
+
+    @Test
+    public void splice() {
+        CompositeProfile profile = new CompositeProfile(forward, forward).splice(3.0, backward);
+        Assert.assertEquals(2, profile.getLegCount());
+        Assert.assertEquals(3.0 + backward.getDuration(), profile.getDuration(), epsilon);
+
+        Setpoint sp = profile.getSetpoint(2.0);
+        Assert.assertEquals(4.0, sp.getPosition(), epsilon);
+        Assert.assertEquals(4.0, sp.getVelocity(), epsilon);
+
+        // Spliced leg starts from the position at the splice point
+        sp = profile.getSetpoint(4.0);
+        Assert.assertEquals(7.5, sp.getPosition(), epsilon);
+        Assert.assertEquals(-1.0, sp.getVelocity(), epsilon);
+
+        Assert.assertEquals(0.0, profile.getSetpoint(profile.getDuration()).getPosition(), epsilon);
+    }
+}
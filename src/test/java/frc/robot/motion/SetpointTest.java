@@ -16,15 +16,4 @@ public class SetpointTest {
         Assert.assertEquals(Math.PI / 2.0, sp.getHeading(), epsilon);
 
     }
-
-    @Test
-    public void chunkConstructor() {
-        Chunk chunk = Chunk.createConstantVelocity(5.0, 50.0);
-        Setpoint sp = new Setpoint(chunk, 5.0, 5.0, 0.0, 0.0);
-        Assert.assertEquals(0.0, sp.getAcceleration(), epsilon);
-        Assert.assertEquals(5.0, sp.getVelocity(), epsilon);
-        Assert.assertEquals(30.0, sp.getPosition(), epsilon);
-        Assert.assertEquals(0.0, sp.getCurvature(), epsilon);
-        Assert.assertEquals(0.0, sp.getHeading(), epsilon);
-    }
-}
\ No newline at end of file
+}
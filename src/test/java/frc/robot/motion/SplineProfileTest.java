@@ -66,6 +66,21 @@ public class SplineProfileTest {
         Assert.assertEquals(Math.PI / 2.0, sp.getHeading(), epsilon);
     }
 
+    @Test
+    public void chunkValues() {
+        int count = profile.getChunkCount();
+        Assert.assertEquals(0.0, profile.getTime(0), epsilon);
+        Assert.assertEquals(profile.getLength(), profile.getTime(count), epsilon);
+        Assert.assertEquals(0.0, profile.getVelocity(0), epsilon);
+        Assert.assertEquals(0.0, profile.getVelocity(count), epsilon);
+        Assert.assertEquals(Math.PI / 2.0, profile.getHeading(count), epsilon);
+
+        Setpoint sp = profile.getSetpointAtTime(profile.getTime(40) + 1e-6);
+        Assert.assertEquals(40 * 0.1, sp.getPosition(), epsilon);
+        Assert.assertEquals(profile.getVelocity(40), sp.getVelocity(), epsilon);
+        Assert.assertEquals(profile.getCurvature(40), sp.getCurvature(), epsilon);
+    }
+
     @AfterClass
     public static void plot() {
         if (ProfilePlot.shouldGraph("profiles")) {
@@ -0,0 +1,159 @@
+package frc.robot.motion;
+
+import java.util.ArrayList;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import frc.robot.spline.QuinticSpline;
+import frc.robot.utils.Point;
+import frc.robot.utils.Vector;
+
+public class SplineReplannerTest {
+    private static final double epsilon = 1e-3;
+    private static QuinticSpline spline;
+    private static SplineReplanner replanner;
+
+    // Checks that two profiles have the same chunks and velocities
+    private static void assertProfilesEqual(SplineProfile expected, SplineProfile actual) {
+        Assert.assertEquals(expected.getChunkCount(), actual.getChunkCount());
+        for (int i = 0; i <= expected.getChunkCount(); i++) {
+            Assert.assertEquals(expected.getVelocity(i), actual.getVelocity(i), epsilon);
+            Assert.assertEquals(expected.getCurvature(i), actual.getCurvature(i), epsilon);
+            Assert.assertEquals(expected.getHeading(i), actual.getHeading(i), epsilon);
+        }
+        Assert.assertEquals(expected.getLength(), actual.getLength(), epsilon);
+    }
+
+    // Checks that a replanned profile covers the same path as profiling the
+    // replanned spline from scratch. Its first chunk is shortened to line up with
+    // the cached chunks, so the two only agree to within a chunk.
+    private static void assertProfilesClose(SplineProfile expected, SplineProfile actual) {
+        Assert.assertEquals(expected.getPosition(expected.getChunkCount()), actual.getPosition(actual.getChunkCount()),
+                0.1);
+        Assert.assertEquals(expected.getLength(), actual.getLength(), 0.1);
+    }
+
+    @BeforeClass
+    public static void init() {
+        ArrayList<Double> knots = new ArrayList<>();
+        knots.add(0.0);
+        knots.add(1.0);
+        knots.add(2.0);
+
+        ArrayList<Point> points = new ArrayList<>();
+        points.add(new Point(0.0, 0.0));
+        points.add(new Point(0.0, 5.0));
+        points.add(new Point(0.0, 10.0));
+
+        ArrayList<Vector> derivatives = new ArrayList<>();
+        derivatives.add(new Vector(0.0, 5.0));
+        derivatives.add(new Vector(0.0, 5.0));
+        derivatives.add(new Vector(0.0, 5.0));
+
+        ArrayList<Vector> secondDerivatives = new ArrayList<>();
+        secondDerivatives.add(new Vector(0.0, 0.0));
+        secondDerivatives.add(new Vector(0.0, 0.0));
+        secondDerivatives.add(new Vector(0.0, 0.0));
+
+        spline = new QuinticSpline(knots, points, derivatives, secondDerivatives);
+        replanner = new SplineReplanner(spline, 0.1, 3.0, 2.0, 0.7, 1.0);
+    }
+
+    @Test
+    public void originalProfile() {
+        SplineProfile profile = replanner.getProfile();
+
+        Setpoint sp = profile.getSetpointAtTime(1.4);
+        Assert.assertEquals(1.9600, sp.getPosition(), epsilon);
+        Assert.assertEquals(2.8000, sp.getVelocity(), epsilon);
+        Assert.assertEquals(2.0, sp.getAcceleration(), epsilon);
+        Assert.assertEquals(Math.PI / 2.0, sp.getHeading(), epsilon);
+
+        // Chunks carry over segment boundaries, so only the last partial chunk is
+        // left off the end of the path
+        sp = profile.getSetpointAtTime(profile.getLength());
+        Assert.assertEquals(0.0, sp.getVelocity(), epsilon);
+        Assert.assertEquals(10.0, sp.getPosition(), 0.1);
+
+        assertProfilesEqual(new SplineProfile(spline, 0.1, 3.0, 2.0, 0.7), profile);
+    }
+
+    @Test
+    public void replanMoving() {
+        SplineProfile profile = replanner.replan(0, new Point(0.0, 2.5), Math.PI / 2.0, 3.0);
+
+        Setpoint sp = profile.getSetpointAtTime(0.0);
+        Assert.assertEquals(0.0, sp.getPosition(), epsilon);
+        Assert.assertEquals(3.0, sp.getVelocity(), epsilon);
+        Assert.assertEquals(Math.PI / 2.0, sp.getHeading(), epsilon);
+
+        sp = profile.getSetpointAtTime(1.0);
+        Assert.assertEquals(3.0, sp.getPosition(), 0.05);
+        Assert.assertEquals(3.0, sp.getVelocity(), epsilon);
+
+        sp = profile.getSetpointAtTime(profile.getLength());
+        Assert.assertEquals(0.0, sp.getVelocity(), epsilon);
+        Assert.assertEquals(7.5, sp.getPosition(), 0.1);
+
+        // Same as profiling the replanned spline from scratch
+        QuinticSpline replanned = spline.replan(0, new Point(0.0, 2.5), new Vector(0.0, 2.5), Vector.zero());
+        assertProfilesClose(new SplineProfile(replanned, 0.1, 3.0, 3.0, 2.0, 0.7), profile);
+    }
+
+    @Test
+    public void replanOffPath() {
+        Point position = new Point(0.5, 2.0);
+        SplineProfile profile = replanner.replan(0, position, Math.PI / 3.0, 1.0);
+
+        double distance = new Point(0.0, 5.0).subtract(position).getMagnitude();
+        Vector derivative = new Vector(Math.cos(Math.PI / 3.0), Math.sin(Math.PI / 3.0)).scale(distance);
+        QuinticSpline replanned = spline.replan(0, position, derivative, Vector.zero());
+        assertProfilesClose(new SplineProfile(replanned, 0.1, 1.0, 3.0, 2.0, 0.7), profile);
+    }
+
+    @Test
+    public void replanReusesTail() {
+        int reuses = replanner.getTailReuses();
+        SplineProfile profile = replanner.replan(0, new Point(0.5, 2.0), Math.PI / 3.0, 1.0);
+        Assert.assertEquals(reuses + 1, replanner.getTailReuses());
+        Assert.assertEquals(1.0, profile.getVelocity(0), epsilon);
+
+        // The first chunk is shortened so the last chunk of the new segment ends
+        // where the cached chunks of the second segment start
+        SplineProfile original = replanner.getProfile();
+        int offset = original.getChunkCount() - profile.getChunkCount();
+        Assert.assertTrue(profile.getPosition(1) - profile.getPosition(0) <= 0.1 + epsilon);
+        for (int i = 1; i < profile.getChunkCount(); i++) {
+            Assert.assertEquals(0.1, profile.getPosition(i + 1) - profile.getPosition(i), epsilon);
+        }
+        // Deceleration at the end of the path comes from the cached profile
+        for (int i = profile.getChunkCount() - 20; i <= profile.getChunkCount(); i++) {
+            Assert.assertEquals(original.getVelocity(i + offset), profile.getVelocity(i), epsilon);
+        }
+    }
+
+    @Test
+    public void latencyBudget() {
+        ArrayList<Double> knots = new ArrayList<>();
+        knots.add(0.0);
+        knots.add(1.0);
+
+        ArrayList<Point> points = new ArrayList<>();
+        points.add(new Point(0.0, 0.0));
+        points.add(new Point(5.0, 0.0));
+
+        ArrayList<Vector> derivatives = new ArrayList<>();
+        derivatives.add(new Vector(5.0, 0.0));
+        derivatives.add(new Vector(5.0, 0.0));
+
+        ArrayList<Vector> secondDerivatives = new ArrayList<>();
+        secondDerivatives.add(Vector.zero());
+        secondDerivatives.add(Vector.zero());
+
+        QuinticSpline spline = new QuinticSpline(knots, points, derivatives, secondDerivatives);
+        SplineReplanner noBudget = new SplineReplanner(spline, 0.1, 3.0, 2.0, 0.7, 0.0);
+        Assert.assertNull(noBudget.replan(0, new Point(1.0, 0.0), 0.0, 1.0));
+    }
+}
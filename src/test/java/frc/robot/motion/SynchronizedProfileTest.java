@@ -0,0 +1,50 @@
+package frc.robot.motion;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SynchronizedProfileTest {
+    private static final double epsilon = 1e-6;
+
+    @Test
+    public void minimumDuration() {
+        // Trapezoid
+        Assert.assertEquals(7.0, SynchronizedProfile.minimumDuration(16.0, 4.0, 2.0, 1.0), epsilon);
+        Assert.assertEquals(7.0, SynchronizedProfile.minimumDuration(-16.0, 4.0, 2.0, 1.0), epsilon);
+        // Triangle that just reaches max velocity
+        Assert.assertEquals(4.0, SynchronizedProfile.minimumDuration(4.0, 2.0, 1.0, 1.0), epsilon);
+        // Triangle
+        Assert.assertEquals(2.0, SynchronizedProfile.minimumDuration(1.0, 2.0, 1.0, 1.0), epsilon);
+        Assert.assertEquals(0.0, SynchronizedProfile.minimumDuration(0.0, 2.0, 1.0, 1.0), epsilon);
+    }
+
+    @Test
+    public void cruiseVelocity() {
+        Assert.assertEquals(4.0, SynchronizedProfile.cruiseVelocity(16.0, 7.0, 2.0, 1.0), epsilon);
+        Assert.assertEquals(2.0, SynchronizedProfile.cruiseVelocity(4.0, 4.0, 1.0, 1.0), epsilon);
+        Assert.assertEquals(1.0, SynchronizedProfile.cruiseVelocity(4.0, 5.0, 1.0, 1.0), epsilon);
+    }
+
+    @Test
+    public void synchronize() {
+        SynchronizedProfile profile = new SynchronizedProfile(new double[] { 0.0, 2.0, 1.0 },
+                new double[] { 16.0, -2.0, 1.0 }, new double[] { 4.0, 2.0, 1.0 }, new double[] { 2.0, 1.0, 1.0 },
+                new double[] { 1.0, 1.0, 1.0 });
+
+        Assert.assertEquals(3, profile.getAxisCount());
+        Assert.assertEquals(7.0, profile.getDuration(), epsilon);
+        Assert.assertEquals(7.0, profile.getProfile(0).getDuration(), epsilon);
+        Assert.assertEquals(7.0, profile.getProfile(1).getDuration(), epsilon);
+        // Axis which doesn't need to move just holds its position
+        Assert.assertEquals(0.0, profile.getProfile(2).getDuration(), epsilon);
+
+        Assert.assertEquals(16.0, profile.getSetpoint(0, 7.0).getPosition(), epsilon);
+        Assert.assertEquals(-2.0, profile.getSetpoint(1, 7.0).getPosition(), epsilon);
+        Assert.assertEquals(1.0, profile.getSetpoint(2, 7.0).getPosition(), epsilon);
+
+        // Second axis is slowed down to cruise at (7 - sqrt(33)) / 2
+        double cruise = (7.0 - Math.sqrt(33.0)) / 2.0;
+        Assert.assertEquals(-cruise, profile.getSetpoint(1, 3.5).getVelocity(), epsilon);
+        Assert.assertEquals(0.0, profile.getSetpoint(1, 7.0).getVelocity(), epsilon);
+    }
+}
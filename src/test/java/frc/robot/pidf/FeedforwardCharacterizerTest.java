@@ -0,0 +1,114 @@
+package frc.robot.pidf;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FeedforwardCharacterizerTest {
+    private static final double epsilon = 1e-4;
+
+    private static final double kS = 0.8, kV = 2.5, kA = 0.3;
+
+    private static double voltage(double velocity, double acceleration) {
+        return kS * Math.signum(velocity) + kV * velocity + kA * acceleration;
+    }
+
+    @Test
+    public void exactTest() {
+        FeedforwardCharacterizer characterizer = new FeedforwardCharacterizer(0.05);
+
+        // Quasistatic ramp forwards and backwards, then a dynamic step
+        for (int i = 0; i < 100; i++) {
+            double velocity = 0.04 * i;
+            characterizer.addSample(voltage(velocity, 0.01), velocity, 0.01);
+            characterizer.addSample(voltage(-velocity, -0.01), -velocity, -0.01);
+        }
+        for (int i = 0; i < 50; i++) {
+            double velocity = 4.0 * (1.0 - Math.exp(-0.1 * i));
+            double acceleration = 0.4 * Math.exp(-0.1 * i) / 0.01;
+            characterizer.addSample(voltage(velocity, acceleration), velocity, acceleration);
+        }
+
+        Assert.assertEquals(kS, characterizer.getKS(), epsilon);
+        Assert.assertEquals(kV, characterizer.getKV(), epsilon);
+        Assert.assertEquals(kA, characterizer.getKA(), epsilon);
+
+        Gains gains = characterizer.getGains();
+        Assert.assertEquals(kS, gains.kS(), epsilon);
+        Assert.assertEquals(kV, gains.kV(), epsilon);
+        Assert.assertEquals(kA, gains.kA(), epsilon);
+        Assert.assertEquals(0.0, gains.kP(), epsilon);
+    }
+
+    @Test
+    public void noiseTest() {
+        Random random = new Random(7);
+        FeedforwardCharacterizer characterizer = new FeedforwardCharacterizer(0.05);
+
+        for (int i = 0; i < 5000; i++) {
+            double velocity = 6.0 * random.nextDouble() - 3.0;
+            double acceleration = 10.0 * random.nextDouble() - 5.0;
+            double voltage = voltage(velocity, acceleration) + 0.05 * random.nextGaussian();
+            characterizer.addSample(voltage, velocity, acceleration);
+        }
+
+        Assert.assertEquals(kS, characterizer.getKS(), 1e-2);
+        Assert.assertEquals(kV, characterizer.getKV(), 1e-2);
+        Assert.assertEquals(kA, characterizer.getKA(), 1e-2);
+    }
+
+    @Test
+    public void minVelocityTest() {
+        FeedforwardCharacterizer characterizer = new FeedforwardCharacterizer(0.1);
+        Assert.assertFalse(characterizer.addSample(1.0, 0.05, 0.0));
+        Assert.assertTrue(characterizer.addSample(1.0, -0.2, 0.0));
+        Assert.assertEquals(1, characterizer.getSampleCount());
+    }
+
+    @Test
+    public void invalidSampleTest() {
+        FeedforwardCharacterizer characterizer = new FeedforwardCharacterizer(0.1);
+        Assert.assertFalse(characterizer.addSample(1.0, Double.NaN, 0.0));
+        Assert.assertFalse(characterizer.addSample(1.0, Double.POSITIVE_INFINITY, 0.0));
+        Assert.assertFalse(characterizer.addSample(Double.NaN, 1.0, 0.0));
+        Assert.assertFalse(characterizer.addSample(1.0, 1.0, Double.NEGATIVE_INFINITY));
+        Assert.assertEquals(0, characterizer.getSampleCount());
+
+        // Estimates are unaffected
+        Assert.assertTrue(characterizer.addSample(1.0, 0.5, 0.0));
+        Assert.assertFalse(Double.isNaN(characterizer.getKV()));
+    }
+
+    @Test
+    public void logTest() throws IOException {
+        StringBuilder csv = new StringBuilder("voltage,velocity,acceleration\n");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream binary = new DataOutputStream(bytes);
+
+        for (int i = 0; i < 100; i++) {
+            double velocity = 0.05 * (i - 50) + 0.01;
+            double acceleration = (i % 2 == 0) ? 1.0 : -2.0;
+            double voltage = voltage(velocity, acceleration);
+
+            csv.append(voltage).append(',').append(velocity).append(',').append(acceleration).append('\n');
+            binary.writeDouble(voltage);
+            binary.writeDouble(velocity);
+            binary.writeDouble(acceleration);
+        }
+
+        FeedforwardCharacterizer fromCSV = new FeedforwardCharacterizer(0.0);
+        Assert.assertEquals(100, fromCSV.addCSV(new StringReader(csv.toString())));
+        Assert.assertEquals(kV, fromCSV.getKV(), epsilon);
+
+        FeedforwardCharacterizer fromBinary = new FeedforwardCharacterizer(0.0);
+        Assert.assertEquals(100, fromBinary.addBinary(new ByteArrayInputStream(bytes.toByteArray())));
+        Assert.assertEquals(kS, fromBinary.getKS(), epsilon);
+        Assert.assertEquals(kA, fromBinary.getKA(), epsilon);
+    }
+}
@@ -0,0 +1,76 @@
+package frc.robot.pidf;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import frc.robot.utils.Bounds;
+
+public class GainScheduleTest {
+    private static final double epsilon = 1e-6;
+
+    private static final GainSchedule schedule = new GainSchedule(new double[] { 0.0, 1.0, 3.0 },
+            new Gains[] { new Gains(1.0, 0.0, 0.0, 0.0, 2.0, 0.0), new Gains(2.0, 0.5, 0.0, 0.0, 2.0, 0.0),
+                    new Gains(6.0, 0.5, 1.0, 0.0, 0.0, 4.0) },
+            7);
+
+    @Test
+    public void breakpoints() {
+        Gains gains = schedule.getGains(0.0);
+        Assert.assertEquals(1.0, gains.kP(), epsilon);
+        Assert.assertEquals(2.0, gains.kV(), epsilon);
+
+        gains = schedule.getGains(1.0);
+        Assert.assertEquals(2.0, gains.kP(), epsilon);
+        Assert.assertEquals(0.5, gains.kI(), epsilon);
+
+        gains = schedule.getGains(3.0);
+        Assert.assertEquals(6.0, gains.kP(), epsilon);
+        Assert.assertEquals(1.0, gains.kD(), epsilon);
+        Assert.assertEquals(0.0, gains.kV(), epsilon);
+        Assert.assertEquals(4.0, gains.kA(), epsilon);
+    }
+
+    @Test
+    public void interpolate() {
+        double[] gains = new double[7];
+
+        schedule.get(0.25, gains);
+        Assert.assertEquals(1.25, gains[0], epsilon);
+        Assert.assertEquals(0.125, gains[1], epsilon);
+
+        schedule.get(2.0, gains);
+        Assert.assertEquals(4.0, gains[0], epsilon);
+        Assert.assertEquals(0.5, gains[2], epsilon);
+        Assert.assertEquals(1.0, gains[4], epsilon);
+        Assert.assertEquals(2.0, gains[5], epsilon);
+    }
+
+    @Test
+    public void clamp() {
+        double[] gains = new double[7];
+
+        schedule.get(-5.0, gains);
+        Assert.assertEquals(1.0, gains[0], epsilon);
+
+        schedule.get(10.0, gains);
+        Assert.assertEquals(6.0, gains[0], epsilon);
+    }
+
+    @Test
+    public void scheduledPIDF() {
+        PIDF controller = new PIDF(new Gains(100.0, 0.0, 0.0), new Bounds(-100.0, 100.0));
+        controller.setGainSchedule(schedule);
+        controller.initialize(0.0, 0.0, 0.0);
+
+        // Scheduled on the input by default, kP is 4.0 at 2.0
+        Assert.assertEquals(4.0, controller.calculateOutput(2.0, 3.0, 0.0, 0.0, 0.0), epsilon);
+        // Scheduled on a separate variable, kP is 1.25 at 0.25
+        Assert.assertEquals(1.25, controller.calculateOutput(2.0, 3.0, 0.0, 0.0, 0.0, 0.25), epsilon);
+        // Reports the gains from the schedule, not the ones it was constructed with
+        Assert.assertEquals(1.25, controller.getGains().kP(), epsilon);
+
+        controller.setGainSchedule(null);
+        Assert.assertEquals(100.0, controller.getGains().kP(), epsilon);
+        Assert.assertEquals(100.0, controller.calculateOutput(2.0, 3.0, 0.0, 0.0, 0.0), epsilon);
+    }
+}
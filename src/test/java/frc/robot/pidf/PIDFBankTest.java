@@ -0,0 +1,81 @@
+package frc.robot.pidf;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import frc.robot.utils.Bounds;
+
+public class PIDFBankTest {
+    private static final double epsilon = 1e-9;
+
+    @Test
+    public void matchesPIDF() {
+        Gains[] gains = { new Gains(2.0, 4.0, 0.5, 0.0, 1.0, 0.25), new Gains(1.0, 0.25, 0.0, 1.0, 0.0, 0.0),
+                new Gains(0.02, 0.0, 0.01, 0.0, 0.0, 0.0) };
+        Bounds[] outputBounds = { new Bounds(-6.0, 6.0), new Bounds(-10.0, 10.0), new Bounds(-2.0, 2.0) };
+
+        PIDF[] controllers = new PIDF[gains.length];
+        for (int i = 0; i < gains.length; i++) {
+            controllers[i] = new PIDF(gains[i], outputBounds[i]);
+        }
+        PIDFBank bank = new PIDFBank(gains, outputBounds);
+        Assert.assertEquals(3, bank.size());
+
+        controllers[2].setDerivativeOnInput(true);
+        controllers[2].setContinuous(new Bounds(10, 370), true);
+        bank.setDerivativeOnInput(2, true);
+        bank.setContinuous(2, new Bounds(10, 370), true);
+
+        double[] initialOutputs = { 0.0, 0.5, 0.0 };
+        double[] initialInputs = { 0.0, 0.0, 10.0 };
+        for (int i = 0; i < gains.length; i++) {
+            controllers[i].initialize(initialInputs[i], 0.0, initialOutputs[i]);
+            bank.initialize(i, initialInputs[i], 0.0, initialOutputs[i]);
+        }
+
+        double[] inputs = new double[3];
+        double[] setpoints = new double[3];
+        double[] velocities = new double[3];
+        double[] accelerations = new double[3];
+        double[] outputs = new double[3];
+
+        for (int step = 0; step < 200; step++) {
+            double time = 0.05 * step;
+            // Large swings so outputs saturate and the integral term winds up
+            inputs[0] = 10.0 * Math.sin(0.3 * step);
+            setpoints[0] = 12.0 * Math.cos(0.1 * step);
+            velocities[0] = Math.sin(0.2 * step);
+            accelerations[0] = Math.cos(0.2 * step);
+
+            inputs[1] = 5.0 * Math.sin(0.05 * step);
+            setpoints[1] = step < 100 ? 5.0 : -5.0;
+
+            // Wraps around from 370 back to 10
+            inputs[2] = 10.0 + (7.0 * step) % 360.0;
+            setpoints[2] = step % 50 < 25 ? 280.0 : 25.0;
+
+            bank.calculate(inputs, setpoints, velocities, accelerations, time, outputs);
+            for (int i = 0; i < gains.length; i++) {
+                double expected = controllers[i].calculateOutput(inputs[i], setpoints[i], velocities[i],
+                        accelerations[i], time);
+                Assert.assertEquals(expected, outputs[i], epsilon);
+            }
+        }
+    }
+
+    @Test
+    public void setGains() {
+        Gains[] gains = { new Gains(1.0, 0.0, 0.0) };
+        Bounds[] outputBounds = { Bounds.noBounds() };
+        PIDFBank bank = new PIDFBank(gains, outputBounds);
+        bank.initialize(0, 0.0, 0.0, 0.0);
+
+        double[] outputs = new double[1];
+        bank.calculate(new double[] { 1.0 }, new double[] { 3.0 }, 1.0, outputs);
+        Assert.assertEquals(2.0, outputs[0], epsilon);
+
+        bank.setGains(0, new Gains(3.0, 0.0, 0.0));
+        bank.calculate(new double[] { 1.0 }, new double[] { 3.0 }, 2.0, outputs);
+        Assert.assertEquals(6.0, outputs[0], epsilon);
+    }
+}
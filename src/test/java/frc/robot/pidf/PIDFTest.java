@@ -6,6 +6,9 @@ import java.util.List;
 import org.junit.Assert;
 import org.junit.Test;
 
+import frc.robot.filters.LinearRegressionDerivative;
+import frc.robot.filters.MedianFilter;
+import frc.robot.filters.MovingAverage;
 import frc.robot.utils.Bounds;
 import frc.robot.utils.Utils;
 
@@ -95,4 +98,71 @@ public class PIDFTest {
         pd.initialize(10.0, 0.0, 0.0);
         checkData(pd, testData);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void swapGainsTest() {
+        Gains gains = new Gains(1.0, 1.0, 0.0);
+        Bounds outputBounds = new Bounds(-10.0, 10.0);
+        PIDF pi = new PIDF(gains, outputBounds);
+
+        pi.initialize(0.0, 0.0, 0.0);
+        // Integral is 2.0 after the first update
+        Assert.assertEquals(4.0, pi.calculateOutput(0.0, 2.0, 1.0), epsilon);
+
+        Gains newGains = new Gains(2.0, 0.5, 0.0);
+        pi.setGains(newGains);
+        Assert.assertSame(newGains, pi.getGains());
+
+        // Integral term is kept: 2.0 + 0.5 * 2.0 * 1.0
+        Assert.assertEquals(7.0, pi.calculateOutput(0.0, 2.0, 2.0), epsilon);
+    }
+
+    @Test
+    public void derivativeEstimatorTest() {
+        PIDF controller = new PIDF(new Gains(0.0, 0.0, 1.0), new Bounds(-100.0, 100.0));
+        controller.setDerivativeEstimator(new LinearRegressionDerivative(3));
+        controller.initialize(0.0, 0.0, 0.0);
+
+        // Error falls at 3 per second, with uneven update timing
+        double[] times = { 0.01, 0.03, 0.035, 0.05 };
+        for (double time : times) {
+            controller.calculateOutput(3.0 * time, 0.0, time);
+        }
+        Assert.assertEquals(-3.0, controller.calculateOutput(3.0 * 0.07, 0.0, 0.07), epsilon);
+
+        // Derivative on input starts from the input at initialization
+        controller.setDerivativeOnInput(true);
+        controller.initialize(1.0, 0.0, 0.0);
+        Assert.assertEquals(-2.0, controller.calculateOutput(1.0 + 2.0 * 0.02, 5.0, 0.02), epsilon);
+        Assert.assertEquals(-2.0, controller.calculateOutput(1.0 + 2.0 * 0.05, 5.0, 0.05), epsilon);
+    }
+
+    @Test
+    public void filterTest() {
+        PIDF controller = new PIDF(new Gains(0.0, 0.0, 1.0), new Bounds(-100.0, 100.0));
+        controller.setDerivativeFilter(new MovingAverage(2));
+        controller.initialize(0.0, 0.0, 0.0);
+
+        Assert.assertEquals(-10.0, controller.calculateOutput(0.1, 0.0, 0.01), epsilon);
+        Assert.assertEquals(-15.0, controller.calculateOutput(0.3, 0.0, 0.02), epsilon);
+        Assert.assertEquals(-20.0, controller.calculateOutput(0.5, 0.0, 0.03), epsilon);
+
+        controller = new PIDF(new Gains(1.0, 0.0, 0.0), new Bounds(-100.0, 100.0));
+        controller.setInputFilter(new MedianFilter(3));
+        controller.initialize(1.0, 0.0, 0.0);
+
+        Assert.assertEquals(-1.0, controller.calculateOutput(1.0, 0.0, 0.01), epsilon);
+        // Spike in the input is ignored
+        Assert.assertEquals(-1.0, controller.calculateOutput(50.0, 0.0, 0.02), epsilon);
+    }
+
+    @Test
+    public void staticFrictionTest() {
+        PIDF controller = new PIDF(new Gains(0.0, 0.0, 0.0, 0.0, 2.0, 0.0, 0.5), new Bounds(-12.0, 12.0));
+        controller.initialize(0.0, 0.0, 0.0);
+
+        Assert.assertEquals(2.5, controller.calculateOutput(0.0, 0.0, 1.0, 0.0, 0.01), epsilon);
+        Assert.assertEquals(-4.5, controller.calculateOutput(0.0, 0.0, -2.0, 0.0, 0.02), epsilon);
+        Assert.assertEquals(0.0, controller.calculateOutput(0.0, 0.0, 0.0, 0.0, 0.03), epsilon);
+    }
+}
@@ -0,0 +1,72 @@
+package frc.robot.pidf;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import frc.robot.sim.FirstOrderPlant;
+import frc.robot.sim.Plant;
+import frc.robot.sim.SecondOrderPlant;
+import frc.robot.utils.Bounds;
+
+public class RelayTunerTest {
+    private static void runRelay(RelayTuner tuner, Plant plant) {
+        double input = 0.0;
+        double time = 0.0;
+        while (!tuner.isFinished() && time < 60.0) {
+            input = plant.step(tuner.update(input, time));
+            time += plant.getTimeStep();
+        }
+        Assert.assertTrue(tuner.isFinished());
+    }
+
+    // Runs a closed loop step response and returns the final error
+    private static double runStep(Gains gains, Plant plant, double setpoint, double duration) {
+        PIDF controller = new PIDF(gains, new Bounds(-12.0, 12.0));
+        controller.initialize(0.0, 0.0, 0.0);
+
+        double input = 0.0;
+        for (double time = 0.0; time < duration; time += plant.getTimeStep()) {
+            input = plant.step(controller.calculateOutput(input, setpoint, time));
+        }
+        return setpoint - input;
+    }
+
+    @Test
+    public void firstOrderDeadTime() {
+        // Ultimate frequency w solves 0.1w + atan(w) = pi, so w = 16.3 rad/s,
+        // Tu = 0.385 s and Ku = sqrt(1 + w^2) = 16.3
+        FirstOrderPlant plant = new FirstOrderPlant(1.0, 1.0, 0.1, 0.001);
+        RelayTuner tuner = new RelayTuner(1.0, 1.0, 2.0, 0.01, 2, 5);
+        runRelay(tuner, plant);
+
+        Assert.assertEquals(0.385, tuner.getUltimatePeriod(), 0.03);
+        // The relay's describing function underestimates the ultimate gain when the
+        // oscillation isn't very sinusoidal, which errs on the side of stability
+        Assert.assertTrue(tuner.getUltimateGain() < 16.3);
+        Assert.assertTrue(tuner.getUltimateGain() > 0.75 * 16.3);
+
+        Gains gains = tuner.getGains(RelayTuner.Rule.ZIEGLER_NICHOLS_PID);
+        Assert.assertEquals(0.6 * tuner.getUltimateGain(), gains.kP(), 1e-6);
+        Assert.assertEquals(0.0, runStep(gains, new FirstOrderPlant(1.0, 1.0, 0.1, 0.001), 5.0, 10.0), 0.01);
+    }
+
+    @Test
+    public void secondOrderDeadTime() {
+        SecondOrderPlant plant = new SecondOrderPlant(1.0, 5.0, 0.7, 0.05, 0.001);
+        RelayTuner tuner = new RelayTuner(0.5, 0.5, 1.0, 0.005, 2, 5);
+        runRelay(tuner, plant);
+
+        Gains gains = tuner.getGains(RelayTuner.Rule.NO_OVERSHOOT);
+        Assert.assertEquals(0.0, runStep(gains, new SecondOrderPlant(1.0, 5.0, 0.7, 0.05, 0.001), 2.0, 10.0),
+                0.01);
+    }
+
+    @Test
+    public void notMeasured() {
+        RelayTuner tuner = new RelayTuner(1.0, 0.5, 2.0, 0.0, 0, 1);
+        Assert.assertFalse(tuner.isFinished());
+        Assert.assertEquals(2.5, tuner.update(0.0, 0.0), 1e-6);
+        Assert.assertEquals(-1.5, tuner.update(2.0, 0.1), 1e-6);
+        Assert.assertTrue(Double.isNaN(tuner.getUltimatePeriod()));
+    }
+}
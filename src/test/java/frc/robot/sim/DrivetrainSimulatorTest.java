@@ -0,0 +1,103 @@
+package frc.robot.sim;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DrivetrainSimulatorTest {
+    private static final double epsilon = 1e-6;
+
+    private static final double gearRatio = 10.0;
+    private static final double wheelRadius = 0.0762;
+    private static final int countsPerRevolution = 4096;
+
+    private static DrivetrainSimulator simulator(double frictionCoefficient) {
+        return new DrivetrainSimulator(DCMotor.cim(2), gearRatio, wheelRadius, 0.6, 50.0, 3.0, 0.02,
+                frictionCoefficient, countsPerRevolution, 0.001);
+    }
+
+    @Test
+    public void motorTest() {
+        DCMotor motor = DCMotor.cim(2);
+        Assert.assertEquals(2 * 2.42, motor.getTorque(12.0, 0.0), epsilon);
+        Assert.assertEquals(133.0, motor.getCurrent(12.0, 0.0), epsilon);
+        // At free speed, the only current is the free current
+        Assert.assertEquals(2.7, motor.getCurrent(12.0, 5310.0 * 2.0 * Math.PI / 60.0), epsilon);
+    }
+
+    @Test
+    public void straightTest() {
+        DrivetrainSimulator sim = simulator(1.1);
+        for (int i = 0; i < 5000; i++) {
+            sim.step(1.0, 1.0);
+        }
+
+        double topSpeed = DCMotor.cim(2).getFreeSpeed(12.0) / gearRatio * wheelRadius;
+        Assert.assertEquals(topSpeed, sim.getVelocity(), 1e-3);
+        Assert.assertEquals(0.0, sim.getY(), epsilon);
+        Assert.assertEquals(0.0, sim.getHeading(), epsilon);
+        Assert.assertTrue(sim.getX() > 0.0);
+
+        // Encoders read whole counts, which match the distance traveled
+        double countDistance = 2.0 * Math.PI * wheelRadius / countsPerRevolution;
+        Assert.assertEquals(sim.getLeftEncoderCount() * countDistance, sim.getLeftEncoderDistance(), epsilon);
+        // Wheels slip when accelerating from rest at full power, so they turn further
+        // than the robot moves
+        Assert.assertTrue(sim.getLeftEncoderDistance() > sim.getX());
+        Assert.assertEquals(sim.getVelocity(), sim.getRightEncoderVelocity(), 10.0 * countDistance);
+    }
+
+    @Test
+    public void turnInPlaceTest() {
+        DrivetrainSimulator sim = simulator(1.1);
+        for (int i = 0; i < 2000; i++) {
+            sim.step(-0.5, 0.5);
+        }
+
+        Assert.assertEquals(0.0, sim.getVelocity(), epsilon);
+        Assert.assertEquals(0.0, sim.getX(), epsilon);
+        Assert.assertTrue(sim.getAngularVelocity() > 0.0);
+        Assert.assertTrue(sim.getHeading() > 0.0);
+        Assert.assertEquals(-sim.getLeftEncoderDistance(), sim.getRightEncoderDistance(), 1e-3);
+    }
+
+    @Test
+    public void slipTest() {
+        // On a slippery floor, the wheels spin faster than the robot moves
+        DrivetrainSimulator slippery = simulator(0.1);
+        DrivetrainSimulator grippy = simulator(1.1);
+        for (int i = 0; i < 100; i++) {
+            slippery.step(0.3, 0.3);
+            grippy.step(0.3, 0.3);
+        }
+
+        Assert.assertTrue(slippery.getLeftWheelSpeed() > slippery.getVelocity() + 0.1);
+        Assert.assertEquals(grippy.getVelocity(), grippy.getLeftWheelSpeed(), epsilon);
+        Assert.assertTrue(grippy.getVelocity() > slippery.getVelocity());
+        // Acceleration is limited by friction
+        Assert.assertEquals(0.1 * 9.81 * 0.1, slippery.getVelocity(), 1e-6);
+
+        // Once the robot catches up with the wheels, they grip again
+        for (int i = 0; i < 10000; i++) {
+            slippery.step(0.3, 0.3);
+        }
+        Assert.assertEquals(slippery.getVelocity(), slippery.getLeftWheelSpeed(), epsilon);
+    }
+
+    @Test
+    public void arcTest() {
+        DrivetrainSimulator sim = simulator(1.1);
+        for (int i = 0; i < 20000; i++) {
+            sim.step(0.4, 0.6);
+        }
+
+        // Steady state driving in a circle, so the center of the circle is fixed
+        double radius = sim.getVelocity() / sim.getAngularVelocity();
+        double centerX = sim.getX() - radius * Math.sin(sim.getHeading());
+        double centerY = sim.getY() + radius * Math.cos(sim.getHeading());
+        for (int i = 0; i < 1000; i++) {
+            sim.step(0.4, 0.6);
+        }
+        Assert.assertEquals(centerX, sim.getX() - radius * Math.sin(sim.getHeading()), 1e-4);
+        Assert.assertEquals(centerY, sim.getY() + radius * Math.cos(sim.getHeading()), 1e-4);
+    }
+}
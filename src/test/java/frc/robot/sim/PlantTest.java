@@ -0,0 +1,51 @@
+package frc.robot.sim;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PlantTest {
+    @Test
+    public void firstOrderStep() {
+        FirstOrderPlant plant = new FirstOrderPlant(2.0, 0.5, 0.0, 0.001);
+
+        double output = 0.0;
+        for (int i = 0; i < 500; i++) {
+            output = plant.step(1.0);
+        }
+        // One time constant reaches 63.2% of the steady state
+        Assert.assertEquals(2.0 * (1.0 - Math.exp(-1.0)), output, 1e-6);
+
+        for (int i = 0; i < 5000; i++) {
+            output = plant.step(1.0);
+        }
+        Assert.assertEquals(2.0, output, 1e-3);
+    }
+
+    @Test
+    public void firstOrderDeadTime() {
+        FirstOrderPlant plant = new FirstOrderPlant(1.0, 0.5, 0.1, 0.001);
+
+        double output = 0.0;
+        for (int i = 0; i < 100; i++) {
+            output = plant.step(1.0);
+        }
+        // No response until the dead time has passed
+        Assert.assertEquals(0.0, output, 1e-9);
+        Assert.assertTrue(plant.step(1.0) > 0.0);
+    }
+
+    @Test
+    public void secondOrderStep() {
+        SecondOrderPlant plant = new SecondOrderPlant(3.0, 10.0, 0.2, 0.0, 0.0005);
+
+        double output = 0.0;
+        double peak = 0.0;
+        for (int i = 0; i < 40000; i++) {
+            output = plant.step(1.0);
+            peak = Math.max(peak, output);
+        }
+        Assert.assertEquals(3.0, output, 1e-3);
+        // Underdamped, overshoot is exp(-pi z / sqrt(1 - z^2)), about 53%
+        Assert.assertEquals(3.0 * (1.0 + Math.exp(-Math.PI * 0.2 / Math.sqrt(1.0 - 0.04))), peak, 0.02);
+    }
+}
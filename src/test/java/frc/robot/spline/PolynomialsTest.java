@@ -0,0 +1,44 @@
+package frc.robot.spline;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PolynomialsTest {
+    private static final double epsilon = 1e-9;
+
+    @Test
+    public void roots() {
+        // (x - 0.2)(x - 0.5)(x - 0.9)
+        double[] roots = Polynomials.roots(new double[] { -0.09, 0.73, -1.6, 1.0 }, 0.0, 1.0);
+        Assert.assertEquals(3, roots.length);
+        Assert.assertEquals(0.2, roots[0], epsilon);
+        Assert.assertEquals(0.5, roots[1], epsilon);
+        Assert.assertEquals(0.9, roots[2], epsilon);
+
+        roots = Polynomials.roots(new double[] { -0.09, 0.73, -1.6, 1.0 }, 0.3, 0.8);
+        Assert.assertEquals(1, roots.length);
+        Assert.assertEquals(0.5, roots[0], epsilon);
+
+        // x^4 - 0.25, with unused higher coefficients
+        roots = Polynomials.roots(new double[] { -0.25, 0.0, 0.0, 0.0, 1.0, 0.0 }, -1.0, 1.0);
+        Assert.assertEquals(2, roots.length);
+        Assert.assertEquals(-Math.sqrt(0.5), roots[0], epsilon);
+        Assert.assertEquals(Math.sqrt(0.5), roots[1], epsilon);
+    }
+
+    @Test
+    public void noRoots() {
+        Assert.assertEquals(0, Polynomials.roots(new double[] { 1.0, 0.0, 1.0 }, -5.0, 5.0).length);
+        Assert.assertEquals(0, Polynomials.roots(new double[] { 0.0, 0.0, 0.0 }, 0.0, 1.0).length);
+        Assert.assertEquals(0, Polynomials.roots(new double[] { 3.0 }, 0.0, 1.0).length);
+    }
+
+    @Test
+    public void derivative() {
+        double[] derivative = Polynomials.derivative(new double[] { 1.0, 2.0, 3.0 });
+        Assert.assertEquals(2, derivative.length);
+        Assert.assertEquals(2.0, derivative[0], epsilon);
+        Assert.assertEquals(6.0, derivative[1], epsilon);
+        Assert.assertEquals(17.0, Polynomials.evaluate(new double[] { 1.0, 2.0, 3.0 }, 2.0), epsilon);
+    }
+}
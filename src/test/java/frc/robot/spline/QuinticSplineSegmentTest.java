@@ -4,7 +4,9 @@ import org.junit.Test;
 
 import frc.robot.plots.XYPlot;
 import frc.robot.plots.XYPlot.Data;
+import frc.robot.utils.BoundingBox;
 import frc.robot.utils.Point;
+import frc.robot.utils.PointBuffer;
 import frc.robot.utils.Vector;
 
 import java.util.ArrayList;
@@ -40,6 +42,52 @@ public class QuinticSplineSegmentTest {
         Assert.assertEquals(5.1848, curved.getArcLength(), 1e-4);
     }
 
+    @Test
+    public void bounds() {
+        // Every point of the segment is within its bounding box
+        for (double s = 0.0; s <= 1.0; s += 0.01) {
+            Point point = curved.getPosition(s);
+            Assert.assertEquals(0.0, curved.boxDistanceSquared(point.getX(), point.getY()), epsilon);
+        }
+        // The box just touches the segment where it curves out furthest
+        BoundingBox bounds = curved.getBounds();
+        double maxX = 0.0;
+        for (double s = 0.0; s <= 1.0; s += 0.0001) {
+            maxX = Math.max(maxX, curved.getPosition(s).getX());
+        }
+        Assert.assertEquals(maxX, bounds.maxX(), 1e-6);
+        Assert.assertEquals(0.0, bounds.minY(), epsilon);
+        Assert.assertEquals(5.0, bounds.maxY(), epsilon);
+
+        Assert.assertTrue(curved.boxDistanceSquared(-1.0, 2.5) > 0.0);
+        Assert.assertTrue(curved.boxDistanceSquared(0.0, 6.0) > 0.0);
+    }
+
+    @Test
+    public void projection() {
+        Assert.assertEquals(0.6, straight.project(2.0, 3.330239999999998), epsilon);
+        Assert.assertEquals(0.3, curved.project(0.2541, 0.8153999), 1e-4);
+        Assert.assertEquals(1.0, curved.project(0.0, 7.0), epsilon);
+    }
+
+    @Test
+    public void flatten() {
+        PointBuffer polyline = new PointBuffer();
+        // A straight segment only needs its end
+        straight.flatten(0.001, polyline);
+        Assert.assertEquals(1, polyline.size());
+        Assert.assertEquals(5.0, polyline.getY(0), epsilon);
+
+        polyline.clear();
+        curved.flatten(0.1, polyline);
+        int coarse = polyline.size();
+        polyline.clear();
+        curved.flatten(0.001, polyline);
+        Assert.assertTrue(polyline.size() > coarse);
+        Assert.assertEquals(0.0, polyline.getX(polyline.size() - 1), epsilon);
+        Assert.assertEquals(5.0, polyline.getY(polyline.size() - 1), epsilon);
+    }
+
     @Test
     public void position() {
         Assert.assertEquals(new Point(0.0, 0.0), straight.getPosition(0.0));
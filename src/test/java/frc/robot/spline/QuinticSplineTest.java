@@ -9,7 +9,9 @@ import org.junit.Test;
 
 import frc.robot.plots.XYPlot;
 import frc.robot.plots.XYPlot.Data;
+import frc.robot.utils.BoundingBox;
 import frc.robot.utils.Point;
+import frc.robot.utils.PointBuffer;
 import frc.robot.utils.Vector;
 
 public class QuinticSplineTest {
@@ -89,12 +91,147 @@ public class QuinticSplineTest {
     @Test
     public void headingChunks() {
         ArrayList<Double> chunks = spline.computeSplineChunks(10.0).getHeadingChunks();
-        Assert.assertEquals(0.500000000, chunks.get(0), epsilon);
+        Assert.assertEquals(1.570796327, chunks.get(0), epsilon);
         Assert.assertEquals(0.847187428, chunks.get(1), epsilon);
         Assert.assertEquals(-1.556796834, chunks.get(2), epsilon);
         Assert.assertEquals(-0.018410761, chunks.get(3), epsilon);
     }
 
+    // Distance to the closest of many points sampled along the spline
+    private static double sampledDistance(Point point) {
+        double closest = Double.POSITIVE_INFINITY;
+        for (int i = 0; i <= 100000; i++) {
+            double t = spline.getLength() * i / 100000.0;
+            closest = Math.min(closest, spline.getPosition(t).subtract(point).getMagnitude());
+        }
+        return closest;
+    }
+
+    @Test
+    public void projection() {
+        Assert.assertEquals(0.0, spline.projectOnto(new Point(1.5, -0.1)), epsilon);
+        Assert.assertEquals(50.0, spline.projectOnto(new Point(0.1, -1.5)), epsilon);
+
+        for (double x = -2.0; x <= 2.0; x += 0.5) {
+            for (double y = -2.0; y <= 2.0; y += 0.5) {
+                Point point = new Point(x, y);
+                double distance = spline.getPosition(spline.projectOnto(point)).subtract(point).getMagnitude();
+                Assert.assertEquals(sampledDistance(point), distance, 1e-3);
+            }
+        }
+    }
+
+    @Test
+    public void warmStartProjection() {
+        // Follow a point moving along the spline, starting each search from the
+        // previous result
+        double t = 0.0;
+        for (double u = 0.0; u <= 50.0; u += 0.25) {
+            Point point = spline.getPosition(u);
+            t = spline.projectOnto(point, t);
+            Assert.assertEquals(0.0, spline.getPosition(t).subtract(point).getMagnitude(), 1e-6);
+        }
+    }
+
+    @Test
+    public void bounds() {
+        BoundingBox bounds = spline.getBounds();
+        Assert.assertEquals(-5.510338838, bounds.minX(), epsilon);
+        Assert.assertEquals(-3.997705360, bounds.minY(), epsilon);
+        Assert.assertEquals(1.0, bounds.maxX(), epsilon);
+        Assert.assertEquals(5.510338838, bounds.maxY(), epsilon);
+
+        bounds = spline.getSegmentBounds(0);
+        Assert.assertEquals(0.0, bounds.minX(), epsilon);
+        Assert.assertEquals(1.0, bounds.maxY(), epsilon);
+    }
+
+    @Test
+    public void obstacles() {
+        Point point = spline.getPosition(16.0);
+        Assert.assertTrue(spline.intersects(new BoundingBox(point.getX() - 0.05, point.getY() - 0.05,
+                point.getX() + 0.05, point.getY() + 0.05)));
+        Assert.assertFalse(spline.intersects(new BoundingBox(-0.1, -0.1, 0.1, 0.1)));
+        Assert.assertFalse(spline.intersects(new BoundingBox(1.5, 0.9, 2.5, 1.1)));
+
+        // The wheel at (1, 1) starts at (2, 1)
+        Assert.assertTrue(spline.intersects(new BoundingBox(1.5, 0.9, 2.5, 1.1), 1.0, 1.0));
+        Assert.assertFalse(spline.intersects(new BoundingBox(1.5, 0.9, 2.5, 1.1), -1.0, -1.0));
+    }
+
+    @Test
+    public void selfIntersection() {
+        // The long middle segments loop around and cross each other
+        Assert.assertTrue(spline.intersectsItself());
+
+        ArrayList<Double> knots = new ArrayList<>();
+        knots.add(0.0);
+        knots.add(1.0);
+        knots.add(2.0);
+
+        ArrayList<Point> points = new ArrayList<>();
+        points.add(new Point(0.0, 0.0));
+        points.add(new Point(1.0, 1.0));
+        points.add(new Point(2.0, 0.0));
+
+        ArrayList<Vector> derivatives = new ArrayList<>();
+        derivatives.add(new Vector(0.0, 1.0));
+        derivatives.add(new Vector(1.0, 0.0));
+        derivatives.add(new Vector(0.0, -1.0));
+
+        ArrayList<Vector> secondDerivatives = new ArrayList<>();
+        secondDerivatives.add(new Vector(0.0, 0.0));
+        secondDerivatives.add(new Vector(0.0, 0.0));
+        secondDerivatives.add(new Vector(0.0, 0.0));
+
+        QuinticSpline arch = new QuinticSpline(knots, points, derivatives, secondDerivatives);
+        Assert.assertFalse(arch.intersectsItself());
+
+        // Ending back at the start closes the loop
+        points.set(2, new Point(0.0, 0.0));
+        derivatives.set(2, new Vector(-1.0, 0.0));
+        QuinticSpline loop = new QuinticSpline(knots, points, derivatives, secondDerivatives);
+        Assert.assertTrue(loop.intersectsItself());
+    }
+
+    @Test
+    public void flatten() {
+        PointBuffer polyline = new PointBuffer();
+        spline.flatten(0.01, polyline);
+
+        Assert.assertEquals(1.0, polyline.getX(0), epsilon);
+        Assert.assertEquals(0.0, polyline.getY(0), epsilon);
+        Assert.assertEquals(0.0, polyline.getX(polyline.size() - 1), epsilon);
+        Assert.assertEquals(-1.0, polyline.getY(polyline.size() - 1), epsilon);
+        // Far fewer vertices than sampling the roughly 40 unit long spline evenly
+        Assert.assertTrue(polyline.size() < 200);
+
+        // Every point on the spline is within the tolerance of the polyline
+        for (double t = 0.0; t <= 50.0; t += 0.01) {
+            Point point = spline.getPosition(t);
+            double closest = Double.POSITIVE_INFINITY;
+            for (int i = 1; i < polyline.size(); i++) {
+                closest = Math.min(closest, distanceToLine(point, polyline.getX(i - 1), polyline.getY(i - 1),
+                        polyline.getX(i), polyline.getY(i)));
+            }
+            Assert.assertTrue(closest <= 0.01);
+        }
+
+        try {
+            spline.flatten(0.0, polyline);
+            Assert.fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    private static double distanceToLine(Point point, double startX, double startY, double endX, double endY) {
+        double dx = endX - startX;
+        double dy = endY - startY;
+        double fraction = ((point.getX() - startX) * dx + (point.getY() - startY) * dy) / (dx * dx + dy * dy);
+        fraction = Math.max(0.0, Math.min(fraction, 1.0));
+        return Math.hypot(startX + fraction * dx - point.getX(), startY + fraction * dy - point.getY());
+    }
+
     @Test
     public void length() {
         Assert.assertEquals(50.0, spline.getLength(), epsilon);
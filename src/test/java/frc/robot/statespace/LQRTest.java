@@ -0,0 +1,63 @@
+package frc.robot.statespace;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import frc.robot.utils.Bounds;
+
+public class LQRTest {
+    private static final double epsilon = 1e-6;
+
+    @Test
+    public void scalarRiccatiTest() {
+        double a = 1.1, b = 0.5, q = 2.0, r = 0.3;
+        double[][] K = LQR.calculateGain(new double[][] { { a } }, new double[][] { { b } },
+                new double[][] { { q } }, new double[][] { { r } });
+
+        // Closed form solution of the scalar Riccati equation
+        double c = 1.0 - a * a;
+        double linear = c * r - q * b * b;
+        double P = (-linear + Math.sqrt(linear * linear + 4.0 * b * b * q * r)) / (2.0 * b * b);
+        Assert.assertEquals(b * P * a / (r + b * b * P), K[0][0], epsilon);
+    }
+
+    @Test
+    public void discretizeTest() {
+        // Flywheel, dv/dt = -kV/kA v + 1/kA u
+        double kV = 0.2, kA = 0.05, dt = 0.02;
+        double[][][] discrete = LQR.discretize(new double[][] { { -kV / kA } }, new double[][] { { 1.0 / kA } }, dt);
+
+        double decay = Math.exp(-kV / kA * dt);
+        Assert.assertEquals(decay, discrete[0][0][0], epsilon);
+        Assert.assertEquals((1.0 - decay) / kV, discrete[1][0][0], epsilon);
+    }
+
+    @Test
+    public void doubleIntegratorTest() {
+        double dt = 0.005;
+        double[][] A = { { 0.0, 1.0 }, { 0.0, 0.0 } };
+        double[][] B = { { 0.0 }, { 1.0 } };
+        LQR controller = new LQR(A, B, LQR.brysonsRule(0.05, 0.5), LQR.brysonsRule(12.0), dt,
+                new Bounds(-12.0, 12.0));
+
+        double[][][] discrete = LQR.discretize(A, B, dt);
+        double[] state = { 1.0, 0.0 };
+        double[] reference = { 0.0, 0.0 };
+        double[] output = new double[1];
+        double[] next = new double[2];
+
+        for (int i = 0; i < 2000; i++) {
+            controller.calculate(state, reference, output);
+            Assert.assertTrue(Math.abs(output[0]) <= 12.0);
+
+            Matrices.multiply(discrete[0], state, next);
+            next[0] += discrete[1][0][0] * output[0];
+            next[1] += discrete[1][1][0] * output[0];
+            state[0] = next[0];
+            state[1] = next[1];
+        }
+
+        Assert.assertEquals(0.0, state[0], 1e-4);
+        Assert.assertEquals(0.0, state[1], 1e-4);
+    }
+}
@@ -0,0 +1,55 @@
+package frc.robot.statespace;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MatricesTest {
+    private static final double epsilon = 1e-9;
+
+    @Test
+    public void multiplyTest() {
+        double[][] a = { { 1.0, 2.0, 3.0 }, { 4.0, 5.0, 6.0 } };
+        double[][] b = { { 1.0, 0.0 }, { 0.0, 1.0 }, { 2.0, -1.0 } };
+
+        double[][] expected = { { 7.0, -1.0 }, { 16.0, -1.0 } };
+        Assert.assertEquals(0.0, Matrices.maxDifference(expected, Matrices.multiply(a, b)), epsilon);
+
+        double[] result = new double[2];
+        Matrices.multiply(a, new double[] { 1.0, -1.0, 2.0 }, result);
+        Assert.assertEquals(5.0, result[0], epsilon);
+        Assert.assertEquals(11.0, result[1], epsilon);
+
+        double[][] transposed = Matrices.transpose(a);
+        Assert.assertEquals(3, transposed.length);
+        Assert.assertEquals(6.0, transposed[2][1], epsilon);
+    }
+
+    @Test
+    public void inverseTest() {
+        // Requires pivoting, since the first element is zero
+        double[][] a = { { 0.0, 2.0, 1.0 }, { 1.0, 1.0, 0.0 }, { 3.0, 0.0, 4.0 } };
+        double[][] product = Matrices.multiply(a, Matrices.inverse(a));
+        Assert.assertEquals(0.0, Matrices.maxDifference(Matrices.identity(3), product), epsilon);
+    }
+
+    @Test
+    public void singularTest() {
+        try {
+            Matrices.inverse(new double[][] { { 1.0, 2.0 }, { 2.0, 4.0 } });
+            Assert.fail("Singular matrix was inverted");
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    @Test
+    public void expTest() {
+        double[][] scalar = Matrices.exp(new double[][] { { 3.0 } });
+        Assert.assertEquals(Math.exp(3.0), scalar[0][0], 1e-9 * Math.exp(3.0));
+
+        // Rotation generator
+        double angle = 2.0;
+        double[][] rotation = Matrices.exp(new double[][] { { 0.0, -angle }, { angle, 0.0 } });
+        double[][] expected = { { Math.cos(angle), -Math.sin(angle) }, { Math.sin(angle), Math.cos(angle) } };
+        Assert.assertEquals(0.0, Matrices.maxDifference(expected, rotation), epsilon);
+    }
+}
@@ -0,0 +1,41 @@
+package frc.robot.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BoundingBoxTest {
+    private static final double epsilon = 1e-6;
+
+    @Test
+    public void contains() {
+        BoundingBox box = new BoundingBox(-1.0, 0.0, 1.0, 2.0);
+        Assert.assertTrue(box.contains(0.0, 1.0));
+        Assert.assertTrue(box.contains(1.0, 2.0));
+        Assert.assertFalse(box.contains(1.5, 1.0));
+        Assert.assertFalse(box.contains(0.0, -0.1));
+    }
+
+    @Test
+    public void intersects() {
+        BoundingBox box = new BoundingBox(-1.0, 0.0, 1.0, 2.0);
+        Assert.assertTrue(box.intersects(new BoundingBox(0.5, 1.5, 3.0, 3.0)));
+        Assert.assertTrue(box.intersects(new BoundingBox(1.0, 2.0, 3.0, 3.0)));
+        Assert.assertFalse(box.intersects(new BoundingBox(1.5, 0.0, 3.0, 3.0)));
+        Assert.assertTrue(box.intersects(1.5, 0.0, 3.0, 3.0, 0.5));
+    }
+
+    @Test
+    public void grow() {
+        BoundingBox box = new BoundingBox(-1.0, 0.0, 1.0, 2.0).grow(0.5);
+        Assert.assertEquals(-1.5, box.minX(), epsilon);
+        Assert.assertEquals(-0.5, box.minY(), epsilon);
+        Assert.assertEquals(1.5, box.maxX(), epsilon);
+        Assert.assertEquals(2.5, box.maxY(), epsilon);
+
+        try {
+            new BoundingBox(1.0, 0.0, -1.0, 2.0);
+            Assert.fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+        }
+    }
+}
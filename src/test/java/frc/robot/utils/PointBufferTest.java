@@ -0,0 +1,35 @@
+package frc.robot.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PointBufferTest {
+    private static final double epsilon = 1e-6;
+
+    @Test
+    public void grow() {
+        PointBuffer buffer = new PointBuffer(2);
+        for (int i = 0; i < 10; i++) {
+            buffer.add(i, -i);
+        }
+        Assert.assertEquals(10, buffer.size());
+        Assert.assertEquals(7.0, buffer.getX(7), epsilon);
+        Assert.assertEquals(-9.0, buffer.getY(9), epsilon);
+
+        buffer.clear();
+        Assert.assertEquals(0, buffer.size());
+        buffer.add(1.0, 2.0);
+        Assert.assertEquals(2.0, buffer.getY(0), epsilon);
+    }
+
+    @Test
+    public void outOfBounds() {
+        PointBuffer buffer = new PointBuffer();
+        buffer.add(1.0, 2.0);
+        try {
+            buffer.getX(1);
+            Assert.fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException e) {
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package frc.robot.vision;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import frc.robot.Vision.Color;
+
+public class ColorParserTest {
+    @Test
+    public void tokenTest() {
+        FakeByteSource source = new FakeByteSource();
+        ColorParser parser = new ColorParser(16);
+
+        Assert.assertNull(parser.read(source));
+
+        source.add("RED\n");
+        Assert.assertEquals(Color.RED, parser.read(source));
+        Assert.assertNull(parser.read(source));
+
+        // Last token wins
+        source.add("BLUE\nNONE\nRED\nBLUE\n");
+        Assert.assertEquals(Color.BLUE, parser.read(source));
+    }
+
+    @Test
+    public void splitTest() {
+        FakeByteSource source = new FakeByteSource();
+        ColorParser parser = new ColorParser(16);
+
+        source.add("xxBL");
+        Assert.assertNull(parser.read(source));
+        source.add("U");
+        Assert.assertNull(parser.read(source));
+        source.add("E");
+        Assert.assertEquals(Color.BLUE, parser.read(source));
+    }
+
+    @Test
+    public void overlapTest() {
+        ColorParser parser = new ColorParser(16);
+        byte[] bytes = "NONONE".getBytes();
+        Assert.assertEquals(Color.NONE, parser.parse(bytes, 0, bytes.length));
+
+        bytes = "RREDBLBLUE".getBytes();
+        Assert.assertEquals(Color.BLUE, parser.parse(bytes, 0, bytes.length));
+        Assert.assertEquals(Color.RED, parser.parse(bytes, 0, 4));
+
+        // Garbage between partial tokens
+        bytes = "REXDBLUNONREEEE".getBytes();
+        Assert.assertNull(parser.parse(bytes, 0, bytes.length));
+    }
+
+    @Test
+    public void largeReadTest() {
+        FakeByteSource source = new FakeByteSource();
+        ColorParser parser = new ColorParser(4);
+
+        // Longer than the buffer, so it takes several reads
+        source.add("garbage garbage RED garbage NONE garbage");
+        Assert.assertEquals(Color.NONE, parser.read(source));
+    }
+}
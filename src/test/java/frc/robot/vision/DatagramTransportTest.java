@@ -0,0 +1,87 @@
+package frc.robot.vision;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import frc.robot.Vision.Color;
+
+public class DatagramTransportTest {
+    private static int freePort() throws IOException {
+        try (DatagramSocket probe = new DatagramSocket(0)) {
+            return probe.getLocalPort();
+        }
+    }
+
+    private static void send(DatagramSocket coprocessor, int port, Color... colors) throws IOException {
+        byte[] frames = new byte[6 * colors.length];
+        int length = 0;
+        for (Color color : colors) {
+            length += FrameDecoder.encodeColor(color, frames, length);
+        }
+        coprocessor.send(new DatagramPacket(frames, length, InetAddress.getLoopbackAddress(), port));
+    }
+
+    @Test
+    public void receiveTest() throws IOException {
+        int port = freePort();
+        DatagramTransport transport = new DatagramTransport(port);
+        Assert.assertFalse(transport.isConnected());
+        Assert.assertFalse(transport.await(0.01));
+        Assert.assertTrue(transport.connect());
+        Assert.assertTrue(transport.isConnected());
+
+        try (DatagramSocket coprocessor = new DatagramSocket()) {
+            Assert.assertFalse(transport.await(0.01));
+
+            send(coprocessor, port, Color.RED);
+            Assert.assertTrue(transport.await(1.0));
+            Assert.assertEquals(Color.RED, new FrameDecoder(4).read(transport));
+            Assert.assertFalse(transport.await(0.01));
+
+            // A datagram is read out in order across several small reads
+            send(coprocessor, port, Color.BLUE, Color.NONE);
+            Assert.assertTrue(transport.await(1.0));
+            byte[] buffer = new byte[5];
+            Assert.assertEquals(5, transport.read(buffer, 0, buffer.length));
+            Assert.assertEquals(FrameDecoder.SYNC, buffer[0]);
+            Assert.assertEquals((byte) Color.BLUE.ordinal(), buffer[3]);
+            // Unread bytes are available without waiting for another datagram
+            Assert.assertTrue(transport.await(0.0));
+            Assert.assertEquals(5, transport.read(buffer, 0, buffer.length));
+            Assert.assertEquals(FrameDecoder.SYNC, buffer[1]);
+            Assert.assertEquals(2, transport.read(buffer, 0, buffer.length));
+            Assert.assertEquals(0, transport.read(buffer, 0, buffer.length));
+            Assert.assertFalse(transport.await(0.01));
+        } finally {
+            transport.close();
+        }
+        Assert.assertFalse(transport.isConnected());
+    }
+
+    @Test
+    public void reconnectTest() throws IOException {
+        int port = freePort();
+        DatagramTransport transport = new DatagramTransport(port);
+        Assert.assertTrue(transport.connect());
+
+        // Another socket can't listen on the same port
+        DatagramTransport other = new DatagramTransport(port);
+        Assert.assertFalse(other.connect());
+        Assert.assertFalse(other.isConnected());
+
+        transport.close();
+        Assert.assertTrue(transport.connect());
+        try (DatagramSocket coprocessor = new DatagramSocket()) {
+            send(coprocessor, port, Color.BLUE);
+            Assert.assertTrue(transport.await(1.0));
+            Assert.assertEquals(Color.BLUE, new FrameDecoder(16).read(transport));
+        } finally {
+            transport.close();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package frc.robot.vision;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+
+/**
+ * A ByteSource which returns queued chunks of bytes, one chunk per read.
+ */
+public class FakeByteSource implements ByteSource {
+    private final ArrayDeque<byte[]> chunks = new ArrayDeque<>();
+    private byte[] current = new byte[0];
+    private int position = 0;
+
+    public void add(String chunk) {
+        chunks.add(chunk.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) {
+        if (position == current.length) {
+            if (chunks.isEmpty()) {
+                return 0;
+            }
+            current = chunks.poll();
+            position = 0;
+        }
+
+        int count = Math.min(length, current.length - position);
+        System.arraycopy(current, position, buffer, offset, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public boolean await(double timeout) {
+        return position < current.length || !chunks.isEmpty();
+    }
+}
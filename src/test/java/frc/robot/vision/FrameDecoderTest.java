@@ -0,0 +1,101 @@
+package frc.robot.vision;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import frc.robot.Vision.Color;
+
+public class FrameDecoderTest {
+    @Test
+    public void roundTripTest() {
+        FrameDecoder decoder = new FrameDecoder(16);
+        byte[] frames = new byte[18];
+        int length = FrameDecoder.encodeColor(Color.RED, frames, 0);
+        length += FrameDecoder.encodeColor(Color.NONE, frames, length);
+        length += FrameDecoder.encodeColor(Color.BLUE, frames, length);
+
+        Assert.assertEquals(18, length);
+        Assert.assertEquals(Color.BLUE, decoder.parse(frames, 0, length));
+        Assert.assertEquals(3, decoder.getFrameCount());
+
+        // Split across reads
+        Assert.assertNull(decoder.parse(frames, 0, 4));
+        Assert.assertEquals(Color.RED, decoder.parse(frames, 4, 2));
+    }
+
+    @Test
+    public void checksumTest() {
+        // Known value from the Fletcher-16 definition
+        byte[] abcde = "abcde".getBytes();
+        Assert.assertEquals(0xC8F0, FrameDecoder.fletcher16(abcde, 0, abcde.length));
+
+        FrameDecoder decoder = new FrameDecoder(16);
+        byte[] frame = new byte[6];
+        FrameDecoder.encodeColor(Color.BLUE, frame, 0);
+        frame[3] = (byte) Color.RED.ordinal();
+
+        Assert.assertNull(decoder.parse(frame, 0, frame.length));
+        Assert.assertEquals(1, decoder.getErrorCount());
+        Assert.assertEquals(0, decoder.getFrameCount());
+    }
+
+    @Test
+    public void resyncTest() {
+        FrameDecoder decoder = new FrameDecoder(16);
+        byte[] bytes = new byte[16];
+        // Garbage, including a sync byte with an invalid length
+        bytes[0] = 0x13;
+        bytes[1] = FrameDecoder.SYNC;
+        bytes[2] = (byte) 200;
+        bytes[3] = 0x00;
+        int length = 4 + FrameDecoder.encodeColor(Color.NONE, bytes, 4);
+
+        Assert.assertEquals(Color.NONE, decoder.parse(bytes, 0, length));
+        Assert.assertEquals(1, decoder.getErrorCount());
+    }
+
+    @Test
+    public void fakeSyncTest() {
+        byte[] bytes = new byte[2 + 6 * 6];
+        // A spurious sync byte claiming a frame longer than the valid frames after it
+        bytes[0] = FrameDecoder.SYNC;
+        bytes[1] = 30;
+        Color[] colors = { Color.RED, Color.BLUE, Color.NONE, Color.RED, Color.BLUE, Color.NONE };
+        int length = 2;
+        for (Color color : colors) {
+            length += FrameDecoder.encodeColor(color, bytes, length);
+        }
+
+        FrameDecoder decoder = new FrameDecoder(16);
+        Assert.assertEquals(Color.NONE, decoder.parse(bytes, 0, length));
+        Assert.assertEquals(1, decoder.getErrorCount());
+        Assert.assertEquals(colors.length, decoder.getFrameCount());
+
+        // The same bytes one at a time, where the fake frame is only rejected once
+        // its checksum arrives
+        decoder = new FrameDecoder(16);
+        int decoded = 0;
+        for (int i = 0; i < length; i++) {
+            if (decoder.parse(bytes, i, 1) != null) {
+                decoded++;
+            }
+        }
+        Assert.assertEquals(1, decoder.getErrorCount());
+        Assert.assertEquals(colors.length, decoder.getFrameCount());
+        // The first five frames are found together when the fake frame is dropped
+        Assert.assertEquals(2, decoded);
+    }
+
+    @Test
+    public void unknownTypeTest() {
+        FrameDecoder decoder = new FrameDecoder(16);
+        byte[] frame = { FrameDecoder.SYNC, 1, 0x7F, 0, 0 };
+        int checksum = FrameDecoder.fletcher16(frame, 1, 2);
+        frame[3] = (byte) (checksum >> 8);
+        frame[4] = (byte) checksum;
+
+        Assert.assertNull(decoder.parse(frame, 0, frame.length));
+        Assert.assertEquals(1, decoder.getFrameCount());
+        Assert.assertEquals(0, decoder.getErrorCount());
+    }
+}
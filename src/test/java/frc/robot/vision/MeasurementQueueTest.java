@@ -0,0 +1,100 @@
+package frc.robot.vision;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MeasurementQueueTest {
+    private static final double epsilon = 1e-9;
+
+    @Test
+    public void latestTest() {
+        MeasurementQueue<String> queue = new MeasurementQueue<>(4);
+        Assert.assertNull(queue.getLatest());
+        Assert.assertNull(queue.getAt(10.0));
+
+        Assert.assertEquals(0, queue.add("a", 1.0));
+        Assert.assertEquals(1, queue.add("b", 2.0));
+        Measurement<String> b = queue.getLatest();
+        Assert.assertEquals("b", b.getValue());
+        Assert.assertEquals(1, b.getSequence());
+        Assert.assertEquals(2.0, b.getTimestamp(), epsilon);
+
+        Assert.assertEquals(1, queue.getLatestSince(1.5).getSequence());
+        Assert.assertNull(queue.getLatestSince(2.0));
+        Assert.assertEquals(1, queue.getLatestSince(0L).getSequence());
+        Assert.assertNull(queue.getLatestSince(1L));
+    }
+
+    @Test
+    public void reuseTest() {
+        MeasurementQueue<String> queue = new MeasurementQueue<>(2);
+        Measurement<String> result = new Measurement<>();
+        Assert.assertFalse(queue.getLatest(result));
+
+        queue.add("a", 1.0);
+        Assert.assertTrue(queue.getLatest(result));
+        Assert.assertEquals("a", result.getValue());
+
+        // Copies are unaffected when their slot is overwritten
+        queue.add("b", 2.0);
+        queue.add("c", 3.0);
+        Assert.assertEquals("a", result.getValue());
+        Assert.assertEquals(0, result.getSequence());
+
+        Assert.assertTrue(queue.getAt(2.5, result));
+        Assert.assertEquals("b", result.getValue());
+        Assert.assertEquals(2.0, result.getTimestamp(), epsilon);
+        Assert.assertFalse(queue.getAt(1.5, result));
+        Assert.assertTrue(queue.getLatestSince(1L, result));
+        Assert.assertEquals("c", result.getValue());
+        Assert.assertFalse(queue.getLatestSince(3.0, result));
+    }
+
+    @Test
+    public void atTest() {
+        MeasurementQueue<Integer> queue = new MeasurementQueue<>(4);
+        for (int i = 0; i < 10; i++) {
+            queue.add(i, 0.1 * i);
+        }
+
+        Assert.assertEquals(10, queue.getCount());
+        Assert.assertEquals(9, (int) queue.getAt(5.0).getValue());
+        Assert.assertEquals(7, (int) queue.getAt(0.75).getValue());
+        Assert.assertEquals(7, (int) queue.getAt(0.7 + 1e-9).getValue());
+        Assert.assertEquals(6, (int) queue.getAt(0.6 + 1e-9).getValue());
+        // Older measurements have been overwritten
+        Assert.assertNull(queue.getAt(0.55));
+    }
+
+    @Test
+    public void concurrentTest() throws InterruptedException {
+        // A small queue makes the producer wrap around while readers are copying
+        MeasurementQueue<Long> queue = new MeasurementQueue<>(2);
+        int count = 200000;
+
+        Thread producer = new Thread(() -> {
+            for (long i = 0; i < count; i++) {
+                queue.add(i, i);
+            }
+        });
+        producer.start();
+
+        // Readers always see consistent measurements which move forwards
+        Measurement<Long> latest = new Measurement<>();
+        long lastSequence = -1;
+        while (producer.isAlive() || lastSequence < count - 1) {
+            if (queue.getLatest(latest)) {
+                Assert.assertEquals(latest.getSequence(), (long) latest.getValue());
+                Assert.assertEquals(latest.getSequence(), latest.getTimestamp(), epsilon);
+                Assert.assertTrue(latest.getSequence() >= lastSequence);
+                lastSequence = latest.getSequence();
+
+                Measurement<Long> at = queue.getAt(lastSequence - 3);
+                if (at != null) {
+                    Assert.assertTrue(at.getTimestamp() <= lastSequence - 3);
+                }
+            }
+        }
+        producer.join();
+    }
+}
@@ -0,0 +1,85 @@
+package frc.robot.vision;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import frc.robot.control.SimulatedClock;
+
+public class PipeTransportTest {
+    @Test
+    public void wrapTest() throws InterruptedException {
+        PipeTransport pipe = new PipeTransport(4);
+        pipe.connect();
+        byte[] bytes = { 1, 2, 3, 4, 5, 6 };
+        byte[] read = new byte[4];
+
+        pipe.write(bytes, 0, 3);
+        Assert.assertEquals(2, pipe.read(read, 0, 2));
+        pipe.write(bytes, 3, 3);
+        Assert.assertEquals(4, pipe.available());
+
+        Assert.assertEquals(4, pipe.read(read, 0, 4));
+        Assert.assertArrayEquals(new byte[] { 3, 4, 5, 6 }, read);
+        Assert.assertEquals(0, pipe.read(read, 0, 4));
+    }
+
+    @Test
+    public void awaitTest() throws InterruptedException {
+        PipeTransport pipe = new PipeTransport(16);
+        pipe.connect();
+        Assert.assertFalse(pipe.await(0.01));
+
+        Thread writer = new Thread(() -> {
+            try {
+                Thread.sleep(20);
+                pipe.write(new byte[] { 42 }, 0, 1);
+            } catch (InterruptedException e) {
+            }
+        });
+        writer.start();
+
+        long start = System.nanoTime();
+        Assert.assertTrue(pipe.await(5.0));
+        // Woken by the write, long before the timeout
+        Assert.assertTrue(System.nanoTime() - start < 2_000_000_000L);
+        writer.join();
+    }
+
+    @Test
+    public void simulatedTimeoutTest() throws InterruptedException {
+        SimulatedClock clock = new SimulatedClock();
+        PipeTransport pipe = new PipeTransport(16, clock);
+        pipe.connect();
+
+        boolean[] result = { true };
+        Thread reader = new Thread(() -> result[0] = pipe.await(1.0));
+        reader.start();
+
+        // Doesn't time out until simulated time has passed
+        Thread.sleep(20);
+        Assert.assertTrue(reader.isAlive());
+        clock.advance(1.0);
+        reader.join(1000);
+        Assert.assertFalse(reader.isAlive());
+        Assert.assertFalse(result[0]);
+    }
+
+    @Test
+    public void disconnectTest() throws InterruptedException {
+        PipeTransport pipe = new PipeTransport(16);
+        // Bytes written before connecting are dropped
+        pipe.write(new byte[] { 1 }, 0, 1);
+        Assert.assertTrue(pipe.connect());
+        Assert.assertEquals(0, pipe.available());
+
+        pipe.write(new byte[] { 1, 2 }, 0, 2);
+        pipe.setReachable(false);
+        Assert.assertFalse(pipe.isConnected());
+        Assert.assertFalse(pipe.connect());
+        Assert.assertFalse(pipe.await(0.01));
+
+        pipe.setReachable(true);
+        Assert.assertTrue(pipe.connect());
+        Assert.assertEquals(0, pipe.available());
+    }
+}
@@ -0,0 +1,55 @@
+package frc.robot.vision;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import frc.robot.Vision.Color;
+
+public class SocketTransportTest {
+    @Test
+    public void tcpTest() throws IOException, InterruptedException {
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            SocketTransport transport = new SocketTransport("127.0.0.1", server.getLocalPort());
+            Assert.assertTrue(transport.connect());
+            Socket coprocessor = server.accept();
+
+            Assert.assertFalse(transport.await(0.01));
+
+            byte[] frame = new byte[6];
+            FrameDecoder.encodeColor(Color.BLUE, frame, 0);
+            OutputStream output = coprocessor.getOutputStream();
+            output.write(frame);
+            output.flush();
+
+            FrameDecoder decoder = new FrameDecoder(16);
+            Color color = null;
+            while (color == null && transport.await(1.0)) {
+                color = decoder.read(transport);
+            }
+            Assert.assertEquals(Color.BLUE, color);
+
+            // The coprocessor going away disconnects the transport
+            coprocessor.close();
+            Assert.assertFalse(transport.await(1.0));
+            Assert.assertFalse(transport.isConnected());
+            transport.close();
+        }
+    }
+
+    @Test
+    public void refusedTest() throws IOException {
+        int port;
+        try (ServerSocket server = new ServerSocket(0)) {
+            port = server.getLocalPort();
+        }
+        SocketTransport transport = new SocketTransport("127.0.0.1", port);
+        Assert.assertFalse(transport.connect());
+        Assert.assertFalse(transport.isConnected());
+    }
+}